@@ -0,0 +1,162 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for password hashing, login throttling and bulk provisioning
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.auth")
+public class AuthProperties {
+
+    private Hashing hashing = new Hashing();
+    private Throttle throttle = new Throttle();
+    private Provisioning provisioning = new Provisioning();
+
+    public Hashing getHashing() {
+        return hashing;
+    }
+
+    public void setHashing(Hashing hashing) {
+        this.hashing = hashing;
+    }
+
+    public Throttle getThrottle() {
+        return throttle;
+    }
+
+    public void setThrottle(Throttle throttle) {
+        this.throttle = throttle;
+    }
+
+    public Provisioning getProvisioning() {
+        return provisioning;
+    }
+
+    public void setProvisioning(Provisioning provisioning) {
+        this.provisioning = provisioning;
+    }
+
+    public static class Hashing {
+        private int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        private int queueCapacity = 32;
+        private long timeoutMs = 5000;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+    }
+
+    public static class Throttle {
+        private boolean enabled = true;
+        // Failed logins allowed per account before it is locked for the rest of the window
+        private int maxFailuresPerAccount = 5;
+        private int accountWindowSeconds = 900;
+        // Password checks (login or register) allowed per client IP per window
+        private int maxAttemptsPerIp = 30;
+        private int ipWindowSeconds = 60;
+        private long maxTrackedKeys = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxFailuresPerAccount() {
+            return maxFailuresPerAccount;
+        }
+
+        public void setMaxFailuresPerAccount(int maxFailuresPerAccount) {
+            this.maxFailuresPerAccount = maxFailuresPerAccount;
+        }
+
+        public int getAccountWindowSeconds() {
+            return accountWindowSeconds;
+        }
+
+        public void setAccountWindowSeconds(int accountWindowSeconds) {
+            this.accountWindowSeconds = accountWindowSeconds;
+        }
+
+        public int getMaxAttemptsPerIp() {
+            return maxAttemptsPerIp;
+        }
+
+        public void setMaxAttemptsPerIp(int maxAttemptsPerIp) {
+            this.maxAttemptsPerIp = maxAttemptsPerIp;
+        }
+
+        public int getIpWindowSeconds() {
+            return ipWindowSeconds;
+        }
+
+        public void setIpWindowSeconds(int ipWindowSeconds) {
+            this.ipWindowSeconds = ipWindowSeconds;
+        }
+
+        public long getMaxTrackedKeys() {
+            return maxTrackedKeys;
+        }
+
+        public void setMaxTrackedKeys(long maxTrackedKeys) {
+            this.maxTrackedKeys = maxTrackedKeys;
+        }
+    }
+
+    public static class Provisioning {
+        // Rows checked, hashed and inserted together
+        private int batchSize = 200;
+        // Upper bound on rows accepted in one request
+        private int maxRows = 10000;
+        // Shared credential onboarding callers send in X-Provisioning-Token; empty disables the endpoint
+        private String token = "";
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxRows() {
+            return maxRows;
+        }
+
+        public void setMaxRows(int maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+    }
+}
@@ -20,6 +20,8 @@ public class AwsProperties {
 
     private S3Properties s3 = new S3Properties();
 
+    private CognitoProperties cognito = new CognitoProperties();
+
     public String getRegion() {
         return region;
     }
@@ -36,6 +38,14 @@ public class AwsProperties {
         this.s3 = s3;
     }
 
+    public CognitoProperties getCognito() {
+        return cognito;
+    }
+
+    public void setCognito(CognitoProperties cognito) {
+        this.cognito = cognito;
+    }
+
     public static class S3Properties {
         @NotBlank(message = "S3 event pictures bucket must be specified")
         private String eventPicturesBucket = "concert-event-pictures-useast1-161326240347";
@@ -46,6 +56,15 @@ public class AwsProperties {
         private boolean presignedUrlsEnabled = true;
         private int presignedUrlExpirationMinutes = 60;
         private boolean publicAccess = false;
+        private int existenceCacheTtlSeconds = 600;
+        private int existenceCacheNegativeTtlSeconds = 30;
+        private long existenceCacheMaxSize = 10_000;
+        private int presignedUrlSafetyMarginSeconds = 300;
+        private long presignedUrlCacheMaxSize = 10_000;
+        private int uploadPartSizeBytes = 8 * 1024 * 1024;
+        private int uploadBufferPoolSize = 16;
+        private long uploadBufferAcquireTimeoutMs = 2000;
+        private int maxConcurrentRequests = 64;
 
         public String getEventPicturesBucket() {
             return eventPicturesBucket;
@@ -86,5 +105,135 @@ public class AwsProperties {
         public void setPublicAccess(boolean publicAccess) {
             this.publicAccess = publicAccess;
         }
+
+        public int getExistenceCacheTtlSeconds() {
+            return existenceCacheTtlSeconds;
+        }
+
+        public void setExistenceCacheTtlSeconds(int existenceCacheTtlSeconds) {
+            this.existenceCacheTtlSeconds = existenceCacheTtlSeconds;
+        }
+
+        public int getExistenceCacheNegativeTtlSeconds() {
+            return existenceCacheNegativeTtlSeconds;
+        }
+
+        public void setExistenceCacheNegativeTtlSeconds(int existenceCacheNegativeTtlSeconds) {
+            this.existenceCacheNegativeTtlSeconds = existenceCacheNegativeTtlSeconds;
+        }
+
+        public long getExistenceCacheMaxSize() {
+            return existenceCacheMaxSize;
+        }
+
+        public void setExistenceCacheMaxSize(long existenceCacheMaxSize) {
+            this.existenceCacheMaxSize = existenceCacheMaxSize;
+        }
+
+        public int getPresignedUrlSafetyMarginSeconds() {
+            return presignedUrlSafetyMarginSeconds;
+        }
+
+        public void setPresignedUrlSafetyMarginSeconds(int presignedUrlSafetyMarginSeconds) {
+            this.presignedUrlSafetyMarginSeconds = presignedUrlSafetyMarginSeconds;
+        }
+
+        public long getPresignedUrlCacheMaxSize() {
+            return presignedUrlCacheMaxSize;
+        }
+
+        public void setPresignedUrlCacheMaxSize(long presignedUrlCacheMaxSize) {
+            this.presignedUrlCacheMaxSize = presignedUrlCacheMaxSize;
+        }
+
+        public int getUploadPartSizeBytes() {
+            return uploadPartSizeBytes;
+        }
+
+        public void setUploadPartSizeBytes(int uploadPartSizeBytes) {
+            this.uploadPartSizeBytes = uploadPartSizeBytes;
+        }
+
+        public int getUploadBufferPoolSize() {
+            return uploadBufferPoolSize;
+        }
+
+        public void setUploadBufferPoolSize(int uploadBufferPoolSize) {
+            this.uploadBufferPoolSize = uploadBufferPoolSize;
+        }
+
+        public long getUploadBufferAcquireTimeoutMs() {
+            return uploadBufferAcquireTimeoutMs;
+        }
+
+        public void setUploadBufferAcquireTimeoutMs(long uploadBufferAcquireTimeoutMs) {
+            this.uploadBufferAcquireTimeoutMs = uploadBufferAcquireTimeoutMs;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+    }
+
+    public static class CognitoProperties {
+        private String userPoolId = "us-east-1_nTZpyinXc";
+        private String region = "us-east-1";
+        // Optional local JWKS (file: or classpath: location) used instead of the user pool endpoint
+        private String jwksFile = "";
+        private int jwksRefreshIntervalSeconds = 3600;
+        private int jwksMinRefreshIntervalSeconds = 30;
+        private int jwksFetchTimeoutMs = 2000;
+
+        public String getUserPoolId() {
+            return userPoolId;
+        }
+
+        public void setUserPoolId(String userPoolId) {
+            this.userPoolId = userPoolId;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public String getJwksFile() {
+            return jwksFile;
+        }
+
+        public void setJwksFile(String jwksFile) {
+            this.jwksFile = jwksFile;
+        }
+
+        public int getJwksRefreshIntervalSeconds() {
+            return jwksRefreshIntervalSeconds;
+        }
+
+        public void setJwksRefreshIntervalSeconds(int jwksRefreshIntervalSeconds) {
+            this.jwksRefreshIntervalSeconds = jwksRefreshIntervalSeconds;
+        }
+
+        public int getJwksMinRefreshIntervalSeconds() {
+            return jwksMinRefreshIntervalSeconds;
+        }
+
+        public void setJwksMinRefreshIntervalSeconds(int jwksMinRefreshIntervalSeconds) {
+            this.jwksMinRefreshIntervalSeconds = jwksMinRefreshIntervalSeconds;
+        }
+
+        public int getJwksFetchTimeoutMs() {
+            return jwksFetchTimeoutMs;
+        }
+
+        public void setJwksFetchTimeoutMs(int jwksFetchTimeoutMs) {
+            this.jwksFetchTimeoutMs = jwksFetchTimeoutMs;
+        }
     }
 }
@@ -0,0 +1,61 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for copying event edits into the bookings' event snapshot columns
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.booking-snapshots")
+public class BookingSnapshotProperties {
+
+    private boolean enabled = true;
+    // Bookings rewritten per statement, each chunk in its own transaction
+    private int chunkSize = 500;
+    // Pause between chunks so large events do not crowd out foreground writes
+    private long pauseMs = 50;
+    // A failed run is retried after this long, doubling per failure up to the maximum
+    private long retryInitialSeconds = 5;
+    private long retryMaxSeconds = 300;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getPauseMs() {
+        return pauseMs;
+    }
+
+    public void setPauseMs(long pauseMs) {
+        this.pauseMs = pauseMs;
+    }
+
+    public long getRetryInitialSeconds() {
+        return retryInitialSeconds;
+    }
+
+    public void setRetryInitialSeconds(long retryInitialSeconds) {
+        this.retryInitialSeconds = retryInitialSeconds;
+    }
+
+    public long getRetryMaxSeconds() {
+        return retryMaxSeconds;
+    }
+
+    public void setRetryMaxSeconds(long retryMaxSeconds) {
+        this.retryMaxSeconds = retryMaxSeconds;
+    }
+}
@@ -0,0 +1,59 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the background image derivative pipeline
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.images")
+public class ImageProperties {
+
+    private boolean derivativesEnabled = true;
+    private int workerThreads = 2;
+    private int queueCapacity = 100;
+    private float jpegQuality = 0.8f;
+    // Originals larger than this (width x height) are refused before decoding
+    private long maxSourcePixels = 100_000_000L;
+
+    public boolean isDerivativesEnabled() {
+        return derivativesEnabled;
+    }
+
+    public void setDerivativesEnabled(boolean derivativesEnabled) {
+        this.derivativesEnabled = derivativesEnabled;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public float getJpegQuality() {
+        return jpegQuality;
+    }
+
+    public void setJpegQuality(float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    public long getMaxSourcePixels() {
+        return maxSourcePixels;
+    }
+
+    public void setMaxSourcePixels(long maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+    }
+}
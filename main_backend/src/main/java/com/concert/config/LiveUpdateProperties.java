@@ -0,0 +1,72 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the server-sent events push channel
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.live")
+public class LiveUpdateProperties {
+
+    // Updates to one topic within a tick are coalesced into a single push
+    private long tickMillis = 250;
+    // Keeps idle connections open through proxies and detects dead clients
+    private long heartbeatSeconds = 25;
+    // Separate budgets, so neither stream can crowd out the other
+    private int maxAvailabilitySubscribers = 25000;
+    private int maxNotificationSubscribers = 25000;
+    // Concurrent streams one user (or anonymous IP) may hold per stream kind
+    private int maxStreamsPerClient = 4;
+    // Clients reconnect after this; EventSource does so automatically
+    private long timeoutMinutes = 30;
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public void setTickMillis(long tickMillis) {
+        this.tickMillis = tickMillis;
+    }
+
+    public long getHeartbeatSeconds() {
+        return heartbeatSeconds;
+    }
+
+    public void setHeartbeatSeconds(long heartbeatSeconds) {
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    public int getMaxAvailabilitySubscribers() {
+        return maxAvailabilitySubscribers;
+    }
+
+    public void setMaxAvailabilitySubscribers(int maxAvailabilitySubscribers) {
+        this.maxAvailabilitySubscribers = maxAvailabilitySubscribers;
+    }
+
+    public int getMaxNotificationSubscribers() {
+        return maxNotificationSubscribers;
+    }
+
+    public void setMaxNotificationSubscribers(int maxNotificationSubscribers) {
+        this.maxNotificationSubscribers = maxNotificationSubscribers;
+    }
+
+    public int getMaxStreamsPerClient() {
+        return maxStreamsPerClient;
+    }
+
+    public void setMaxStreamsPerClient(int maxStreamsPerClient) {
+        this.maxStreamsPerClient = maxStreamsPerClient;
+    }
+
+    public long getTimeoutMinutes() {
+        return timeoutMinutes;
+    }
+
+    public void setTimeoutMinutes(long timeoutMinutes) {
+        this.timeoutMinutes = timeoutMinutes;
+    }
+}
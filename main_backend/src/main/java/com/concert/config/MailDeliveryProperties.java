@@ -0,0 +1,111 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for outbound email. The SMTP server itself is configured with the
+ * standard {@code spring.mail.*} properties; without {@code spring.mail.host}
+ * no mail is sent.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.mail")
+public class MailDeliveryProperties {
+
+    private boolean enabled = true;
+    private String from = "no-reply@concert.local";
+    // Open SMTP connections, and so messages sent in parallel
+    private int connections = 4;
+    // Messages sent over one connection before it is handed back
+    private int batchSize = 50;
+    // Connections used at the same time for one recipient domain
+    private int perDomainConcurrency = 2;
+    private int maxAttempts = 6;
+    // First retry delay; doubled on every further attempt
+    private long retryBackoffSeconds = 30;
+    private long pollSeconds = 10;
+    // Pooled connections unused for this long are closed
+    private long idleConnectionSeconds = 60;
+    // Claims older than this are taken to belong to a poller that died and are sent again
+    private long staleClaimMinutes = 15;
+
+    public long getStaleClaimMinutes() {
+        return staleClaimMinutes;
+    }
+
+    public void setStaleClaimMinutes(long staleClaimMinutes) {
+        this.staleClaimMinutes = staleClaimMinutes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getPerDomainConcurrency() {
+        return perDomainConcurrency;
+    }
+
+    public void setPerDomainConcurrency(int perDomainConcurrency) {
+        this.perDomainConcurrency = perDomainConcurrency;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getRetryBackoffSeconds() {
+        return retryBackoffSeconds;
+    }
+
+    public void setRetryBackoffSeconds(long retryBackoffSeconds) {
+        this.retryBackoffSeconds = retryBackoffSeconds;
+    }
+
+    public long getPollSeconds() {
+        return pollSeconds;
+    }
+
+    public void setPollSeconds(long pollSeconds) {
+        this.pollSeconds = pollSeconds;
+    }
+
+    public long getIdleConnectionSeconds() {
+        return idleConnectionSeconds;
+    }
+
+    public void setIdleConnectionSeconds(long idleConnectionSeconds) {
+        this.idleConnectionSeconds = idleConnectionSeconds;
+    }
+}
@@ -0,0 +1,202 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for background notification delivery
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.notifications")
+public class NotificationProperties {
+
+    private int workerThreads = 2;
+    // Pending deliveries; one delivery may address any number of recipients
+    private int queueCapacity = 1000;
+    // Recipients whose preferences are read and whose rows are inserted together
+    private int batchSize = 500;
+    private int maxPageSize = 100;
+    // Users whose unread count is kept in memory
+    private long unreadCacheMaxSize = 100000;
+    // How often cached unread counts are re-counted from the table
+    private long unreadReconcileSeconds = 300;
+    private Retention retention = new Retention();
+    private Reminders reminders = new Reminders();
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public long getUnreadCacheMaxSize() {
+        return unreadCacheMaxSize;
+    }
+
+    public void setUnreadCacheMaxSize(long unreadCacheMaxSize) {
+        this.unreadCacheMaxSize = unreadCacheMaxSize;
+    }
+
+    public long getUnreadReconcileSeconds() {
+        return unreadReconcileSeconds;
+    }
+
+    public void setUnreadReconcileSeconds(long unreadReconcileSeconds) {
+        this.unreadReconcileSeconds = unreadReconcileSeconds;
+    }
+
+    public Retention getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Retention retention) {
+        this.retention = retention;
+    }
+
+    public Reminders getReminders() {
+        return reminders;
+    }
+
+    public void setReminders(Reminders reminders) {
+        this.reminders = reminders;
+    }
+
+    public static class Reminders {
+        private boolean enabled = true;
+        // How long before the event start each reminder is sent
+        private List<Duration> leads = new ArrayList<>(List.of(Duration.ofHours(24), Duration.ofHours(1)));
+        private long tickSeconds = 60;
+        // Reminders due within this window are held in memory; later ones are loaded as the window moves
+        private long lookaheadMinutes = 120;
+        private long reloadMinutes = 15;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<Duration> getLeads() {
+            return leads;
+        }
+
+        public void setLeads(List<Duration> leads) {
+            this.leads = leads;
+        }
+
+        public long getTickSeconds() {
+            return tickSeconds;
+        }
+
+        public void setTickSeconds(long tickSeconds) {
+            this.tickSeconds = tickSeconds;
+        }
+
+        public long getLookaheadMinutes() {
+            return lookaheadMinutes;
+        }
+
+        public void setLookaheadMinutes(long lookaheadMinutes) {
+            this.lookaheadMinutes = lookaheadMinutes;
+        }
+
+        public long getReloadMinutes() {
+            return reloadMinutes;
+        }
+
+        public void setReloadMinutes(long reloadMinutes) {
+            this.reloadMinutes = reloadMinutes;
+        }
+    }
+
+    public static class Retention {
+        private boolean enabled = true;
+        private int days = 90;
+        private long intervalMinutes = 60;
+        // Rows deleted per statement, and the pause between statements
+        private int chunkSize = 1000;
+        private long pauseMs = 200;
+        // Stop a run after this many chunks; the rest is picked up next run
+        private int maxChunksPerRun = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public void setDays(int days) {
+            this.days = days;
+        }
+
+        public long getIntervalMinutes() {
+            return intervalMinutes;
+        }
+
+        public void setIntervalMinutes(long intervalMinutes) {
+            this.intervalMinutes = intervalMinutes;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public long getPauseMs() {
+            return pauseMs;
+        }
+
+        public void setPauseMs(long pauseMs) {
+            this.pauseMs = pauseMs;
+        }
+
+        public int getMaxChunksPerRun() {
+            return maxChunksPerRun;
+        }
+
+        public void setMaxChunksPerRun(int maxChunksPerRun) {
+            this.maxChunksPerRun = maxChunksPerRun;
+        }
+    }
+}
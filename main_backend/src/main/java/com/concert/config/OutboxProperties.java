@@ -0,0 +1,72 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for the domain event outbox relay
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    // Exactly one instance should relay; the others write rows and read the Redis stream
+    private boolean relayEnabled = true;
+    // Commits wake the relay straight away; the poll picks up anything left behind
+    private long pollMillis = 1000;
+    private int batchSize = 200;
+    // When set, every event is also appended to this Redis stream
+    private String redisStream = "";
+    // Approximate cap on the stream length
+    private long redisMaxLength = 100000;
+    // How often instances that do not relay read new entries from the stream
+    private long streamPollMillis = 250;
+
+    public boolean isRelayEnabled() {
+        return relayEnabled;
+    }
+
+    public void setRelayEnabled(boolean relayEnabled) {
+        this.relayEnabled = relayEnabled;
+    }
+
+    public long getPollMillis() {
+        return pollMillis;
+    }
+
+    public void setPollMillis(long pollMillis) {
+        this.pollMillis = pollMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getRedisStream() {
+        return redisStream;
+    }
+
+    public void setRedisStream(String redisStream) {
+        this.redisStream = redisStream;
+    }
+
+    public long getRedisMaxLength() {
+        return redisMaxLength;
+    }
+
+    public void setRedisMaxLength(long redisMaxLength) {
+        this.redisMaxLength = redisMaxLength;
+    }
+
+    public long getStreamPollMillis() {
+        return streamPollMillis;
+    }
+
+    public void setStreamPollMillis(long streamPollMillis) {
+        this.streamPollMillis = streamPollMillis;
+    }
+}
@@ -0,0 +1,129 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Token-bucket limits per route class
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // "memory" keeps buckets in this instance; "redis" shares them between instances
+    private String store = "memory";
+    private int stripes = 64;
+    private int maxKeysPerStripe = 4096;
+    private Limit auth = new Limit(20, 20);
+    private Limit booking = new Limit(60, 60);
+    private Limit upload = new Limit(10, 10);
+    // Each call may hash thousands of passwords
+    private Limit provisioning = new Limit(2, 1);
+    // Opening live update streams; EventSource reconnects on its own, so only bursts are refused
+    private Limit stream = new Limit(30, 30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public int getMaxKeysPerStripe() {
+        return maxKeysPerStripe;
+    }
+
+    public void setMaxKeysPerStripe(int maxKeysPerStripe) {
+        this.maxKeysPerStripe = maxKeysPerStripe;
+    }
+
+    public Limit getAuth() {
+        return auth;
+    }
+
+    public void setAuth(Limit auth) {
+        this.auth = auth;
+    }
+
+    public Limit getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Limit booking) {
+        this.booking = booking;
+    }
+
+    public Limit getUpload() {
+        return upload;
+    }
+
+    public void setUpload(Limit upload) {
+        this.upload = upload;
+    }
+
+    public Limit getProvisioning() {
+        return provisioning;
+    }
+
+    public void setProvisioning(Limit provisioning) {
+        this.provisioning = provisioning;
+    }
+
+    public Limit getStream() {
+        return stream;
+    }
+
+    public void setStream(Limit stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Burst size and sustained rate of one bucket.
+     */
+    public static class Limit {
+        private int capacity;
+        private int refillPerMinute;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
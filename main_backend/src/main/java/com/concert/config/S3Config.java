@@ -4,14 +4,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 /**
  * AWS S3 Configuration
  * Uses centralized AwsProperties for configuration
- * Provides S3Client and S3Presigner beans
+ * Provides S3Client, S3AsyncClient and S3Presigner beans
  */
 @Configuration
 public class S3Config {
@@ -27,6 +29,20 @@ public class S3Config {
                 .build();
     }
 
+    /**
+     * Non-blocking client for request-path storage calls, so a slow S3 response
+     * holds a socket rather than a servlet thread
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(awsProperties.getRegion()))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(awsProperties.getS3().getMaxConcurrentRequests()))
+                .build();
+    }
+
     @Bean
     public S3Presigner s3Presigner() {
         return S3Presigner.builder()
@@ -0,0 +1,13 @@
+package com.concert.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs run on the shared Spring {@code taskScheduler}; its pool is
+ * sized with {@code spring.task.scheduling.pool.size}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
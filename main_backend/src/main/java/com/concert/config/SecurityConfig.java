@@ -1,6 +1,9 @@
 package com.concert.config;
 
 import com.concert.security.JwtAuthenticationFilter;
+import com.concert.security.ProvisioningAuthorizationManager;
+import com.concert.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,9 +24,14 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ProvisioningAuthorizationManager provisioningAuthorization;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                          ProvisioningAuthorizationManager provisioningAuthorization) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.provisioningAuthorization = provisioningAuthorization;
     }
 
     @Bean
@@ -37,16 +45,22 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             // กำหนดสิทธิ์การเข้าถึงแต่ละ endpoint
             .authorizeHttpRequests(authz -> authz
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()  // Completing async responses; the original request was already authorized
                     .requestMatchers(HttpMethod.OPTIONS).permitAll()  // Allow ALL OPTIONS requests
                     .requestMatchers("/api/auth/**").permitAll()  // Allow all auth endpoints
                     .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/", "/api/events/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/api/blobs/**").permitAll()  // Local blob storage (app.storage.type=local)
                     .requestMatchers("/h2-console/**").permitAll()
                     .requestMatchers("/error").permitAll()
                     .requestMatchers("/actuator/health").permitAll()
+                    // Bulk provisioning needs the provisioning credential, not just a signed-in user
+                    .requestMatchers(HttpMethod.POST, "/api/users/bulk").access(provisioningAuthorization)
                     .anyRequest().authenticated()
             )
             // เพิ่ม JWT filter ก่อน UsernamePasswordAuthenticationFilter
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // After authentication, so bookings and uploads are limited per user
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
             // สำหรับ H2 console
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
 
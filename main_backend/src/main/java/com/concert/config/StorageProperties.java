@@ -0,0 +1,70 @@
+package com.concert.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects where photos are stored: "s3" (default) or "local" disk
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    private String type = "s3";
+
+    private LocalProperties local = new LocalProperties();
+
+    // Uploads no event has claimed by then are released
+    private long pendingUploadHours = 24;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public boolean isLocal() {
+        return "local".equalsIgnoreCase(type);
+    }
+
+    public long getPendingUploadHours() {
+        return pendingUploadHours;
+    }
+
+    public void setPendingUploadHours(long pendingUploadHours) {
+        this.pendingUploadHours = pendingUploadHours;
+    }
+
+    public LocalProperties getLocal() {
+        return local;
+    }
+
+    public void setLocal(LocalProperties local) {
+        this.local = local;
+    }
+
+    public static class LocalProperties {
+        private String root = System.getProperty("java.io.tmpdir") + "/concert-blobs";
+
+        // Prefix for URLs handed to clients; empty means relative to this server
+        private String publicBaseUrl = "";
+
+        public String getRoot() {
+            return root;
+        }
+
+        public void setRoot(String root) {
+            this.root = root;
+        }
+
+        public String getPublicBaseUrl() {
+            return publicBaseUrl;
+        }
+
+        public void setPublicBaseUrl(String publicBaseUrl) {
+            this.publicBaseUrl = publicBaseUrl;
+        }
+    }
+}
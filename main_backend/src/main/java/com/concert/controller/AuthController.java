@@ -2,11 +2,16 @@ package com.concert.controller;
 
 import com.concert.dto.AuthResponse;
 import com.concert.dto.LoginRequest;
+import com.concert.dto.RefreshTokenRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.dto.UserProfileResponse;
+import com.concert.service.AuthBusyException;
 import com.concert.service.AuthService;
+import com.concert.service.TooManyAttemptsException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -32,15 +37,20 @@ public class AuthController {
     private AuthService authService;
     
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest,
+                                                 HttpServletRequest request) {
         try {
-            AuthResponse response = authService.register(registerRequest);
+            AuthResponse response = authService.register(registerRequest, request.getRemoteAddr());
             
             if (response.getToken() != null) {
                 return ResponseEntity.ok(response);
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (TooManyAttemptsException e) {
+            return tooManyAttempts(e);
+        } catch (AuthBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new AuthResponse("Registration failed: " + e.getMessage()));
@@ -48,20 +58,58 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
         try {
-            AuthResponse response = authService.login(loginRequest);
+            AuthResponse response = authService.login(loginRequest, request.getRemoteAddr());
             
             if (response.getToken() != null) {
                 return ResponseEntity.ok(response);
             } else {
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (TooManyAttemptsException e) {
+            return tooManyAttempts(e);
+        } catch (AuthBusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new AuthResponse("Login failed: " + e.getMessage()));
         }
     }
+
+    private ResponseEntity<AuthResponse> tooManyAttempts(TooManyAttemptsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new AuthResponse(e.getMessage()));
+    }
+
+    private ResponseEntity<AuthResponse> busy(AuthBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new AuthResponse(e.getMessage()));
+    }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new AuthResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new AuthResponse("Refresh failed: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(accessToken, refreshRequest != null ? refreshRequest.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
     
     @GetMapping("/test")
     public ResponseEntity<String> test() {
@@ -4,8 +4,8 @@ import com.concert.dto.CreateEventRequest;
 import com.concert.dto.EventResponse;
 import com.concert.dto.EventPhotoResponse;
 import com.concert.model.User;
-import com.concert.repository.UserRepository;
 import com.concert.service.EventService;
+import com.concert.service.UserIdentityCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/events")
@@ -24,11 +25,11 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
-    public EventController(EventService eventService, UserRepository userRepository) {
+    public EventController(EventService eventService, UserIdentityCache userIdentityCache) {
         this.eventService = eventService;
-        this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
     }
 
     @PostMapping
@@ -103,17 +104,16 @@ public class EventController {
     }
 
     @GetMapping("/{id}/photo")
-    public ResponseEntity<EventPhotoResponse> getEventPhoto(
+    public CompletableFuture<ResponseEntity<EventPhotoResponse>> getEventPhoto(
             @PathVariable Long id) {
-        EventPhotoResponse response = eventService.getEventPhoto(id);
-        return ResponseEntity.ok(response);
+        return eventService.getEventPhoto(id).thenApply(ResponseEntity::ok);
     }
 
     private User getCurrentUser(Authentication authentication) {
         if (authentication == null || authentication.getName() == null) {
             throw new IllegalArgumentException("Authentication required");
         }
-        return userRepository.findByUsername(authentication.getName())
+        return userIdentityCache.findUser(authentication)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
@@ -121,6 +121,6 @@ public class EventController {
         if (authentication == null || authentication.getName() == null) {
             return null;
         }
-        return userRepository.findByUsername(authentication.getName()).orElse(null);
+        return userIdentityCache.findUser(authentication).orElse(null);
     }
 }
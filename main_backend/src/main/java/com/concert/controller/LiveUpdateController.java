@@ -0,0 +1,89 @@
+package com.concert.controller;
+
+import com.concert.model.User;
+import com.concert.service.LiveUpdateService;
+import com.concert.service.TooManyStreamsException;
+import com.concert.service.UserIdentityCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event streams that replace polling: seat availability for an
+ * event (public), and the caller's unread notification count. Each client
+ * (user, or IP when anonymous) may only hold a few streams at a time.
+ */
+@RestController
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+    private final UserIdentityCache userIdentityCache;
+
+    public LiveUpdateController(LiveUpdateService liveUpdateService, UserIdentityCache userIdentityCache) {
+        this.liveUpdateService = liveUpdateService;
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @GetMapping(path = "/api/events/{id}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventAvailability(@PathVariable Long id, Authentication authentication,
+                                                       HttpServletRequest request) {
+        try {
+            return stream(liveUpdateService.subscribeToEvent(id, client(authentication, request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (TooManyStreamsException e) {
+            return tooMany();
+        } catch (IllegalStateException e) {
+            return busy();
+        }
+    }
+
+    @GetMapping(path = "/api/notifications/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> notifications(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        try {
+            return stream(liveUpdateService.subscribeToNotifications(user.getId()));
+        } catch (TooManyStreamsException e) {
+            return tooMany();
+        } catch (IllegalStateException e) {
+            return busy();
+        }
+    }
+
+    private static String client(Authentication authentication, HttpServletRequest request) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "u:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static ResponseEntity<SseEmitter> stream(SseEmitter emitter) {
+        // Stops reverse proxies from buffering the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+    }
+
+    private static ResponseEntity<SseEmitter> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+    }
+
+    private static ResponseEntity<SseEmitter> tooMany() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "30").build();
+    }
+
+    private User getCurrentUser(Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            throw new IllegalArgumentException("Authentication required");
+        }
+        return userIdentityCache.findUser(authentication)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+}
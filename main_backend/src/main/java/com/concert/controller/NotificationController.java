@@ -0,0 +1,64 @@
+package com.concert.controller;
+
+import com.concert.dto.NotificationResponse;
+import com.concert.model.User;
+import com.concert.service.NotificationService;
+import com.concert.service.UserIdentityCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final UserIdentityCache userIdentityCache;
+
+    public NotificationController(NotificationService notificationService, UserIdentityCache userIdentityCache) {
+        this.notificationService = notificationService;
+        this.userIdentityCache = userIdentityCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<NotificationResponse>> list(Authentication authentication,
+                                                           @RequestParam(required = false) Long before,
+                                                           @RequestParam(required = false) Integer limit) {
+        User user = getCurrentUser(authentication);
+        return ResponseEntity.ok(notificationService.list(user.getId(), before, limit));
+    }
+
+    // Polled by the navbar badge; answered from memory
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> unreadCount(Authentication authentication) {
+        User user = getCurrentUser(authentication);
+        return ResponseEntity.ok(Map.of("count", notificationService.unreadCount(user.getId())));
+    }
+
+    @PutMapping("/read")
+    public ResponseEntity<Map<String, Integer>> markAllRead(Authentication authentication,
+                                                            @RequestParam(required = false) Long upTo) {
+        User user = getCurrentUser(authentication);
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllRead(user.getId(), upTo)));
+    }
+
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(Authentication authentication, @PathVariable Long id) {
+        User user = getCurrentUser(authentication);
+        if (!notificationService.markRead(user.getId(), id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private User getCurrentUser(Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            throw new IllegalArgumentException("Authentication required");
+        }
+        return userIdentityCache.findUser(authentication)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    }
+}
@@ -1,23 +1,30 @@
 package com.concert.controller;
 
+import com.concert.config.StorageProperties;
+import com.concert.service.BlobStore;
+import com.concert.service.ContentAddressedStorage;
+import com.concert.service.EventService;
+import com.concert.service.StorageBusyException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/upload")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class UploadController {
 
-    private final S3Client s3Client;
+    private final BlobStore blobStore;
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final StorageProperties storageProperties;
     
     @Value("${aws.s3.event-pictures-bucket:concert-event-pictures-singapore-161326240347}")
     private String bucketName;
@@ -25,42 +32,44 @@ public class UploadController {
     @Value("${aws.cloudfront.images-url:https://dzh397ixo71bk.cloudfront.net}")
     private String cloudfrontUrl;
 
-    public UploadController(S3Client s3Client) {
-        this.s3Client = s3Client;
+    public UploadController(BlobStore blobStore, ContentAddressedStorage contentAddressedStorage,
+                            StorageProperties storageProperties) {
+        this.blobStore = blobStore;
+        this.contentAddressedStorage = contentAddressedStorage;
+        this.storageProperties = storageProperties;
     }
 
     @PostMapping("/event-photo")
-    public ResponseEntity<Map<String, String>> uploadEventPhoto(@RequestParam("file") MultipartFile file) {
-        try {
-            String filename = UUID.randomUUID().toString() + getExtension(file.getOriginalFilename());
-            String key = "events/" + filename;
-            
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .build();
-            
-            s3Client.putObject(putRequest, RequestBody.fromBytes(file.getBytes()));
-            
-            String url = cloudfrontUrl + "/" + key;
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("url", url);
-            response.put("key", key);
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(error);
-        }
+    public CompletableFuture<ResponseEntity<Map<String, String>>> uploadEventPhoto(@RequestParam("file") MultipartFile file) {
+        // Identical files share one stored copy; the upload's reference passes to the event that uses the URL
+        return contentAddressedStorage.storePending(bucketName, EventService.PHOTO_BLOB_PREFIX, file)
+                .thenApply(stored -> {
+                    String key = stored.key();
+                    // S3 objects are served through CloudFront; local blobs by this server
+                    String url = storageProperties.isLocal() ? blobStore.url(bucketName, key) : cloudfrontUrl + "/" + key;
+
+                    Map<String, String> response = new HashMap<>();
+                    response.put("url", url);
+                    response.put("key", key);
+
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof StorageBusyException) {
+                        return error(HttpStatus.SERVICE_UNAVAILABLE, cause.getMessage());
+                    }
+                    return error(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+                });
     }
-    
-    private String getExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            return ".jpg";
+
+    private ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            builder.header(HttpHeaders.RETRY_AFTER, "1");
         }
-        return filename.substring(filename.lastIndexOf("."));
+        return builder.body(error);
     }
 }
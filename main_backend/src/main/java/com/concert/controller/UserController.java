@@ -1,16 +1,25 @@
 package com.concert.controller;
 
 import com.concert.dto.UpdateProfileRequest;
+import com.concert.dto.UserPageResponse;
 import com.concert.dto.UserProfileResponse;
+import com.concert.dto.UserSummary;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.service.StorageBusyException;
+import com.concert.service.UserIdentityCache;
 import com.concert.service.UserProfileService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -20,24 +29,50 @@ import java.util.List;
     "https://concert-dev-frontend-142fee22.s3-website-us-east-1.amazonaws.com"
 })
 public class UserController {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
     
     private final UserRepository userRepository;
     private final UserProfileService userProfileService;
+    private final UserIdentityCache userIdentityCache;
 
-    public UserController(UserRepository userRepository, UserProfileService userProfileService) {
+    public UserController(UserRepository userRepository, UserProfileService userProfileService,
+                          UserIdentityCache userIdentityCache) {
         this.userRepository = userRepository;
         this.userProfileService = userProfileService;
+        this.userIdentityCache = userIdentityCache;
     }
     
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<UserPageResponse> getAllUsers(@RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) String q) {
         try {
-            List<User> users = userRepository.findAll();
-            return ResponseEntity.ok(users);
+            int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+            // One extra row tells us whether another page follows
+            List<UserSummary> rows = userRepository.findSummariesAfter(after == null ? 0L : after,
+                    searchPattern(q), PageRequest.ofSize(size + 1));
+            if (rows.size() <= size) {
+                return ResponseEntity.ok(new UserPageResponse(rows, null));
+            }
+            List<UserSummary> page = rows.subList(0, size);
+            return ResponseEntity.ok(new UserPageResponse(List.copyOf(page), page.get(size - 1).getId()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    static String searchPattern(String q) {
+        if (q == null || q.isBlank()) {
+            return null;
+        }
+        String escaped = q.trim().toLowerCase()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escaped + "%";
+    }
     
     @GetMapping("/me")
     public ResponseEntity<?> getMe(Authentication authentication) {
@@ -51,10 +86,12 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserSummary> getUserById(@PathVariable Long id) {
         try {
+            // The same public fields as the listing; never the entity, which carries the password hash
             return userRepository.findById(id)
-                    .map(user -> ResponseEntity.ok(user))
+                    .map(user -> ResponseEntity.ok(new UserSummary(user.getId(), user.getUsername(),
+                            user.getName(), user.getEmail(), user.getCreatedAt())))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -76,31 +113,51 @@ public class UserController {
                         if (req.getCity() != null) user.setCity(req.getCity());
                         if (req.getCountry() != null) user.setCountry(req.getCountry());
                         if (req.getPincode() != null) user.setPincode(req.getPincode());
-                        if (req.getProfilePhoto() != null) user.setProfilePhoto(req.getProfilePhoto());
+                        if (req.getProfilePhoto() != null && !req.getProfilePhoto().equals(user.getProfilePhoto())) {
+                            // Storage keys are shared between users and only ever come from an upload
+                            if (!req.getProfilePhoto().startsWith("http://") && !req.getProfilePhoto().startsWith("https://")) {
+                                throw new IllegalArgumentException("Profile photo must be an http(s) URL; upload images via /api/users/me/photo");
+                            }
+                            user.setProfilePhoto(req.getProfilePhoto());
+                            user.setProfilePhotoVariants(null);
+                        }
                         if (req.getCompany() != null) user.setCompany(req.getCompany());
                         if (req.getWebsite() != null) user.setWebsite(req.getWebsite());
                         User saved = userRepository.save(user);
+                        userIdentityCache.remember(saved);
 
                         UserProfileResponse profile = userProfileService.buildResponse(saved);
                         return ResponseEntity.ok(profile);
                     })
                     .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(e.getMessage());
         }
     }
 
     @PostMapping("/me/photo")
-    public ResponseEntity<?> uploadProfilePhoto(Authentication authentication,
-                                                @RequestParam("file") MultipartFile file) {
+    public CompletableFuture<ResponseEntity<?>> uploadProfilePhoto(Authentication authentication,
+                                                                   @RequestParam("file") MultipartFile file) {
         try {
             User currentUser = getCurrentUser(authentication);
-            UserProfileResponse response = userProfileService.uploadProfilePhoto(currentUser, file);
-            return ResponseEntity.ok(response);
+            return userProfileService.uploadProfilePhoto(currentUser, file)
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                    .exceptionally(error -> {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof StorageBusyException) {
+                            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                    .header(HttpHeaders.RETRY_AFTER, "1")
+                                    .body(cause.getMessage());
+                        }
+                        return ResponseEntity.internalServerError().body(cause.getMessage());
+                    });
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.internalServerError().body(e.getMessage()));
         }
     }
 
@@ -108,7 +165,7 @@ public class UserController {
         if (authentication == null || authentication.getName() == null) {
             throw new IllegalArgumentException("Authentication required");
         }
-        return userRepository.findByUsername(authentication.getName())
+        return userIdentityCache.findUser(authentication)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
     }
 
@@ -0,0 +1,47 @@
+package com.concert.controller;
+
+import com.concert.dto.ProvisioningReport;
+import com.concert.dto.RegisterRequest;
+import com.concert.service.UserProvisioningService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Bulk account provisioning for corporate and partner onboarding.
+ *
+ * The body is either a JSON array of registration objects or newline-delimited
+ * JSON (one object per line). It is parsed incrementally, so a large list is
+ * never held in memory as a whole. Callers authenticate with the provisioning
+ * credential (see {@link com.concert.security.ProvisioningAuthorizationManager})
+ * and are rate limited per client.
+ */
+@RestController
+@RequestMapping("/api/users")
+public class UserProvisioningController {
+
+    private final UserProvisioningService userProvisioningService;
+    private final ObjectReader registerRequestReader;
+
+    public UserProvisioningController(UserProvisioningService userProvisioningService, ObjectMapper objectMapper) {
+        this.userProvisioningService = userProvisioningService;
+        this.registerRequestReader = objectMapper.readerFor(RegisterRequest.class);
+    }
+
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> provision(HttpServletRequest request) {
+        try (MappingIterator<RegisterRequest> rows = registerRequestReader.readValues(request.getInputStream())) {
+            ProvisioningReport report = userProvisioningService.provision(rows);
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Could not read request body: " + e.getMessage()));
+        }
+    }
+}
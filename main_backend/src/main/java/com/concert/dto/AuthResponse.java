@@ -7,6 +7,9 @@ public class AuthResponse {
     private String username;
     private String email;
     private String message;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private Long expiresIn;
     
     // Constructors
     public AuthResponse() {}
@@ -61,4 +64,20 @@ public class AuthResponse {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
 }
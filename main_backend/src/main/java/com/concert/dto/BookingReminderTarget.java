@@ -0,0 +1,10 @@
+package com.concert.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a reminder needs to know about an active booking; read straight from the query.
+ */
+public record BookingReminderTarget(Long bookingId, Long userId, String eventId, String eventTitle,
+                                    LocalDateTime eventStartDate) {
+}
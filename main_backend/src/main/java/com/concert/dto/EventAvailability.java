@@ -0,0 +1,7 @@
+package com.concert.dto;
+
+/**
+ * Live seat count for an event; {@code capacity} and {@code remaining} are null when the event has no limit.
+ */
+public record EventAvailability(String eventId, Integer capacity, long booked, Integer remaining) {
+}
@@ -1,6 +1,7 @@
 package com.concert.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class EventResponse {
 
@@ -19,6 +20,7 @@ public class EventResponse {
     private Double ticketPrice;
     private String photoId;
     private String photoUrl;
+    private Map<String, String> photoVariants;
     private EventPhotoSummary photo;
     private EventOrganizerSummary organizer;
     private Long organizerId;
@@ -147,6 +149,14 @@ public class EventResponse {
         this.photoUrl = photoUrl;
     }
 
+    public Map<String, String> getPhotoVariants() {
+        return photoVariants;
+    }
+
+    public void setPhotoVariants(Map<String, String> photoVariants) {
+        this.photoVariants = photoVariants;
+    }
+
     public EventPhotoSummary getPhoto() {
         return photo;
     }
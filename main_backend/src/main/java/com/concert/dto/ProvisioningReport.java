@@ -0,0 +1,97 @@
+package com.concert.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk provisioning request: totals plus one entry per input row.
+ */
+public class ProvisioningReport {
+
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    private int created;
+    private int rejected;
+    private String error;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void add(RowResult row) {
+        rows.add(row);
+        if (row.getStatus() == Status.CREATED) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    // Set when the input stream could not be read to the end; rows before that point were processed
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public static class RowResult {
+
+        private int row;
+        private String username;
+        private Status status;
+        private String message;
+
+        public RowResult() {
+        }
+
+        public RowResult(int row, String username, Status status, String message) {
+            this.row = row;
+            this.username = username;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
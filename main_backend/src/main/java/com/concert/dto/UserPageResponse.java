@@ -0,0 +1,37 @@
+package com.concert.dto;
+
+import java.util.List;
+
+/**
+ * One page of the user listing. Pass {@code nextCursor} back as {@code after}
+ * to get the following page; it is null on the last page.
+ */
+public class UserPageResponse {
+
+    private List<UserSummary> items;
+    private Long nextCursor;
+
+    public UserPageResponse() {
+    }
+
+    public UserPageResponse(List<UserSummary> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserSummary> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserSummary> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.concert.dto;
 
+import java.util.Map;
+
 public class UserProfileResponse {
     private Long id;
     private String username;
@@ -11,6 +13,7 @@ public class UserProfileResponse {
     private String country;
     private String pincode;
     private String profilePhoto;
+    private Map<String, String> profilePhotoVariants;
     private String company;
     private String website;
 
@@ -64,6 +67,9 @@ public class UserProfileResponse {
     public String getProfilePhoto() { return profilePhoto; }
     public void setProfilePhoto(String profilePhoto) { this.profilePhoto = profilePhoto; }
 
+    public Map<String, String> getProfilePhotoVariants() { return profilePhotoVariants; }
+    public void setProfilePhotoVariants(Map<String, String> profilePhotoVariants) { this.profilePhotoVariants = profilePhotoVariants; }
+
     public String getCompany() { return company; }
     public void setCompany(String company) { this.company = company; }
 
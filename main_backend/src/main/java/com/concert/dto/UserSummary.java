@@ -0,0 +1,66 @@
+package com.concert.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing row for a user; read straight from the query, never from a full entity.
+ */
+public class UserSummary {
+
+    private Long id;
+    private String username;
+    private String name;
+    private String email;
+    private LocalDateTime createdAt;
+
+    public UserSummary() {
+    }
+
+    public UserSummary(Long id, String username, String name, String email, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.name = name;
+        this.email = email;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
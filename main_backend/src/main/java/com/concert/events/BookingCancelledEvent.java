@@ -0,0 +1,7 @@
+package com.concert.events;
+
+/**
+ * Published when a user cancels one of their bookings.
+ */
+public record BookingCancelledEvent(Long bookingId, Long userId, String eventId, String eventTitle) {
+}
@@ -0,0 +1,10 @@
+package com.concert.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a booking is created.
+ */
+public record BookingConfirmedEvent(Long bookingId, Long userId, String eventId, String eventTitle,
+                                    LocalDateTime eventStartDate, Integer quantity) {
+}
@@ -0,0 +1,9 @@
+package com.concert.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published in-process once every booking of an event carries the event's current snapshot.
+ */
+public record BookingSnapshotsUpdatedEvent(String eventId, LocalDateTime startDate) {
+}
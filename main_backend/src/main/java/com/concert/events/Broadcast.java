@@ -0,0 +1,18 @@
+package com.concert.events;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * A domain event as delivered to every instance, for listeners that keep
+ * per-instance state such as caches and live update streams. Listen for
+ * {@code Broadcast<SomeEvent>}; listeners of the bare event run on the
+ * relaying instance only and are where side effects belong.
+ */
+public record Broadcast<T>(T event) implements ResolvableTypeProvider {
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(Broadcast.class, ResolvableType.forInstance(event));
+    }
+}
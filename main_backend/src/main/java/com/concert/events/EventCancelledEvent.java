@@ -0,0 +1,9 @@
+package com.concert.events;
+
+import java.util.List;
+
+/**
+ * Published when every booking for an event is cancelled; carries the affected attendees.
+ */
+public record EventCancelledEvent(String eventId, String eventTitle, List<Long> attendeeIds) {
+}
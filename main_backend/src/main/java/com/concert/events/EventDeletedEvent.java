@@ -0,0 +1,7 @@
+package com.concert.events;
+
+/**
+ * Published when an organizer deletes an event.
+ */
+public record EventDeletedEvent(String eventId, String title) {
+}
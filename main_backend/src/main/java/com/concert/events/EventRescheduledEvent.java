@@ -0,0 +1,9 @@
+package com.concert.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an event's start date changes.
+ */
+public record EventRescheduledEvent(String eventId, String eventTitle, LocalDateTime startDate) {
+}
@@ -0,0 +1,10 @@
+package com.concert.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when an organizer edits an event; carries the fields other records keep copies of.
+ */
+public record EventUpdatedEvent(String eventId, String title, String location, LocalDateTime startDate,
+                                LocalDateTime endDate) {
+}
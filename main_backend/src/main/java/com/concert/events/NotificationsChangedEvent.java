@@ -0,0 +1,9 @@
+package com.concert.events;
+
+import java.util.List;
+
+/**
+ * Published when notifications are written or marked read for these users.
+ */
+public record NotificationsChangedEvent(List<Long> userIds) {
+}
@@ -60,6 +60,10 @@ public class Event {
     @Column(name = "photo_url")
     private String photoUrl;
 
+    // Comma-separated names of the resized variants generated for photoId
+    @Column(name = "photo_variants")
+    private String photoVariants;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User organizer;
@@ -228,6 +232,14 @@ public class Event {
         this.photoUrl = photoUrl;
     }
 
+    public String getPhotoVariants() {
+        return photoVariants;
+    }
+
+    public void setPhotoVariants(String photoVariants) {
+        this.photoVariants = photoVariants;
+    }
+
     public User getOrganizer() {
         return organizer;
     }
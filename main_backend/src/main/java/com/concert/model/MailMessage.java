@@ -0,0 +1,67 @@
+package com.concert.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbound email waiting in the persistent send queue. Rows are deleted once
+ * sent; rows that ran out of attempts stay behind as FAILED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "mail_queue", indexes = {
+        @Index(name = "idx_mail_queue_due", columnList = "status, next_attempt_at")
+})
+public class MailMessage {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    // Lower-cased part after the @, used for per-domain limits
+    @Column(name = "domain", nullable = false)
+    private String domain;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "status", nullable = false, length = 16)
+    private String status; // PENDING, SENDING, FAILED
+
+    // Set by the poll that claimed the message while it is SENDING
+    @Column(name = "claim_id", length = 36)
+    private String claimId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
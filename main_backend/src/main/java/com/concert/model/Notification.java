@@ -16,7 +16,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user", columnList = "user_id, id"),
+        @Index(name = "idx_notifications_user_unread", columnList = "user_id, is_read"),
+        @Index(name = "idx_notifications_created", columnList = "created_at")
+})
 public class Notification {
     
     @Id
@@ -33,7 +37,7 @@ public class Notification {
     private String message;
     
     @Column(name = "type")
-    private String type; // EVENT_REMINDER, BOOKING_CONFIRMATION, EVENT_CANCELLATION, etc.
+    private String type; // NotificationType name: EVENT_REMINDER, BOOKING_CONFIRMATION, EVENT_CANCELLATION, etc.
     
     @Column(name = "is_read")
     private boolean read = false;
@@ -0,0 +1,28 @@
+package com.concert.model;
+
+/**
+ * Kinds of in-app notification, stored by name in {@link Notification#getType()}.
+ *
+ * In-app notifications are the push channel, so they follow the user's
+ * push setting; reminders additionally follow the reminder setting.
+ */
+public enum NotificationType {
+    BOOKING_CONFIRMATION,
+    BOOKING_CANCELLATION,
+    EVENT_CANCELLATION,
+    EVENT_REMINDER;
+
+    /**
+     * Whether a user with {@code preference} (or no stored preference) wants this kind.
+     */
+    public boolean isWanted(NotificationPreference preference) {
+        if (preference == null) {
+            // Defaults of a fresh NotificationPreference
+            return true;
+        }
+        if (this == EVENT_REMINDER && !preference.isEventReminders()) {
+            return false;
+        }
+        return preference.isPushNotifications();
+    }
+}
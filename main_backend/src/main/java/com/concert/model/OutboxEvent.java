@@ -0,0 +1,37 @@
+package com.concert.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event recorded in the same transaction as the change it describes.
+ * The relay publishes rows in id order and deletes them once delivered.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Simple name of the event record, e.g. BookingConfirmedEvent
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    // The event serialized as JSON
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package com.concert.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Holds the {@link StoredBlob} reference taken by a standalone upload until
+ * an event claims the key. Unclaimed uploads are released after a while.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "pending_uploads", indexes = {
+        @Index(name = "idx_pending_uploads_key", columnList = "bucket, object_key"),
+        @Index(name = "idx_pending_uploads_created_at", columnList = "created_at")
+})
+public class PendingUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket", nullable = false)
+    private String bucket;
+
+    @Column(name = "object_key", nullable = false, length = 512)
+    private String objectKey;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.concert.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored copy of an uploaded image, keyed by the SHA-256 of its bytes.
+ * Every event or user pointing at {@code objectKey} holds one reference;
+ * the object is deleted when the last reference is released.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stored_blobs", indexes = {
+        @Index(name = "idx_stored_blobs_hash", columnList = "bucket, content_hash"),
+        @Index(name = "idx_stored_blobs_key", columnList = "bucket, object_key")
+})
+public class StoredBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket", nullable = false)
+    private String bucket;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "object_key", nullable = false, length = 512)
+    private String objectKey;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
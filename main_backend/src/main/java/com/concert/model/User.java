@@ -1,5 +1,6 @@
 package com.concert.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +8,10 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+// username and email are indexed by their unique constraints; name backs the prefix search too
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_name", columnList = "name")
+})
 public class User {
     
     @Id
@@ -33,11 +37,16 @@ public class User {
     
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
+    @JsonIgnore
     private String password;
     
     @Column(name = "profile_photo")
     private String profilePhoto;
     
+    // Comma-separated names of the resized variants generated for profilePhoto
+    @Column(name = "profile_photo_variants")
+    private String profilePhotoVariants;
+    
     private String company;
     private String website;
     private String phone;
@@ -122,6 +131,14 @@ public class User {
         this.profilePhoto = profilePhoto;
     }
     
+    public String getProfilePhotoVariants() {
+        return profilePhotoVariants;
+    }
+    
+    public void setProfilePhotoVariants(String profilePhotoVariants) {
+        this.profilePhotoVariants = profilePhotoVariants;
+    }
+    
     public String getCompany() {
         return company;
     }
@@ -1,13 +1,57 @@
 package com.concert.repository;
 
+import com.concert.dto.BookingReminderTarget;
 import com.concert.model.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserIdOrderByBookingDateDesc(Long userId);
     List<Booking> findByEventId(String eventId);
+
+    // Range scan on the event_start_date index; only active bookings get reminders
+    @Query("select new com.concert.dto.BookingReminderTarget(b.id, b.user.id, b.eventId, b.eventTitle, b.eventStartDate) " +
+            "from Booking b where b.eventStartDate >= :from and b.eventStartDate < :to and b.status <> 'CANCELLED'")
+    List<BookingReminderTarget> findReminderTargetsStartingBetween(@Param("from") LocalDateTime from,
+                                                                   @Param("to") LocalDateTime to);
+
+    @Query("select new com.concert.dto.BookingReminderTarget(b.id, b.user.id, b.eventId, b.eventTitle, b.eventStartDate) " +
+            "from Booking b where b.eventId = :eventId and b.status <> 'CANCELLED'")
+    List<BookingReminderTarget> findReminderTargetsByEventId(@Param("eventId") String eventId);
+
+    // Seats held by active bookings, on the event_id index
+    @Query("select coalesce(sum(b.quantity), 0) from Booking b where b.eventId = :eventId and b.status <> 'CANCELLED'")
+    long sumActiveQuantityByEventId(@Param("eventId") String eventId);
+
+    // Who still holds a booking, read along the event_id index before the bookings are cancelled
+    @Query("select distinct b.user.id from Booking b where b.eventId = :eventId and b.status <> 'CANCELLED'")
+    List<Long> findActiveAttendeeIds(@Param("eventId") String eventId);
+
+    // One statement however many bookings the event has
+    @Modifying
+    @Query("update Booking b set b.status = 'CANCELLED' where b.eventId = :eventId and b.status <> 'CANCELLED'")
+    int cancelActiveByEventId(@Param("eventId") String eventId);
+
+    // Key-set walk over an event's bookings along the event_id index
+    @Query("select b.id from Booking b where b.eventId = :eventId and b.id > :afterId order by b.id asc")
+    List<Long> findIdsByEventIdAfter(@Param("eventId") String eventId, @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    // Rewrites the event fields bookings keep a copy of
+    @Modifying
+    @Transactional
+    @Query("update Booking b set b.eventTitle = :title, b.eventLocation = :location, b.eventStartDate = :startDate " +
+            "where b.id in :ids")
+    int updateEventSnapshot(@Param("ids") Collection<Long> ids, @Param("title") String title,
+                            @Param("location") String location, @Param("startDate") LocalDateTime startDate);
 }
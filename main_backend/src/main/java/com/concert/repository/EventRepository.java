@@ -5,10 +5,15 @@ import com.concert.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -16,4 +21,22 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     Page<Event> findByStartDateAfterOrderByStartDateAsc(LocalDateTime startDate, Pageable pageable);
 
     List<Event> findByOrganizerOrderByStartDateAsc(User organizer);
+
+    @Query("select e.personLimit from Event e where e.id = :id")
+    Optional<Integer> findPersonLimitById(@Param("id") Long id);
+
+    // Written from the upload completion callback, outside the request's persistence context. Only
+    // replaces the photo the caller read, so of two overlapping uploads just one releases it
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.photoId = :photoId, e.photoUrl = :photoUrl, e.photoVariants = null, e.updatedAt = :now "
+            + "where e.id = :id and (e.photoId = :previous or (e.photoId is null and :previous is null))")
+    int swapPhoto(@Param("id") Long id, @Param("previous") String previous, @Param("photoId") String photoId,
+                  @Param("photoUrl") String photoUrl, @Param("now") LocalDateTime now);
+
+    // Only applies if the event still points at the photo the variants were made from
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.photoVariants = :variants where e.id = :id and e.photoId = :photoId")
+    int updatePhotoVariants(@Param("id") Long id, @Param("photoId") String photoId, @Param("variants") String variants);
 }
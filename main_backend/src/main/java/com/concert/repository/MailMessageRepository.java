@@ -0,0 +1,59 @@
+package com.concert.repository;
+
+import com.concert.model.MailMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailMessageRepository extends JpaRepository<MailMessage, Long> {
+
+    // Oldest due first, on the (status, next_attempt_at) index
+    @Query("select m.id from MailMessage m where m.status = 'PENDING' and m.nextAttemptAt <= :now " +
+            "order by m.nextAttemptAt asc, m.id asc")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Guarded on status, so a message is only ever claimed once; the poll then loads it by claimId
+    @Modifying
+    @Transactional
+    @Query("update MailMessage m set m.status = 'SENDING', m.claimId = :claimId, m.updatedAt = :now " +
+            "where m.id in :ids and m.status = 'PENDING'")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimId") String claimId, @Param("now") LocalDateTime now);
+
+    List<MailMessage> findByClaimId(String claimId);
+
+    // Hands claimed messages back untouched, e.g. when their domain is at its limit
+    @Modifying
+    @Transactional
+    @Query("update MailMessage m set m.status = 'PENDING', m.claimId = null " +
+            "where m.id in :ids and m.status = 'SENDING'")
+    int release(@Param("ids") Collection<Long> ids);
+
+    // Messages left SENDING by a poller that died are sent again
+    @Modifying
+    @Transactional
+    @Query("update MailMessage m set m.status = 'PENDING', m.claimId = null " +
+            "where m.status = 'SENDING' and m.updatedAt < :before")
+    int releaseStale(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Transactional
+    @Query("update MailMessage m set m.status = :status, m.claimId = null, m.attempts = :attempts, " +
+            "m.nextAttemptAt = :nextAttemptAt, m.lastError = :error, m.updatedAt = :now where m.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("status") String status, @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from MailMessage m where m.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
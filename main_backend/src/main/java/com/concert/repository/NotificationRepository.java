@@ -1,10 +1,16 @@
 package com.concert.repository;
 
 import com.concert.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +18,37 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
     List<Notification> findByUserIdAndReadFalse(Long userId);
-    List<Notification> findByCreatedAtBefore(LocalDateTime dateTime);
+
+    // Newest first, seeking below the cursor on the (user_id, id) index
+    List<Notification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    long countByUserIdAndReadFalse(Long userId);
+
+    // Set-based mark-read: every unread notification of the user, optionally only up to an id
+    @Modifying
+    @Transactional
+    @Query("update Notification n set n.read = true, n.updatedAt = :now " +
+            "where n.userId = :userId and n.read = false and n.id <= :upToId")
+    int markAllRead(@Param("userId") Long userId, @Param("upToId") Long upToId, @Param("now") LocalDateTime now);
+
+    // Oldest first along the created_at index, one bounded chunk at a time
+    @Query("select n.id from Notification n where n.createdAt < :cutoff order by n.createdAt asc, n.id asc")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Notification n where n.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rows of [userId, unread count]; users with nothing unread are absent
+    @Query("select n.userId, count(n) from Notification n where n.read = false and n.userId in :userIds group by n.userId")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Transactional
+    @Query("update Notification n set n.read = true, n.updatedAt = :now " +
+            "where n.id = :id and n.userId = :userId and n.read = false")
+    int markRead(@Param("id") Long id, @Param("userId") Long userId, @Param("now") LocalDateTime now);
 }
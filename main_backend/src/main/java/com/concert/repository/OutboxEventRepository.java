@@ -0,0 +1,26 @@
+package com.concert.repository;
+
+import com.concert.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest first along the primary key
+    @Query("select o from OutboxEvent o order by o.id asc")
+    List<OutboxEvent> findOldest(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxEvent o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,28 @@
+package com.concert.repository;
+
+import com.concert.model.PendingUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, Long> {
+
+    List<PendingUpload> findByBucketAndObjectKey(String bucket, String objectKey);
+
+    @Query("select p from PendingUpload p where p.createdAt < :cutoff order by p.createdAt")
+    List<PendingUpload> findCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Whoever deletes the row takes over its reference, so a claim and the sweep never both use it
+    @Modifying
+    @Transactional
+    @Query("delete from PendingUpload p where p.id = :id")
+    int take(@Param("id") Long id);
+}
@@ -0,0 +1,30 @@
+package com.concert.repository;
+
+import com.concert.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Only one concurrent exchange of the same token can win
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :now, t.replacedByHash = :replacedBy " +
+            "where t.id = :id and t.revokedAt is null")
+    int markUsed(@Param("id") Long id, @Param("replacedBy") String replacedBy, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :now where t.userId = :userId and t.revokedAt is null")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,36 @@
+package com.concert.repository;
+
+import com.concert.model.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, Long> {
+
+    List<StoredBlob> findByBucketAndContentHashAndRefCountGreaterThan(String bucket, String contentHash, int refCount);
+
+    Optional<StoredBlob> findFirstByBucketAndObjectKey(String bucket, String objectKey);
+
+    // Only succeeds while the blob is still referenced, so a copy that is being released is never revived
+    @Modifying
+    @Transactional
+    @Query("update StoredBlob b set b.refCount = b.refCount + 1 where b.id = :id and b.refCount > 0")
+    int acquire(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update StoredBlob b set b.refCount = b.refCount - 1 where b.id = :id and b.refCount > 0")
+    int release(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from StoredBlob b where b.id = :id and b.refCount = 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
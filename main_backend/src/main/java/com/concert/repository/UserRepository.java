@@ -1,9 +1,18 @@
 package com.concert.repository;
 
+import com.concert.dto.UserSummary;
 import com.concert.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,8 +23,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     Optional<User> findByUsernameOrEmail(String username, String email);
+
+    Optional<User> findByCognitoSub(String cognitoSub);
     
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+
+    // Set-based uniqueness checks for bulk provisioning: one query per batch instead of one per row
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset page in id order: seeks past the cursor on the primary key instead of counting an offset.
+    // The pattern is a prefix with % and _ escaped by '!'. Columns are compared bare so each prefix can
+    // range-scan its index; the case-insensitive MySQL collation already ignores case
+    @Query("select new com.concert.dto.UserSummary(u.id, u.username, u.name, u.email, u.createdAt) from User u"
+            + " where u.id > :after and (:pattern is null or u.username like :pattern escape '!'"
+            + " or u.email like :pattern escape '!' or u.name like :pattern escape '!')"
+            + " order by u.id asc")
+    List<UserSummary> findSummariesAfter(@Param("after") long after, @Param("pattern") String pattern,
+                                         Pageable pageable);
+    
+    // Written from the upload completion callback, outside the request's persistence context. Only
+    // replaces the avatar the caller read, so of two overlapping uploads just one releases it
+    @Modifying
+    @Transactional
+    @Query("update User u set u.profilePhoto = :profilePhoto, u.profilePhotoVariants = null, u.updatedAt = :now "
+            + "where u.id = :id and (u.profilePhoto = :previous or (u.profilePhoto is null and :previous is null))")
+    int swapProfilePhoto(@Param("id") Long id, @Param("previous") String previous,
+                         @Param("profilePhoto") String profilePhoto, @Param("now") LocalDateTime now);
+
+    // Only applies if the user still has the avatar the variants were made from
+    @Modifying
+    @Transactional
+    @Query("update User u set u.profilePhotoVariants = :variants where u.id = :id and u.profilePhoto = :profilePhoto")
+    int updateProfilePhotoVariants(@Param("id") Long id, @Param("profilePhoto") String profilePhoto,
+                                   @Param("variants") String variants);
 }
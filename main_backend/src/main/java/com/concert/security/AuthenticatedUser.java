@@ -0,0 +1,17 @@
+package com.concert.security;
+
+import java.security.Principal;
+
+/**
+ * Principal set by {@link JwtAuthenticationFilter}. {@code id} comes from the
+ * token's user id claim; for Cognito tokens it is the provisioned local user's
+ * id, added when the token is resolved. It is {@code null} only for local
+ * tokens issued before the claim existed.
+ */
+public record AuthenticatedUser(Long id, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,7 +1,5 @@
 package com.concert.security;
 
-import com.concert.service.JwtService;
-import com.concert.service.CognitoJwtValidator;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,60 +22,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Autowired
-    private JwtService jwtService;
-    
+    private TokenDispatcher tokenDispatcher;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Autowired
-    private CognitoJwtValidator cognitoJwtValidator;
+    private TokenRevocationList tokenRevocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        String username = null;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        
-        // Try to validate as custom JWT first
+        final String jwt = authHeader.substring(7);
+
+        // Each distinct token is parsed and signature-checked once, then served from the cache until it expires
+        VerifiedToken verified = null;
         try {
-            username = jwtService.extractUsername(jwt);
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtService.isTokenValid(jwt, username)) {
-                    logger.debug("Validated custom JWT for user: {}", username);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            new ArrayList<>()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
+            verified = verifiedTokenCache.get(jwt, tokenDispatcher::verify);
         } catch (Exception e) {
-            // If custom JWT fails, try Cognito JWT
-            logger.debug("Custom JWT validation failed, trying Cognito JWT");
-            try {
-                username = cognitoJwtValidator.getUsernameFromToken(jwt);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    logger.debug("Validated Cognito JWT for user: {}", username);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            new ArrayList<>()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            } catch (Exception cognitoEx) {
-                logger.debug("Cognito JWT validation also failed", cognitoEx);
-                // Both failed, continue without authentication
-            }
+            logger.debug("Bearer token rejected: {}", e.getMessage());
+        }
+
+        // Revocation is checked in memory on every request, cached or not
+        if (verified != null && tokenRevocationList.isRevoked(verified.tokenId())) {
+            logger.debug("Bearer token {} has been revoked", verified.tokenId());
+            verified = null;
+        }
+
+        if (verified != null && verified.username() != null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    new AuthenticatedUser(verified.userId(), verified.username()),
+                    null,
+                    new ArrayList<>()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         
         filterChain.doFilter(request, response);
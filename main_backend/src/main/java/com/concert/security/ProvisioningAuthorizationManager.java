@@ -0,0 +1,44 @@
+package com.concert.security;
+
+import com.concert.config.AuthProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Admits bulk provisioning calls that carry the configured provisioning
+ * credential ({@code app.auth.provisioning.token}) in the
+ * {@value #HEADER} header. A signed-in user is not enough. With no
+ * credential configured every call is refused, so the endpoint is off by default.
+ */
+@Component
+public class ProvisioningAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String HEADER = "X-Provisioning-Token";
+
+    private final byte[] token;
+
+    public ProvisioningAuthorizationManager(AuthProperties authProperties) {
+        String configured = authProperties.getProvisioning().getToken();
+        this.token = configured == null || configured.isBlank() ? null : configured.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(isAuthorized(context.getRequest()));
+    }
+
+    boolean isAuthorized(HttpServletRequest request) {
+        String presented = request.getHeader(HEADER);
+        // Constant-time comparison so the credential cannot be guessed byte by byte
+        return token != null && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package com.concert.security;
+
+import com.concert.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects requests with 429 once their bucket is empty.
+ *
+ * Only the expensive or abuse-prone routes are limited: sign-in/registration
+ * (per client IP), bookings, uploads and opening live update streams (per
+ * user, or per IP when anonymous). How many streams stay open at once is
+ * capped separately by the live update hub.
+ * Runs right after {@link JwtAuthenticationFilter} so the user is known.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum RouteClass { AUTH, BOOKING, UPLOAD, PROVISIONING, STREAM }
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = properties.isEnabled() ? classify(request) : null;
+        if (routeClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(key(routeClass, request), limitFor(routeClass));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("http.server.requests.rate_limited", "route", routeClass.name().toLowerCase()).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, please retry later\"}");
+    }
+
+    static RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean post = "POST".equalsIgnoreCase(request.getMethod());
+        if (post && path.startsWith("/api/auth/")) {
+            return RouteClass.AUTH;
+        }
+        if (post && path.equals("/api/users/bulk")) {
+            return RouteClass.PROVISIONING;
+        }
+        if ("GET".equalsIgnoreCase(request.getMethod()) && (path.equals("/api/notifications/live")
+                || (path.startsWith("/api/events/") && path.endsWith("/live")))) {
+            return RouteClass.STREAM;
+        }
+        if (path.equals("/api/bookings") || path.startsWith("/api/bookings/")) {
+            return RouteClass.BOOKING;
+        }
+        if (post && (path.startsWith("/api/upload/") || path.equals("/api/users/me/photo")
+                || (path.startsWith("/api/events/") && path.contains("/photo")))) {
+            return RouteClass.UPLOAD;
+        }
+        return null;
+    }
+
+    private String key(RouteClass routeClass, HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (routeClass != RouteClass.AUTH && authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return routeClass.name() + ":u:" + authentication.getName();
+        }
+        return routeClass.name() + ":ip:" + request.getRemoteAddr();
+    }
+
+    private RateLimitProperties.Limit limitFor(RouteClass routeClass) {
+        return switch (routeClass) {
+            case AUTH -> properties.getAuth();
+            case BOOKING -> properties.getBooking();
+            case UPLOAD -> properties.getUpload();
+            case PROVISIONING -> properties.getProvisioning();
+            case STREAM -> properties.getStream();
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.concert.security;
+
+import com.concert.config.RateLimitProperties;
+
+/**
+ * Takes one token from the bucket identified by {@code key}.
+ */
+public interface RateLimiter {
+
+    record Decision(boolean allowed, long retryAfterSeconds) {
+
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    Decision tryAcquire(String key, RateLimitProperties.Limit limit);
+}
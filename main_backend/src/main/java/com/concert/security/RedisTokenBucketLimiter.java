@@ -0,0 +1,76 @@
+package com.concert.security;
+
+import com.concert.config.RateLimitProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Token buckets kept in Redis so every instance draws from the same bucket.
+ *
+ * The refill-and-take step runs as one Lua script, so it is atomic without
+ * locks, and idle buckets expire on their own. If Redis cannot be reached
+ * the request is let through rather than failing the API.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis")
+public class RedisTokenBucketLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketLimiter.class);
+
+    // KEYS[1] = bucket; ARGV = capacity, refill per ms, now ms. Returns {allowed, retry-after ms}.
+    private static final RedisScript<List> TAKE = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local state = redis.call('HMGET', KEYS[1], 't', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local allowed = 0
+            local wait = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            elseif rate > 0 then
+              wait = math.ceil((1 - tokens) / rate)
+            else
+              wait = 60000
+            end
+            redis.call('HSET', KEYS[1], 't', tostring(tokens), 'ts', tostring(now))
+            local ttl = 60000
+            if rate > 0 then ttl = math.ceil(capacity / rate) + 1000 end
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            return {allowed, wait}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTokenBucketLimiter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        try {
+            List<?> result = redisTemplate.execute(TAKE, List.of("rate-limit:" + key),
+                    String.valueOf(limit.getCapacity()),
+                    String.valueOf(limit.getRefillPerMinute() / 60_000.0),
+                    String.valueOf(System.currentTimeMillis()));
+            if (result == null || result.size() < 2 || ((Number) result.get(0)).longValue() == 1) {
+                return Decision.ALLOWED;
+            }
+            long waitMs = ((Number) result.get(1)).longValue();
+            return new Decision(false, Math.max(1, (waitMs + 999) / 1000));
+        } catch (RuntimeException e) {
+            logger.warn("Rate limiter store unavailable, allowing request: {}", e.getMessage());
+            return Decision.ALLOWED;
+        }
+    }
+}
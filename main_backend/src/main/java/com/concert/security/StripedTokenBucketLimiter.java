@@ -0,0 +1,82 @@
+package com.concert.security;
+
+import com.concert.config.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory token buckets guarded by a fixed set of striped locks.
+ *
+ * A key hashes to one stripe; the stripe's lock covers only its own small
+ * map of buckets, so unrelated clients rarely contend and a check is a hash,
+ * an uncontended lock and a little arithmetic. Each stripe keeps at most
+ * {@code maxKeysPerStripe} buckets and evicts the least recently used one,
+ * which at worst hands an idle client a fresh, full bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class StripedTokenBucketLimiter implements RateLimiter {
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+    }
+
+    private final Stripe[] stripes;
+
+    public StripedTokenBucketLimiter(RateLimitProperties properties) {
+        int count = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(16, properties.getMaxKeysPerStripe()));
+        }
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        double refillPerNano = limit.getRefillPerMinute() / 60e9;
+        long now = System.nanoTime();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = limit.getCapacity();
+                bucket.lastRefillNanos = now;
+                stripe.put(key, bucket);
+            } else {
+                bucket.tokens = Math.min(limit.getCapacity(),
+                        bucket.tokens + (now - bucket.lastRefillNanos) * refillPerNano);
+                bucket.lastRefillNanos = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return Decision.ALLOWED;
+            }
+            if (refillPerNano <= 0) {
+                return new Decision(false, 60);
+            }
+            long waitNanos = (long) Math.ceil((1 - bucket.tokens) / refillPerNano);
+            return new Decision(false, Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.concert.security;
+
+import com.concert.service.CognitoJwtValidator;
+import com.concert.service.CognitoUserProvisioner;
+import com.concert.service.UserIdentityCache.UserIdentity;
+import com.concert.service.JwtService;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends each bearer token straight to the verifier that issued it.
+ *
+ * The JOSE header and the payload's {@code iss} are decoded once (no signature
+ * work) to pick a route: HMAC-signed tokens are ours and go to {@link JwtService},
+ * RS256 tokens from the configured user pool go to {@link CognitoJwtValidator},
+ * and anything else is rejected without touching either verifier. Cognito
+ * callers are mapped to their local user (provisioned on first sign-in) and
+ * the user id is added to the claims, so later requests need no lookup.
+ */
+@Component
+public class TokenDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDispatcher.class);
+
+    enum Route { LOCAL, COGNITO, UNSUPPORTED }
+
+    private final JwtService jwtService;
+    private final CognitoJwtValidator cognitoJwtValidator;
+    private final CognitoUserProvisioner cognitoUserProvisioner;
+
+    public TokenDispatcher(JwtService jwtService, CognitoJwtValidator cognitoJwtValidator,
+                           CognitoUserProvisioner cognitoUserProvisioner) {
+        this.jwtService = jwtService;
+        this.cognitoJwtValidator = cognitoJwtValidator;
+        this.cognitoUserProvisioner = cognitoUserProvisioner;
+    }
+
+    /**
+     * Verify {@code token} with the verifier chosen from its header.
+     *
+     * @throws IllegalArgumentException if the token is malformed, from an unknown
+     *                                  issuer, or fails verification
+     */
+    public VerifiedToken verify(String token) {
+        return switch (route(token)) {
+            case LOCAL -> verifyLocal(token);
+            case COGNITO -> verifyCognito(token);
+            case UNSUPPORTED -> throw new IllegalArgumentException("Unsupported bearer token");
+        };
+    }
+
+    Route route(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            return Route.UNSUPPORTED;
+        }
+        try {
+            JWSHeader header = JWSHeader.parse(new Base64URL(parts[0]));
+            JWSAlgorithm alg = header.getAlgorithm();
+            if (JWSAlgorithm.Family.HMAC_SHA.contains(alg)) {
+                return Route.LOCAL;
+            }
+            if (JWSAlgorithm.RS256.equals(alg) && header.getKeyID() != null) {
+                Map<String, Object> payload = JSONObjectUtils.parse(new Base64URL(parts[1]).decodeToString());
+                if (cognitoJwtValidator.getIssuer().equals(payload.get("iss"))) {
+                    return Route.COGNITO;
+                }
+            }
+            logger.debug("No verifier for token with alg {} and kid {}", alg, header.getKeyID());
+        } catch (ParseException e) {
+            logger.debug("Unparseable bearer token: {}", e.getMessage());
+        }
+        return Route.UNSUPPORTED;
+    }
+
+    private VerifiedToken verifyLocal(String token) {
+        Claims claims;
+        try {
+            claims = jwtService.verify(token);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid JWT: " + e.getMessage());
+        }
+        if (claims.getExpiration() == null) {
+            throw new IllegalArgumentException("JWT has no expiry");
+        }
+        logger.debug("Validated custom JWT for user: {}", claims.getSubject());
+        return new VerifiedToken(claims.getSubject(), claims, claims.getExpiration().toInstant());
+    }
+
+    private VerifiedToken verifyCognito(String token) {
+        JWTClaimsSet claims = cognitoJwtValidator.validateToken(token);
+        if (claims.getExpirationTime() == null) {
+            throw new IllegalArgumentException("Cognito JWT has no expiry");
+        }
+        UserIdentity user = cognitoUserProvisioner.resolve(claims);
+        logger.debug("Validated Cognito JWT for user: {}", user.username());
+        Map<String, Object> resolved = new HashMap<>(claims.getClaims());
+        resolved.put(JwtService.USER_ID_CLAIM, user.id());
+        return new VerifiedToken(user.username(), resolved, claims.getExpirationTime().toInstant());
+    }
+}
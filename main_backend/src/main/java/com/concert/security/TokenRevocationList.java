@@ -0,0 +1,123 @@
+package com.concert.security;
+
+import com.concert.model.RevokedToken;
+import com.concert.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory view of the revoked access-token deny list.
+ *
+ * A Bloom filter answers the per-request question; almost every token is not
+ * revoked and is cleared by a few bit lookups. Only a filter hit consults the
+ * exact in-memory set, so false positives never reject a valid token. The
+ * list is loaded from {@code revoked_tokens} at startup and synced in the
+ * background to pick up revocations made by other instances; no request ever
+ * queries the database. Expired entries are dropped and the filter rebuilt
+ * during the sync.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile long lastSeenId;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void start() {
+        // Load before serving so a restart never forgets a revocation
+        syncQuietly();
+    }
+
+    /**
+     * Whether the access token with this {@code jti} has been revoked. Never touches the database.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Persist the revocation and apply it locally straight away.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()))
+                    .revokedAt(LocalDateTime.now())
+                    .build());
+        }
+        add(jti, expiresAt);
+    }
+
+    void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> added = revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(lastSeenId, now);
+        for (RevokedToken token : added) {
+            add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            lastSeenId = Math.max(lastSeenId, token.getId());
+        }
+
+        Instant cutoff = Instant.now();
+        if (revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(cutoff))) {
+            rebuild();
+            revokedTokenRepository.deleteExpired(now);
+        }
+    }
+
+    private void add(String jti, Instant expiresAt) {
+        revoked.put(jti, expiresAt);
+        filter.add(jti);
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // A revoke() racing with the swap may have gone into the old filter only
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-seconds:30}",
+            initialDelayString = "${jwt.revocation.sync-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    void syncQuietly() {
+        try {
+            sync();
+        } catch (Exception e) {
+            logger.warn("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+    }
+}
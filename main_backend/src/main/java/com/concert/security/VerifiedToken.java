@@ -0,0 +1,28 @@
+package com.concert.security;
+
+import com.concert.service.JwtService;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Result of verifying a bearer token: who it belongs to, its claims and when it stops being valid.
+ */
+public record VerifiedToken(String username, Map<String, Object> claims, Instant expiresAt) {
+
+    /**
+     * The database id carried in the token, or {@code null} if it has none.
+     */
+    public Long userId() {
+        Object value = claims != null ? claims.get(JwtService.USER_ID_CLAIM) : null;
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    /**
+     * The token's {@code jti}, used to check revocation, or {@code null} if it has none.
+     */
+    public String tokenId() {
+        Object value = claims != null ? claims.get("jti") : null;
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.concert.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Remembers tokens that have already passed signature and expiry checks.
+ *
+ * Entries are keyed by the SHA-256 of the token, so raw tokens are never held
+ * in memory, and each entry expires at the token's own {@code exp}. A repeat
+ * request with the same token costs one hash and one map lookup. Only
+ * successful verifications are cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String key, VerifiedToken token) -> remainingLifetime(token)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    /**
+     * Cached result for {@code token}, or the result of {@code verifier}, which
+     * is called at most once per token while it is cached. Exceptions thrown
+     * by the verifier propagate and nothing is cached.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        VerifiedToken verified = cache.get(digest(token), key -> verifier.apply(token));
+        // An entry can outlive exp by the cache's timer granularity
+        if (verified != null && !verified.expiresAt().isAfter(Instant.now())) {
+            cache.invalidate(digest(token));
+            return null;
+        }
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    private static Duration remainingLifetime(VerifiedToken token) {
+        Duration remaining = Duration.between(Instant.now(), token.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
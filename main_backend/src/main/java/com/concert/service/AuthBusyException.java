@@ -0,0 +1,15 @@
+package com.concert.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the password hashing pool is saturated. Clients should retry shortly.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AuthBusyException extends RuntimeException {
+
+    public AuthBusyException(String message) {
+        super(message);
+    }
+}
@@ -6,8 +6,10 @@ import com.concert.dto.RegisterRequest;
 import com.concert.dto.UserProfileResponse;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -16,19 +18,38 @@ import java.util.Optional;
 public class AuthService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
     
     // Constructor for dependency injection
     public AuthService(UserRepository userRepository, 
-                      PasswordEncoder passwordEncoder, 
-                      JwtService jwtService) {
+                      PasswordHashingService passwordHashingService, 
+                      JwtService jwtService,
+                      LoginThrottle loginThrottle,
+                      RefreshTokenService refreshTokenService,
+                      TokenRevocationList tokenRevocationList) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
+        this.loginThrottle = loginThrottle;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationList = tokenRevocationList;
     }
     
     public AuthResponse register(RegisterRequest registerRequest) {
+        return register(registerRequest, null);
+    }
+
+    /**
+     * Register a new account. {@code clientIp} may be {@code null}, in which case
+     * no per-IP limit applies.
+     */
+    public AuthResponse register(RegisterRequest registerRequest, String clientIp) {
+        loginThrottle.checkIp(clientIp);
+
         // Check if username already exists
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
             return new AuthResponse("Username is already taken!");
@@ -43,7 +64,7 @@ public class AuthService {
         User user = new User(
             registerRequest.getUsername(), // This will be the name
             registerRequest.getEmail(),
-            passwordEncoder.encode(registerRequest.getPassword())
+            passwordHashingService.encode(registerRequest.getPassword())
         );
         
         // Set username if provided
@@ -51,32 +72,76 @@ public class AuthService {
         
         User savedUser = userRepository.save(user);
         
-        // Generate JWT token
-        String jwt = jwtService.generateToken(savedUser.getUsername());
-        
-        return new AuthResponse(jwt, savedUser.getUsername(), savedUser.getEmail());
+        return issueTokens(savedUser, refreshTokenService.issue(savedUser.getId()));
     }
     
     public AuthResponse login(LoginRequest loginRequest) {
+        return login(loginRequest, null);
+    }
+
+    /**
+     * Check credentials and issue a token. Throttled per {@code clientIp} (if known)
+     * and per account before any password hashing is done.
+     */
+    public AuthResponse login(LoginRequest loginRequest, String clientIp) {
+        String account = loginRequest.getUsernameOrEmail();
+        loginThrottle.checkIp(clientIp);
+        loginThrottle.checkAccount(account);
+
         Optional<User> userOptional = userRepository.findByUsernameOrEmail(
             loginRequest.getUsernameOrEmail(),
             loginRequest.getUsernameOrEmail()
         );
         
         if (userOptional.isEmpty()) {
+            loginThrottle.recordFailure(account);
             return new AuthResponse("Invalid username/email or password!");
         }
         
         User user = userOptional.get();
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())) {
+            loginThrottle.recordFailure(account);
             return new AuthResponse("Invalid username/email or password!");
         }
+        loginThrottle.recordSuccess(account);
         
-        // Generate JWT token
-        String jwt = jwtService.generateToken(user.getUsername());
-        
-        return new AuthResponse(jwt, user.getUsername(), user.getEmail());
+        return issueTokens(user, refreshTokenService.issue(user.getId()));
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     *
+     * @throws IllegalArgumentException if the refresh token is invalid, expired or already used
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        return issueTokens(user, rotation.refreshToken());
+    }
+
+    /**
+     * Revoke the given access token (if still valid) and refresh token (if any).
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtService.verify(accessToken);
+                tokenRevocationList.revoke(claims.getId(), claims.getExpiration().toInstant());
+            } catch (JwtException e) {
+                // Already expired or not ours: nothing to revoke
+            }
+        }
+        refreshTokenService.revoke(refreshToken);
+    }
+
+    private AuthResponse issueTokens(User user, String refreshToken) {
+        String jwt = jwtService.generateToken(user.getUsername(), user.getId());
+        AuthResponse response = new AuthResponse(jwt, user.getUsername(), user.getEmail());
+        response.setRefreshToken(refreshToken);
+        response.setExpiresIn(jwtService.getAccessTokenTtlMs() / 1000);
+        return response;
     }
     
     public AuthResponse getCurrentUser(String username) {
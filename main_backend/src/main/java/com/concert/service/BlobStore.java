@@ -0,0 +1,68 @@
+package com.concert.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage for uploaded photos, addressed by bucket and key.
+ *
+ * Keys are never rewritten in place: a new upload always gets a new key, so
+ * implementations may tell clients to cache stored objects indefinitely.
+ *
+ * Request handlers use the async methods so they never hold a servlet thread
+ * while storage is working. The defaults simply run the blocking call, which
+ * is fine for stores backed by local disk.
+ */
+public interface BlobStore {
+
+    void put(String bucket, String key, InputStream content, long contentLength,
+             String contentType, Map<String, String> metadata) throws IOException;
+
+    boolean exists(String bucket, String key);
+
+    /**
+     * Open the stored object for reading; the caller closes the stream.
+     * Returns null when the object does not exist.
+     */
+    InputStream open(String bucket, String key) throws IOException;
+
+    void delete(String bucket, String key);
+
+    /**
+     * URL clients should use to download the object.
+     */
+    String url(String bucket, String key);
+
+    /**
+     * Store the object without blocking the caller. Takes ownership of
+     * {@code content} and closes it once the upload has finished.
+     */
+    default CompletableFuture<Void> putAsync(String bucket, String key, InputStream content, long contentLength,
+                                             String contentType, Map<String, String> metadata) {
+        try (content) {
+            put(bucket, key, content, contentLength, contentType, metadata);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Boolean> existsAsync(String bucket, String key) {
+        try {
+            return CompletableFuture.completedFuture(exists(bucket, key));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Void> deleteAsync(String bucket, String key) {
+        try {
+            delete(bucket, key);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -2,33 +2,43 @@ package com.concert.service;
 
 import com.concert.dto.BookingResponse;
 import com.concert.dto.CreateBookingRequest;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.EventCancelledEvent;
 import com.concert.model.Booking;
+import com.concert.model.Event;
 import com.concert.model.User;
 import com.concert.repository.BookingRepository;
-import com.concert.repository.UserRepository;
+import com.concert.repository.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final DomainEventOutbox outbox;
 
     @Autowired
-    public BookingService(BookingRepository bookingRepository, UserRepository userRepository) {
+    public BookingService(BookingRepository bookingRepository, EventRepository eventRepository,
+                          UserIdentityCache userIdentityCache, DomainEventOutbox outbox) {
         this.bookingRepository = bookingRepository;
-        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.outbox = outbox;
     }
 
     @Transactional
     public BookingResponse createBooking(String username, CreateBookingRequest request) {
-        User user = userRepository.findByUsername(username)
+        User user = userIdentityCache.findUser(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Calculate total price
@@ -48,12 +58,15 @@ public class BookingService {
         booking.setBookingDate(LocalDateTime.now());
 
         booking = bookingRepository.save(booking);
+        // Recorded with the booking, so a rolled-back booking never notifies anyone
+        outbox.record(new BookingConfirmedEvent(booking.getId(), user.getId(), booking.getEventId(),
+                booking.getEventTitle(), booking.getEventStartDate(), booking.getQuantity()));
 
         return toResponse(booking);
     }
 
     public List<BookingResponse> getUserBookings(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = userIdentityCache.findUser(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         return bookingRepository.findByUserIdOrderByBookingDateDesc(user.getId())
@@ -83,17 +96,52 @@ public class BookingService {
             throw new RuntimeException("Unauthorized access to booking");
         }
 
+        boolean wasActive = !"CANCELLED".equals(booking.getStatus());
         booking.setStatus("CANCELLED");
         bookingRepository.save(booking);
+        if (wasActive) {
+            outbox.record(new BookingCancelledEvent(booking.getId(), booking.getUser().getId(),
+                    booking.getEventId(), booking.getEventTitle()));
+        }
     }
 
+    /**
+     * Cancel every booking of one of the caller's events.
+     */
     @Transactional
-    public void cancelAllBookingsForEvent(String eventId) {
-        List<Booking> bookings = bookingRepository.findByEventId(eventId);
-        for (Booking booking : bookings) {
-            booking.setStatus("CANCELLED");
+    public int cancelAllBookingsForEvent(String eventId, String username) {
+        User user = userIdentityCache.findUser(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Event event = parseEventId(eventId)
+                .flatMap(eventRepository::findById)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (event.getOrganizer() == null || !event.getOrganizer().getId().equals(user.getId())) {
+            throw new RuntimeException("Only the event organizer can cancel its bookings");
+        }
+        return cancelEventBookings(eventId, event.getTitle());
+    }
+
+    /**
+     * Cancel every active booking of the event in one statement and notify the
+     * attendees with a single event; the caller has checked it may do so.
+     * Returns the number of bookings cancelled.
+     */
+    @Transactional
+    public int cancelEventBookings(String eventId, String eventTitle) {
+        List<Long> attendeeIds = bookingRepository.findActiveAttendeeIds(eventId);
+        int cancelled = bookingRepository.cancelActiveByEventId(eventId);
+        if (cancelled > 0 && !attendeeIds.isEmpty()) {
+            outbox.record(new EventCancelledEvent(eventId, eventTitle, attendeeIds));
+        }
+        return cancelled;
+    }
+
+    private static Optional<Long> parseEventId(String eventId) {
+        try {
+            return Optional.of(Long.valueOf(eventId));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
         }
-        bookingRepository.saveAll(bookings);
     }
 
     private BookingResponse toResponse(Booking booking) {
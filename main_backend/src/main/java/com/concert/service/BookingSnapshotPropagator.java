@@ -0,0 +1,176 @@
+package com.concert.service;
+
+import com.concert.config.BookingSnapshotProperties;
+import com.concert.events.BookingSnapshotsUpdatedEvent;
+import com.concert.events.EventUpdatedEvent;
+import com.concert.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies event edits into the title, location and start date each booking
+ * keeps, so booking reads stay join-free and still show the current event.
+ *
+ * The organizer's update only records an {@link EventUpdatedEvent}; here the
+ * event's bookings are walked by id along the {@code event_id} index and
+ * rewritten a chunk at a time with one set-based update per chunk, each in
+ * its own short transaction. Edits to an event that arrive before its
+ * bookings are done are coalesced, and the latest values win. A run that
+ * fails is queued again after a backoff that doubles per failure, unless a
+ * newer edit has been queued in the meantime; rewriting is idempotent, so a
+ * partly done run is simply repeated. Once an event's bookings are all up to
+ * date a {@link BookingSnapshotsUpdatedEvent} is published.
+ */
+@Component
+public class BookingSnapshotPropagator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingSnapshotPropagator.class);
+
+    private final BookingRepository bookingRepository;
+    private final BookingSnapshotProperties properties;
+    private final Counter updated;
+    private final Counter failed;
+    private final Map<String, EventUpdatedEvent> pending = new ConcurrentHashMap<>();
+    // Consecutive failures per event, for the retry backoff
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final ExecutorService executor;
+
+    public BookingSnapshotPropagator(BookingRepository bookingRepository,
+                                     BookingSnapshotProperties properties,
+                                     ApplicationEventPublisher eventPublisher,
+                                     TaskScheduler taskScheduler,
+                                     MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.updated = meterRegistry.counter("bookings.snapshots.updated");
+        this.failed = meterRegistry.counter("bookings.snapshots.failed");
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener
+    public void onEventUpdated(EventUpdatedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // A run already queued for this event picks up the newer values
+        if (pending.put(event.eventId(), event) != null) {
+            return;
+        }
+        execute(event.eventId());
+    }
+
+    /**
+     * Rewrite the snapshot on every booking of the event; returns the bookings updated.
+     */
+    int propagate(EventUpdatedEvent event) throws InterruptedException {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = bookingRepository.findIdsByEventIdAfter(event.eventId(), afterId,
+                    PageRequest.ofSize(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int changed = bookingRepository.updateEventSnapshot(ids, event.title(), event.location(),
+                    event.startDate());
+            total += changed;
+            updated.increment(changed);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            TimeUnit.MILLISECONDS.sleep(properties.getPauseMs());
+        }
+        return total;
+    }
+
+    /**
+     * Delay before the next attempt after {@code failureCount} consecutive failures.
+     */
+    Duration retryDelay(int failureCount) {
+        long initial = Math.max(1, properties.getRetryInitialSeconds());
+        long max = Math.max(initial, properties.getRetryMaxSeconds());
+        // Stop doubling well before the shift overflows
+        long delay = initial << Math.min(failureCount - 1, 20);
+        return Duration.ofSeconds(Math.min(delay, max));
+    }
+
+    void propagateQuietly(String eventId) {
+        EventUpdatedEvent event = pending.remove(eventId);
+        if (event == null) {
+            return;
+        }
+        try {
+            int total = propagate(event);
+            failures.remove(eventId);
+            logger.debug("Updated the event snapshot on {} bookings of event {}", total, eventId);
+            if (!pending.containsKey(eventId)) {
+                eventPublisher.publishEvent(new BookingSnapshotsUpdatedEvent(eventId, event.startDate()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failed.increment();
+            retryLater(event, e);
+        }
+    }
+
+    private void retryLater(EventUpdatedEvent event, Exception cause) {
+        String eventId = event.eventId();
+        int failureCount = failures.merge(eventId, 1, Integer::sum);
+        // A newer edit queued meanwhile has its own run and supersedes this one
+        if (pending.putIfAbsent(eventId, event) != null) {
+            return;
+        }
+        Duration delay = retryDelay(failureCount);
+        logger.warn("Booking snapshot update for event {} failed ({} in a row), retrying in {}s: {}",
+                eventId, failureCount, delay.toSeconds(), cause.getMessage());
+        try {
+            taskScheduler.schedule(() -> execute(eventId), Instant.now().plus(delay));
+        } catch (RejectedExecutionException e) {
+            pending.remove(eventId);
+            logger.debug("Booking snapshot propagation is shut down, dropping retry for event {}", eventId);
+        }
+    }
+
+    private void execute(String eventId) {
+        try {
+            executor.execute(() -> propagateQuietly(eventId));
+        } catch (RejectedExecutionException e) {
+            pending.remove(eventId);
+            logger.debug("Booking snapshot propagation is shut down, ignoring update to event {}", eventId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
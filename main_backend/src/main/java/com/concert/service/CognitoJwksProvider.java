@@ -0,0 +1,166 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Holds the user pool's signing keys in memory so Cognito verification never
+ * waits on the network in the common case.
+ *
+ * Keys are fetched in the background at startup and on a fixed interval. A
+ * token signed with a key we have not seen (rotation) triggers one
+ * rate-limited refresh that concurrent requests share. When a refresh fails
+ * the previous keys stay in use (stale-while-revalidate) until the next
+ * attempt succeeds. With {@code aws.cognito.jwks-file} set, keys are loaded
+ * once from that file and the endpoint is never contacted.
+ */
+@Component
+public class CognitoJwksProvider implements JWKSource<SecurityContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CognitoJwksProvider.class);
+
+    private static final int JWKS_SIZE_LIMIT = 64 * 1024;
+
+    private final AwsProperties.CognitoProperties cognito;
+    // On-demand fetches run off the shared scheduler so a slow endpoint cannot stall other jobs
+    private final Executor fetcher = runnable -> Thread.ofVirtual().name("cognito-jwks-refresh").start(runnable);
+
+    private volatile JWKSet keys = new JWKSet();
+    private volatile Instant lastAttempt = Instant.EPOCH;
+    private CompletableFuture<JWKSet> inFlight;
+
+    public CognitoJwksProvider(AwsProperties awsProperties) {
+        this.cognito = awsProperties.getCognito();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (isLocal()) {
+            keys = loadLocal();
+            logger.info("Loaded {} Cognito signing keys from {}", keys.size(), cognito.getJwksFile());
+        }
+    }
+
+    public String getIssuer() {
+        return String.format("https://cognito-idp.%s.amazonaws.com/%s", cognito.getRegion(), cognito.getUserPoolId());
+    }
+
+    public JWKSet getKeys() {
+        return keys;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        List<JWK> matches = jwkSelector.select(keys);
+        if (!matches.isEmpty() || isLocal()) {
+            return matches;
+        }
+        // Unknown kid: the pool may have rotated keys since the last refresh
+        CompletableFuture<JWKSet> refresh = refreshIfAllowed();
+        if (refresh == null) {
+            return matches;
+        }
+        try {
+            return jwkSelector.select(refresh.get(cognito.getJwksFetchTimeoutMs(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            throw new KeySourceException("Timed out fetching Cognito JWKS");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeySourceException("Interrupted while fetching Cognito JWKS", e);
+        } catch (Exception e) {
+            // Keep serving the keys we already have
+            return matches;
+        }
+    }
+
+    /**
+     * Start a refresh unless one is running or the last attempt was too recent.
+     *
+     * @return the refresh to wait on, or {@code null} if none is allowed right now
+     */
+    synchronized CompletableFuture<JWKSet> refreshIfAllowed() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        Instant now = Instant.now();
+        if (lastAttempt.plusSeconds(cognito.getJwksMinRefreshIntervalSeconds()).isAfter(now)) {
+            return null;
+        }
+        lastAttempt = now;
+        CompletableFuture<JWKSet> refresh = CompletableFuture.supplyAsync(this::fetchRemote, fetcher);
+        inFlight = refresh;
+        refresh.whenComplete((result, error) -> {
+            synchronized (this) {
+                inFlight = null;
+            }
+            if (error != null) {
+                logger.warn("Failed to refresh Cognito JWKS, keeping {} cached keys: {}",
+                        keys.size(), error.getMessage());
+            }
+        });
+        return refresh;
+    }
+
+    /**
+     * Runs once at startup, without holding it up (requests before it lands fall
+     * back to an on-demand fetch), and then on the refresh interval.
+     */
+    @Scheduled(fixedDelayString = "${aws.cognito.jwks-refresh-interval-seconds:3600}", timeUnit = TimeUnit.SECONDS)
+    synchronized void refreshQuietly() {
+        if (isLocal()) {
+            return;
+        }
+        // Periodic refreshes bypass the unknown-kid rate limit; failures are logged by refreshIfAllowed
+        lastAttempt = Instant.EPOCH;
+        refreshIfAllowed();
+    }
+
+    JWKSet fetchRemote() {
+        try {
+            int timeout = cognito.getJwksFetchTimeoutMs();
+            JWKSet fetched = JWKSet.load(URI.create(getIssuer() + "/.well-known/jwks.json").toURL(),
+                    timeout, timeout, JWKS_SIZE_LIMIT);
+            keys = fetched;
+            logger.debug("Refreshed Cognito JWKS with {} keys", fetched.size());
+            return fetched;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not fetch Cognito JWKS: " + e.getMessage(), e);
+        }
+    }
+
+    private JWKSet loadLocal() {
+        Resource resource = new DefaultResourceLoader().getResource(cognito.getJwksFile());
+        try (InputStream in = resource.getInputStream()) {
+            return JWKSet.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException | java.text.ParseException e) {
+            throw new IllegalStateException("Could not load JWKS from " + cognito.getJwksFile(), e);
+        }
+    }
+
+    private boolean isLocal() {
+        return cognito.getJwksFile() != null && !cognito.getJwksFile().isBlank();
+    }
+}
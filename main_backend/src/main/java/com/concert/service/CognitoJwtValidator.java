@@ -1,40 +1,43 @@
 package com.concert.service;
 
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
 import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
+import java.util.Set;
 
 @Service
 public class CognitoJwtValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(CognitoJwtValidator.class);
-    
-    @Value("${aws.cognito.user-pool-id:us-east-1_nTZpyinXc}")
-    private String userPoolId;
-    
-    @Value("${aws.cognito.region:us-east-1}")
-    private String region;
-    
-    private ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+
+    private final CognitoJwksProvider jwksProvider;
+
+    // Built once up front; DefaultJWTProcessor is safe to share between threads
+    private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+
+    public CognitoJwtValidator(CognitoJwksProvider jwksProvider) {
+        this.jwksProvider = jwksProvider;
+
+        JWSKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwksProvider);
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(keySelector);
+        processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+                new JWTClaimsSet.Builder().issuer(jwksProvider.getIssuer()).build(),
+                Set.of("sub", "exp")));
+        this.jwtProcessor = processor;
+    }
     
     public JWTClaimsSet validateToken(String token) {
         try {
-            if (jwtProcessor == null) {
-                initializeJwtProcessor();
-            }
-            
             // Validate and parse the JWT
             JWTClaimsSet claims = jwtProcessor.process(token, null);
             
@@ -48,42 +51,26 @@ public class CognitoJwtValidator {
             return claims;
             
         } catch (Exception e) {
-            logger.error("Failed to validate Cognito JWT", e);
+            // Rejected tokens are routine under load; keep the stack trace out of the logs
+            logger.debug("Failed to validate Cognito JWT: {}", e.getMessage());
             throw new IllegalArgumentException("Invalid Cognito JWT token", e);
         }
     }
-    
-    private void initializeJwtProcessor() throws Exception {
-        String jwksUrl = String.format(
-            "https://cognito-idp.%s.amazonaws.com/%s/.well-known/jwks.json",
-            region, userPoolId
-        );
-        
-        @SuppressWarnings("deprecation")
-        JWKSource<SecurityContext> keySource = new RemoteJWKSet<>(new URL(jwksUrl));
-        JWSAlgorithm expectedJWSAlg = JWSAlgorithm.RS256;
-        JWSKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(expectedJWSAlg, keySource);
-        
-        jwtProcessor = new DefaultJWTProcessor<>();
-        jwtProcessor.setJWSKeySelector(keySelector);
-        
-        logger.info("Initialized Cognito JWT processor with pool: {}", userPoolId);
+
+    /**
+     * The {@code iss} claim carried by tokens from the configured user pool.
+     */
+    public String getIssuer() {
+        return jwksProvider.getIssuer();
     }
     
     public String getUsernameFromToken(String token) {
-        JWTClaimsSet claims = validateToken(token);
-        // Cognito username is in 'cognito:username' claim
-        try {
-            return claims.getStringClaim("cognito:username");
-        } catch (Exception e) {
-            // Fallback to email or sub
-            try {
-                String email = claims.getStringClaim("email");
-                return email != null ? email : claims.getSubject();
-            } catch (Exception ex) {
-                return claims.getSubject();
-            }
-        }
+        return getUsernameFromClaims(validateToken(token));
+    }
+
+    public String getUsernameFromClaims(JWTClaimsSet claims) {
+        // ID tokens carry 'cognito:username', access tokens 'username'; fall back to email, then sub
+        return CognitoUserProvisioner.preferredUsername(claims, claims.getSubject());
     }
     
     public String getEmailFromToken(String token) {
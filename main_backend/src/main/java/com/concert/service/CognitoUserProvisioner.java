@@ -0,0 +1,164 @@
+package com.concert.service;
+
+import com.concert.model.User;
+import com.concert.repository.UserRepository;
+import com.concert.service.UserIdentityCache.UserIdentity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maps a Cognito identity ({@code sub}) to the local user, creating the user on first sign-in.
+ *
+ * The {@code sub} is the only stable Cognito identifier, so it is what the
+ * local row is keyed on. Resolved mappings are cached, so a returning caller
+ * costs no query at all and a cache miss costs one indexed lookup on
+ * {@code cognito_sub}. On first sight the caller is linked to an existing
+ * account with the same verified email, or a new account is created.
+ */
+@Service
+public class CognitoUserProvisioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CognitoUserProvisioner.class);
+
+    // Stored in place of a password hash; never matches, so these accounts cannot sign in locally
+    static final String NO_LOCAL_PASSWORD = "{cognito}";
+
+    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
+    private final Cache<String, UserIdentity> bySub;
+    private final Counter created;
+    private final Counter linked;
+
+    public CognitoUserProvisioner(UserRepository userRepository,
+                                  UserIdentityCache userIdentityCache,
+                                  @Value("${app.user-identity-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.user-identity-cache.ttl-seconds:600}") long ttlSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userIdentityCache = userIdentityCache;
+        this.bySub = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bySub, "cognitoUsers");
+        this.created = meterRegistry.counter("auth.cognito.users", "outcome", "created");
+        this.linked = meterRegistry.counter("auth.cognito.users", "outcome", "linked");
+    }
+
+    /**
+     * The local user for a verified Cognito token, provisioning it if needed.
+     */
+    public UserIdentity resolve(JWTClaimsSet claims) {
+        String sub = claims.getSubject();
+        if (sub == null) {
+            throw new IllegalArgumentException("Cognito token has no subject");
+        }
+        return bySub.get(sub, key -> load(key, claims));
+    }
+
+    public void invalidate(String sub) {
+        bySub.invalidate(sub);
+    }
+
+    private UserIdentity load(String sub, JWTClaimsSet claims) {
+        Optional<User> existing = userRepository.findByCognitoSub(sub);
+        if (existing.isPresent()) {
+            return remember(existing.get());
+        }
+        try {
+            return remember(provision(sub, claims));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first request for the same sub won the insert
+            return userRepository.findByCognitoSub(sub)
+                    .map(this::remember)
+                    .orElseThrow(() -> new IllegalStateException("Could not provision Cognito user " + sub, e));
+        }
+    }
+
+    private User provision(String sub, JWTClaimsSet claims) {
+        String email = stringClaim(claims, "email");
+        // Only a verified email is proof enough to attach a Cognito identity to an existing account
+        if (email != null && Boolean.TRUE.equals(booleanClaim(claims, "email_verified"))) {
+            Optional<User> byEmail = userRepository.findByEmail(email);
+            if (byEmail.isPresent() && byEmail.get().getCognitoSub() == null) {
+                User user = byEmail.get();
+                user.setCognitoSub(sub);
+                User saved = userRepository.save(user);
+                linked.increment();
+                logger.info("Linked Cognito identity {} to existing user {}", sub, saved.getId());
+                return saved;
+            }
+        }
+
+        String username = availableUsername(preferredUsername(claims, sub), sub);
+        User user = new User(username, username,
+                email != null && !userRepository.existsByEmail(email) ? email : sub + "@users.cognito.invalid",
+                NO_LOCAL_PASSWORD + UUID.randomUUID());
+        user.setCognitoSub(sub);
+        User saved = userRepository.save(user);
+        created.increment();
+        logger.info("Provisioned user {} for Cognito identity {}", saved.getId(), sub);
+        return saved;
+    }
+
+    private String availableUsername(String preferred, String sub) {
+        if (!userRepository.existsByUsername(preferred)) {
+            return preferred;
+        }
+        // A local account already has this name; keep it recognisable but unique
+        String suffixed = preferred + "-" + sub.substring(0, Math.min(8, sub.length()));
+        if (!userRepository.existsByUsername(suffixed)) {
+            return suffixed;
+        }
+        // The sub is unique per pool, so it is always free for this identity
+        return sub;
+    }
+
+    private UserIdentity remember(User user) {
+        userIdentityCache.remember(user);
+        return new UserIdentity(user.getId(), user.getUsername(), user.getName(), user.getEmail());
+    }
+
+    static String preferredUsername(JWTClaimsSet claims, String sub) {
+        // ID tokens carry cognito:username, access tokens carry username
+        for (String claim : new String[]{"cognito:username", "username", "email"}) {
+            String value = stringClaim(claims, claim);
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return sub;
+    }
+
+    private static String stringClaim(JWTClaimsSet claims, String name) {
+        try {
+            return claims.getStringClaim(name);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static Boolean booleanClaim(JWTClaimsSet claims, String name) {
+        try {
+            return claims.getBooleanClaim(name);
+        } catch (ParseException e) {
+            // Some pools send the flag as a string
+            return "true".equalsIgnoreCase(String.valueOf(claims.getClaim(name)));
+        }
+    }
+}
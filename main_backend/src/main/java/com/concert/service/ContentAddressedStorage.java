@@ -0,0 +1,262 @@
+package com.concert.service;
+
+import com.concert.config.StorageProperties;
+import com.concert.model.PendingUpload;
+import com.concert.model.StoredBlob;
+import com.concert.repository.PendingUploadRepository;
+import com.concert.repository.StoredBlobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deduplicates uploaded images by content.
+ *
+ * The spooled upload is hashed before anything is sent; if a referenced copy
+ * with the same SHA-256 already exists, its key is reused and the PUT is
+ * skipped. Each reference is counted in {@link StoredBlob} and the object
+ * (with its variants) is deleted when the last one is released.
+ *
+ * New copies get a random suffix after the hash, so an upload racing with
+ * the deletion of an identical, just-released copy can never have its
+ * object deleted from under it.
+ *
+ * Uploads made before their owner exists keep their reference in a
+ * {@link PendingUpload} until the owner {@link #claim}s the key; whatever is
+ * still unclaimed after {@code app.storage.pending-upload-hours} is released.
+ */
+@Service
+public class ContentAddressedStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedStorage.class);
+
+    private static final int SWEEP_CHUNK = 500;
+
+    private final BlobStore blobStore;
+    private final StoredBlobRepository storedBlobRepository;
+    private final PendingUploadRepository pendingUploadRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final StorageProperties storageProperties;
+    private final ExecutorService hashExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ContentAddressedStorage(BlobStore blobStore,
+                                   StoredBlobRepository storedBlobRepository,
+                                   PendingUploadRepository pendingUploadRepository,
+                                   ImageDerivativeService imageDerivativeService,
+                                   StorageProperties storageProperties) {
+        this.blobStore = blobStore;
+        this.storedBlobRepository = storedBlobRepository;
+        this.pendingUploadRepository = pendingUploadRepository;
+        this.imageDerivativeService = imageDerivativeService;
+        this.storageProperties = storageProperties;
+    }
+
+    /**
+     * Stored key and whether an existing copy was reused.
+     */
+    public record StoredObject(String key, boolean reused) {
+    }
+
+    /**
+     * Store {@code file} under {@code prefix}, or take a reference to an
+     * identical copy that is already stored. The caller owns one reference
+     * to the returned key and must {@link #release} it when done.
+     */
+    public CompletableFuture<StoredObject> store(String bucket, String prefix, MultipartFile file) {
+        return CompletableFuture.supplyAsync(() -> sha256(file), hashExecutor)
+                .thenCompose(hash -> {
+                    String existingKey = acquireExisting(bucket, hash);
+                    if (existingKey != null) {
+                        return CompletableFuture.completedFuture(new StoredObject(existingKey, true));
+                    }
+
+                    String key = prefix + hash + "-" + UUID.randomUUID().toString().substring(0, 8)
+                            + extension(file.getOriginalFilename());
+                    InputStream content;
+                    try {
+                        content = file.getInputStream();
+                    } catch (IOException e) {
+                        return CompletableFuture.failedFuture(new UncheckedIOException(e));
+                    }
+                    return blobStore.putAsync(bucket, key, content, file.getSize(), file.getContentType(),
+                                    Map.of("sha256", hash))
+                            .thenApply(stored -> {
+                                storedBlobRepository.save(StoredBlob.builder()
+                                        .bucket(bucket)
+                                        .contentHash(hash)
+                                        .objectKey(key)
+                                        .sizeBytes(file.getSize())
+                                        .refCount(1)
+                                        .createdAt(LocalDateTime.now())
+                                        .build());
+                                return new StoredObject(key, false);
+                            });
+                });
+    }
+
+    /**
+     * Store {@code file} like {@link #store}, but with the reference held by a
+     * pending upload until an owner {@link #claim}s the key.
+     */
+    public CompletableFuture<StoredObject> storePending(String bucket, String prefix, MultipartFile file) {
+        return store(bucket, prefix, file).thenApply(stored -> {
+            try {
+                pendingUploadRepository.save(PendingUpload.builder()
+                        .bucket(bucket)
+                        .objectKey(stored.key())
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            } catch (RuntimeException e) {
+                release(bucket, stored.key());
+                throw e;
+            }
+            return stored;
+        });
+    }
+
+    /**
+     * Take a reference to {@code key} for a new owner: the one held by a
+     * pending upload of it if there is one, otherwise a new one. Returns false
+     * if nothing under the key is referenced any more, so it may be gone.
+     */
+    @Transactional
+    public boolean claim(String bucket, String key) {
+        for (PendingUpload upload : pendingUploadRepository.findByBucketAndObjectKey(bucket, key)) {
+            if (pendingUploadRepository.take(upload.getId()) == 1) {
+                return true;
+            }
+        }
+        StoredBlob blob = storedBlobRepository.findFirstByBucketAndObjectKey(bucket, key).orElse(null);
+        return blob != null && storedBlobRepository.acquire(blob.getId()) == 1;
+    }
+
+    /**
+     * Release the references of uploads nobody claimed in time; returns how many were released.
+     */
+    int releaseUnclaimed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(storageProperties.getPendingUploadHours());
+        int released = 0;
+        List<PendingUpload> expired;
+        do {
+            expired = pendingUploadRepository.findCreatedBefore(cutoff, PageRequest.ofSize(SWEEP_CHUNK));
+            for (PendingUpload upload : expired) {
+                // A claim that got there first now owns the reference
+                if (pendingUploadRepository.take(upload.getId()) == 1) {
+                    release(upload.getBucket(), upload.getObjectKey());
+                    released++;
+                }
+            }
+        } while (expired.size() == SWEEP_CHUNK);
+        return released;
+    }
+
+    @Scheduled(fixedDelay = 60, initialDelay = 60, timeUnit = TimeUnit.MINUTES)
+    void releaseUnclaimedQuietly() {
+        try {
+            int released = releaseUnclaimed();
+            if (released > 0) {
+                logger.info("Released {} unclaimed uploads", released);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to release unclaimed uploads: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop one reference to {@code key}; the object and its variants are
+     * deleted after commit once nothing references it. Keys stored before
+     * deduplication have no record and belong to a single owner, so they are
+     * deleted straight away.
+     */
+    @Transactional
+    public void release(String bucket, String key) {
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        StoredBlob blob = storedBlobRepository.findFirstByBucketAndObjectKey(bucket, key).orElse(null);
+        if (blob == null) {
+            runAfterCommit(() -> imageDerivativeService.deleteWithVariants(bucket, key));
+            return;
+        }
+        if (storedBlobRepository.release(blob.getId()) == 1
+                && storedBlobRepository.deleteIfUnreferenced(blob.getId()) == 1) {
+            runAfterCommit(() -> imageDerivativeService.deleteWithVariants(bucket, key));
+        }
+    }
+
+    private String acquireExisting(String bucket, String hash) {
+        for (StoredBlob candidate : storedBlobRepository.findByBucketAndContentHashAndRefCountGreaterThan(bucket, hash, 0)) {
+            if (storedBlobRepository.acquire(candidate.getId()) == 1) {
+                return candidate.getObjectKey();
+            }
+        }
+        return null;
+    }
+
+    static String sha256(MultipartFile file) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read upload", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        String extension = filename.substring(filename.lastIndexOf('.')).toLowerCase();
+        return extension.matches("\\.[a-z0-9]{1,5}") ? extension : "";
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+}
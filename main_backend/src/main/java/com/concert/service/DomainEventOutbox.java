@@ -0,0 +1,94 @@
+package com.concert.service;
+
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.EventCancelledEvent;
+import com.concert.events.EventDeletedEvent;
+import com.concert.events.EventRescheduledEvent;
+import com.concert.events.EventUpdatedEvent;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.model.OutboxEvent;
+import com.concert.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Records domain events in the outbox table as part of the caller's transaction.
+ *
+ * The event is committed or rolled back together with the change it
+ * describes, and costs the writer one insert however many listeners there
+ * are; the {@link OutboxRelay} delivers it once the transaction has committed.
+ */
+@Component
+public class DomainEventOutbox {
+
+    // Only these types are written and read back; the relay never loads arbitrary class names
+    private static final Map<String, Class<?>> EVENT_TYPES = Stream.of(
+                    BookingConfirmedEvent.class,
+                    BookingCancelledEvent.class,
+                    EventCancelledEvent.class,
+                    EventUpdatedEvent.class,
+                    EventRescheduledEvent.class,
+                    EventDeletedEvent.class,
+                    NotificationsChangedEvent.class)
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+
+    public DomainEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+                             OutboxRelay relay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.relay = relay;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Object event) {
+        String type = event.getClass().getSimpleName();
+        if (EVENT_TYPES.get(type) != event.getClass()) {
+            throw new IllegalArgumentException("Not a registered domain event: " + event.getClass().getName());
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.wake();
+                }
+            });
+        } else {
+            relay.wake();
+        }
+    }
+
+    /**
+     * The event class stored under {@code type}, or {@code null} if it is not a registered event.
+     */
+    static Class<?> eventClass(String type) {
+        return EVENT_TYPES.get(type);
+    }
+}
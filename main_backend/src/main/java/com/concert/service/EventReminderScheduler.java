@@ -0,0 +1,351 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.config.OutboxProperties;
+import com.concert.dto.BookingReminderTarget;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingSnapshotsUpdatedEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.EventCancelledEvent;
+import com.concert.events.EventDeletedEvent;
+import com.concert.events.EventRescheduledEvent;
+import com.concert.model.NotificationType;
+import com.concert.repository.BookingRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends "starts in 24 hours / 1 hour" reminders for booked events.
+ *
+ * Only reminders due within the lookahead window are held, in a hierarchical
+ * {@link TimingWheel}. The window is filled by range scans on the bookings'
+ * {@code event_start_date} index, one per lead time, and extended every few
+ * minutes; on startup it is rebuilt the same way from the current time, so
+ * reminders that fell due while the application was down are not sent late.
+ * Bookings, cancellations, reschedules and deletions adjust the wheel as they commit.
+ * Bookings' start dates are brought up to date in the background after a
+ * reschedule, so until that has succeeded (however many retries it takes)
+ * scans use the new start date held here instead.
+ * Reminders falling due in the same tick are grouped per event and handed to
+ * the {@link NotificationDispatcher} as one batched delivery.
+ *
+ * Listeners only queue their changes; the tick applies them before advancing
+ * the wheel, so all other state is only touched by one tick at a time.
+ *
+ * Reminders are only held and sent on the instance that relays the outbox:
+ * it is the one that hears of every booking change, and every other instance
+ * would send the same reminders again. When the relay moves to another
+ * instance, that one builds its window on startup like any other.
+ */
+@Service
+public class EventReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventReminderScheduler.class);
+
+    private static final int WHEEL_SIZE = 60;
+    private static final int WHEEL_LEVELS = 3;
+    private static final DateTimeFormatter START_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy HH:mm");
+
+    record ReminderKey(Long bookingId, Duration lead) {
+    }
+
+    record Reminder(ReminderKey key, Long userId, String eventId, String eventTitle, LocalDateTime startDate) {
+    }
+
+    private record ReminderGroup(String eventId, String eventTitle, LocalDateTime startDate, Duration lead) {
+    }
+
+    private record Reschedule(String eventTitle, LocalDateTime startDate) {
+    }
+
+    private final BookingRepository bookingRepository;
+    private final NotificationDispatcher dispatcher;
+    private final boolean enabled;
+    private final List<Duration> leads;
+    private final long tickMillis;
+    private final Duration lookahead;
+    private final Duration reload;
+    private final Queue<Runnable> updates = new ConcurrentLinkedQueue<>();
+
+    // Pending reminders by key; the wheel may still hold superseded entries, which are skipped when they fire
+    private final Map<ReminderKey, Reminder> scheduled = new ConcurrentHashMap<>();
+    private final Map<String, Set<ReminderKey>> byEvent = new HashMap<>();
+    // Reschedules by event, overriding booking snapshots until they have caught up
+    private final Map<String, Reschedule> rescheduled = new HashMap<>();
+    private TimingWheel<Reminder> wheel;
+    private LocalDateTime loadedUntil;
+
+    public EventReminderScheduler(BookingRepository bookingRepository,
+                                  NotificationDispatcher dispatcher,
+                                  NotificationProperties properties,
+                                  OutboxProperties outboxProperties,
+                                  MeterRegistry meterRegistry) {
+        NotificationProperties.Reminders reminders = properties.getReminders();
+        this.bookingRepository = bookingRepository;
+        this.dispatcher = dispatcher;
+        this.enabled = reminders.isEnabled() && outboxProperties.isRelayEnabled();
+        this.leads = reminders.getLeads().stream()
+                .filter(lead -> !lead.isNegative() && !lead.isZero())
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        this.tickMillis = TimeUnit.SECONDS.toMillis(Math.max(1, reminders.getTickSeconds()));
+        this.lookahead = Duration.ofMinutes(Math.max(1, reminders.getLookaheadMinutes()));
+        this.reload = Duration.ofMinutes(Math.max(1, Math.min(reminders.getReloadMinutes(),
+                reminders.getLookaheadMinutes())));
+        Gauge.builder("notifications.reminders.scheduled", scheduled, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Runs first at startup, which builds the window.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.reminders.tick-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    synchronized void tickQuietly() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            tick(LocalDateTime.now());
+        } catch (Exception e) {
+            logger.warn("Event reminder tick failed: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onBookingConfirmed(BookingConfirmedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        submit(() -> bookingConfirmed(event, now));
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        submit(() -> bookingCancelled(event));
+    }
+
+    @EventListener
+    public void onEventCancelled(EventCancelledEvent event) {
+        submit(() -> eventCancelled(event.eventId()));
+    }
+
+    @EventListener
+    public void onEventDeleted(EventDeletedEvent event) {
+        submit(() -> eventCancelled(event.eventId()));
+    }
+
+    @EventListener
+    public void onEventRescheduled(EventRescheduledEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        submit(() -> eventRescheduled(event, now));
+    }
+
+    @EventListener
+    public void onBookingSnapshotsUpdated(BookingSnapshotsUpdatedEvent event) {
+        submit(() -> snapshotsUpdated(event));
+    }
+
+    /**
+     * Drop everything held and load the lookahead window from the bookings table.
+     */
+    void rebuild(LocalDateTime now) {
+        wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, toMillis(now));
+        scheduled.clear();
+        byEvent.clear();
+        loadedUntil = now;
+        load(now.plus(lookahead));
+    }
+
+    /**
+     * Extend the window if it is running out, apply the queued updates, then send
+     * every reminder that has fallen due. Returns the number of reminders sent.
+     */
+    int tick(LocalDateTime now) {
+        // Nothing is reminded of once an event has started
+        rescheduled.values().removeIf(reschedule -> reschedule.startDate().isBefore(now));
+        if (wheel == null) {
+            rebuild(now);
+        } else if (loadedUntil.isBefore(now.plus(lookahead).minus(reload))) {
+            load(now.plus(lookahead));
+        }
+        // Cancellations land before the wheel advances; late additions fall due at once
+        Runnable update;
+        while ((update = updates.poll()) != null) {
+            try {
+                update.run();
+            } catch (Exception e) {
+                logger.warn("Event reminder update failed: {}", e.getMessage());
+            }
+        }
+
+        Map<ReminderGroup, List<Long>> groups = new LinkedHashMap<>();
+        for (Reminder reminder : wheel.advance(toMillis(now))) {
+            // Cancelled and rescheduled reminders are no longer the mapped value
+            if (!scheduled.remove(reminder.key(), reminder)) {
+                continue;
+            }
+            forget(reminder.eventId(), reminder.key());
+            groups.computeIfAbsent(new ReminderGroup(reminder.eventId(), reminder.eventTitle(),
+                            reminder.startDate(), reminder.key().lead()), group -> new ArrayList<>())
+                    .add(reminder.userId());
+        }
+
+        int sent = 0;
+        for (Map.Entry<ReminderGroup, List<Long>> group : groups.entrySet()) {
+            ReminderGroup reminder = group.getKey();
+            dispatcher.dispatch(NotificationType.EVENT_REMINDER, "Event reminder",
+                    reminder.eventTitle() + " starts in " + describe(reminder.lead())
+                            + " (" + START_FORMAT.format(reminder.startDate()) + ").",
+                    group.getValue());
+            sent += group.getValue().size();
+        }
+        return sent;
+    }
+
+    void bookingConfirmed(BookingConfirmedEvent event, LocalDateTime now) {
+        BookingReminderTarget target = new BookingReminderTarget(event.bookingId(), event.userId(),
+                event.eventId(), event.eventTitle(), event.eventStartDate());
+        for (Duration lead : leads) {
+            schedule(target, target.eventStartDate(), target.eventTitle(), lead, now);
+        }
+    }
+
+    void bookingCancelled(BookingCancelledEvent event) {
+        for (Duration lead : leads) {
+            ReminderKey key = new ReminderKey(event.bookingId(), lead);
+            if (scheduled.remove(key) != null) {
+                forget(event.eventId(), key);
+            }
+        }
+    }
+
+    void eventCancelled(String eventId) {
+        Set<ReminderKey> keys = byEvent.remove(eventId);
+        if (keys != null) {
+            keys.forEach(scheduled::remove);
+        }
+    }
+
+    void eventRescheduled(EventRescheduledEvent event, LocalDateTime now) {
+        eventCancelled(event.eventId());
+        if (event.startDate() != null) {
+            rescheduled.put(event.eventId(), new Reschedule(event.eventTitle(), event.startDate()));
+        }
+        if (event.startDate() == null || !anyDueWithinWindow(event.startDate(), now)) {
+            // The window scan picks the bookings up once their reminders come close
+            return;
+        }
+        for (BookingReminderTarget target : bookingRepository.findReminderTargetsByEventId(event.eventId())) {
+            for (Duration lead : leads) {
+                schedule(target, event.startDate(), event.eventTitle(), lead, now);
+            }
+        }
+    }
+
+    void snapshotsUpdated(BookingSnapshotsUpdatedEvent event) {
+        // An override from a later reschedule waits for its own update
+        rescheduled.computeIfPresent(event.eventId(),
+                (eventId, reschedule) -> Objects.equals(reschedule.startDate(), event.startDate()) ? null : reschedule);
+    }
+
+    int pendingCount() {
+        return scheduled.size();
+    }
+
+    private void load(LocalDateTime until) {
+        LocalDateTime from = loadedUntil;
+        loadedUntil = until;
+        for (Duration lead : leads) {
+            List<BookingReminderTarget> targets =
+                    bookingRepository.findReminderTargetsStartingBetween(from.plus(lead), until.plus(lead));
+            for (BookingReminderTarget target : targets) {
+                Reschedule reschedule = rescheduled.get(target.eventId());
+                if (reschedule != null) {
+                    schedule(target, reschedule.startDate(), reschedule.eventTitle(), lead, from);
+                } else {
+                    schedule(target, target.eventStartDate(), target.eventTitle(), lead, from);
+                }
+            }
+        }
+    }
+
+    private void schedule(BookingReminderTarget target, LocalDateTime startDate, String eventTitle,
+                          Duration lead, LocalDateTime now) {
+        if (wheel == null || startDate == null) {
+            return;
+        }
+        LocalDateTime fireAt = startDate.minus(lead);
+        // Reminders beyond the window are loaded by a later scan
+        if (fireAt.isBefore(now) || !fireAt.isBefore(loadedUntil)) {
+            return;
+        }
+        ReminderKey key = new ReminderKey(target.bookingId(), lead);
+        Reminder reminder = new Reminder(key, target.userId(), target.eventId(), eventTitle, startDate);
+        Reminder previous = scheduled.put(key, reminder);
+        if (reminder.equals(previous)) {
+            return;
+        }
+        if (!wheel.add(toMillis(fireAt), reminder)) {
+            scheduled.remove(key);
+            return;
+        }
+        byEvent.computeIfAbsent(target.eventId(), eventId -> new HashSet<>()).add(key);
+    }
+
+    private boolean anyDueWithinWindow(LocalDateTime startDate, LocalDateTime now) {
+        for (Duration lead : leads) {
+            LocalDateTime fireAt = startDate.minus(lead);
+            if (!fireAt.isBefore(now) && fireAt.isBefore(loadedUntil)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void forget(String eventId, ReminderKey key) {
+        Set<ReminderKey> keys = byEvent.get(eventId);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            byEvent.remove(eventId);
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (enabled) {
+            updates.add(task);
+        }
+    }
+
+    static String describe(Duration lead) {
+        long minutes = lead.toMinutes();
+        if (minutes % 60 != 0) {
+            return minutes == 1 ? "1 minute" : minutes + " minutes";
+        }
+        long hours = minutes / 60;
+        return hours == 1 ? "1 hour" : hours + " hours";
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -6,6 +6,9 @@ import com.concert.dto.EventPhotoResponse;
 import com.concert.dto.EventOrganizerSummary;
 import com.concert.dto.EventPhotoSummary;
 import com.concert.dto.EventResponse;
+import com.concert.events.EventDeletedEvent;
+import com.concert.events.EventRescheduledEvent;
+import com.concert.events.EventUpdatedEvent;
 import com.concert.model.Event;
 import com.concert.model.User;
 import com.concert.repository.EventRepository;
@@ -18,21 +21,20 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -43,17 +45,33 @@ public class EventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
 
+    // Where event photos are stored by content, whether uploaded for an event or on their own
+    public static final String PHOTO_BLOB_PREFIX = "events/blobs/";
+
+    private static final int PHOTO_SWAP_ATTEMPTS = 5;
+
     private final EventRepository eventRepository;
-    private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final BlobStore blobStore;
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final ImageDerivativeService imageDerivativeService;
+    private final DomainEventOutbox outbox;
+    private final BookingService bookingService;
     
     @Autowired
     private AwsProperties awsProperties;
 
-    public EventService(EventRepository eventRepository, S3Client s3Client, S3Presigner s3Presigner) {
+    public EventService(EventRepository eventRepository, S3Presigner s3Presigner,
+                        BlobStore blobStore, ContentAddressedStorage contentAddressedStorage,
+                        ImageDerivativeService imageDerivativeService, DomainEventOutbox outbox,
+                        BookingService bookingService) {
         this.eventRepository = eventRepository;
-        this.s3Client = s3Client;
         this.s3Presigner = s3Presigner;
+        this.blobStore = blobStore;
+        this.contentAddressedStorage = contentAddressedStorage;
+        this.imageDerivativeService = imageDerivativeService;
+        this.outbox = outbox;
+        this.bookingService = bookingService;
     }
 
     @Transactional
@@ -77,8 +95,13 @@ public class EventService {
         event.setEndDate(request.getEndDate());
         event.setTicketPrice(request.getTicketPrice());
         event.setOrganizer(organizer);
+        boolean photoClaimed = request.getPhotoUrl() != null && applyPhotoUrl(event, request.getPhotoUrl());
 
         Event saved = eventRepository.save(event);
+        if (photoClaimed) {
+            imageDerivativeService.scheduleEventPhoto(saved.getId(), awsProperties.getS3().getEventPicturesBucket(),
+                    saved.getPhotoId());
+        }
         return toResponse(saved, organizer);
     }
 
@@ -124,6 +147,11 @@ public class EventService {
         if (event.getPhotoId() != null || event.getPhotoUrl() != null) {
             response.setPhoto(new EventPhotoSummary(event.getPhotoId(), event.getPhotoUrl()));
         }
+        if (event.getPhotoVariants() != null) {
+            String bucket = awsProperties.getS3().getEventPicturesBucket();
+            response.setPhotoVariants(ImageVariant.resolveUrls(event.getPhotoVariants(), event.getPhotoId(),
+                    key -> blobStore.url(bucket, key)));
+        }
 
         if (event.getOrganizer() != null) {
             User organizer = event.getOrganizer();
@@ -157,6 +185,8 @@ public class EventService {
             throw new IllegalArgumentException("End date must be after start date");
         }
 
+        boolean rescheduled = !request.getStartDate().equals(event.getStartDate());
+
         event.setTitle(request.getTitle());
         event.setLegacyName(request.getTitle());
         event.setDescription(request.getDescription());
@@ -170,14 +200,59 @@ public class EventService {
         event.setStartDate(request.getStartDate());
         event.setEndDate(request.getEndDate());
         event.setTicketPrice(request.getTicketPrice());
-        if (request.getPhotoUrl() != null) {
-            event.setPhotoUrl(request.getPhotoUrl());
-        }
+        boolean photoClaimed = request.getPhotoUrl() != null && applyPhotoUrl(event, request.getPhotoUrl());
 
         Event updated = eventRepository.save(event);
+        if (photoClaimed) {
+            imageDerivativeService.scheduleEventPhoto(eventId, awsProperties.getS3().getEventPicturesBucket(),
+                    updated.getPhotoId());
+        }
+        String bookedEventId = String.valueOf(eventId);
+        if (rescheduled) {
+            outbox.record(new EventRescheduledEvent(bookedEventId, updated.getTitle(), updated.getStartDate()));
+        }
+        // Booking snapshots are brought up to date in the background
+        outbox.record(new EventUpdatedEvent(bookedEventId, updated.getTitle(), updated.getLocation(),
+                updated.getStartDate(), updated.getEndDate()));
         return toResponse(updated, organizer);
     }
 
+    /**
+     * Set the photo URL; a photo uploaded on its own through the upload
+     * endpoint also becomes the event's stored photo, taking over the upload's
+     * reference. Returns true if the stored photo changed.
+     */
+    private boolean applyPhotoUrl(Event event, String photoUrl) {
+        event.setPhotoUrl(photoUrl);
+        String key = uploadedPhotoKey(photoUrl);
+        if (key == null || key.equals(event.getPhotoId())) {
+            return false;
+        }
+        String bucket = awsProperties.getS3().getEventPicturesBucket();
+        if (!contentAddressedStorage.claim(bucket, key)) {
+            // Nothing references it any more, so it is not safe to own
+            logger.warn("Event {} points at unreferenced upload {}", event.getId(), key);
+            return false;
+        }
+        String previousPhotoId = event.getPhotoId();
+        event.setPhotoId(key);
+        event.setPhotoVariants(null);
+        if (isStoredPhoto(previousPhotoId)) {
+            contentAddressedStorage.release(bucket, previousPhotoId);
+        }
+        return true;
+    }
+
+    static String uploadedPhotoKey(String photoUrl) {
+        int start = photoUrl.indexOf(PHOTO_BLOB_PREFIX);
+        if (start < 0) {
+            return null;
+        }
+        String key = photoUrl.substring(start);
+        int query = key.indexOf('?');
+        return query >= 0 ? key.substring(0, query) : key;
+    }
+
     @Transactional
     public void deleteEvent(Long eventId, User organizer) {
         Event event = eventRepository.findById(eventId)
@@ -188,10 +263,24 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        // Attendees are notified and their bookings cancelled with the deletion
+        bookingService.cancelEventBookings(String.valueOf(eventId), event.getTitle());
+        outbox.record(new EventDeletedEvent(String.valueOf(eventId), event.getTitle()));
+
+        if (isStoredPhoto(event.getPhotoId())) {
+            contentAddressedStorage.release(awsProperties.getS3().getEventPicturesBucket(), event.getPhotoId());
+        }
     }
 
-    @Transactional
-    public EventPhotoResponse uploadEventPhoto(Long eventId, User organizer, MultipartFile file) {
+    /**
+     * Streams the photo to storage without holding the request thread. Photos
+     * are stored by content, so re-uploading the same poster reuses the stored
+     * copy instead of sending it again. Once the upload completes the event is
+     * pointed at it with a compare-and-swap on the photo key, and only the key
+     * actually replaced is released; if the event is gone or the update fails,
+     * the new reference is released instead and the upload fails.
+     */
+    public CompletableFuture<EventPhotoResponse> uploadEventPhoto(Long eventId, User organizer, MultipartFile file) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
@@ -200,119 +289,105 @@ public class EventService {
             throw new IllegalArgumentException("Only event organizer can upload photos");
         }
 
-        try {
-            String bucket = awsProperties.getS3().getEventPicturesBucket();
-            String region = awsProperties.getRegion();
-
-            // Generate unique photo ID
-            String photoId = "events/" + eventId + "/" + UUID.randomUUID().toString();
-            String fileExtension = getFileExtension(file.getOriginalFilename());
-            if (fileExtension != null) {
-                photoId += fileExtension;
-            }
+        String bucket = awsProperties.getS3().getEventPicturesBucket();
 
-            // Upload to S3 with server-side encryption
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(photoId)
-                    .contentType(file.getContentType())
-                    .serverSideEncryption("AES256")
-                    .metadata(java.util.Map.of("eventId", eventId.toString()))
-                    .build();
-
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
-
-            // Generate URL based on configuration
-            String photoUrl;
-            if (awsProperties.getS3().isPresignedUrlsEnabled()) {
-                // Generate presigned URL for secure access
-                photoUrl = generatePresignedUrl(bucket, photoId);
-            } else {
-                // Generate public URL (only if bucket is public)
-                photoUrl = String.format("https://%s.s3.%s.amazonaws.com/%s", bucket, region, photoId);
-            }
+        return contentAddressedStorage.store(bucket, PHOTO_BLOB_PREFIX, file)
+                .thenApply(stored -> {
+                    String photoId = stored.key();
+                    String photoUrl = blobStore.url(bucket, photoId);
+                    String replaced;
+                    try {
+                        replaced = swapPhoto(eventId, photoId, photoUrl);
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not point event {} at uploaded photo {}: {}", eventId, photoId, e.getMessage());
+                        contentAddressedStorage.release(bucket, photoId);
+                        throw e;
+                    }
+                    // Variants that already exist for a reused copy are skipped
+                    imageDerivativeService.scheduleEventPhoto(eventId, bucket, photoId);
+                    if (isStoredPhoto(replaced)) {
+                        contentAddressedStorage.release(bucket, replaced);
+                    }
+                    return new EventPhotoResponse(photoUrl, photoId, "Photo uploaded successfully");
+                })
+                .exceptionally(error -> {
+                    throw storageFailure(eventId, error);
+                });
+    }
 
-            // Update event with photo info
-            event.setPhotoId(photoId);
-            event.setPhotoUrl(photoUrl);
-            try {
-                eventRepository.save(event);
-            } catch (Exception dbEx) {
-                logger.error("Database update failed for event {} photo, but S3 upload succeeded: {}", eventId, dbEx.getMessage(), dbEx);
-                // Return success anyway since S3 upload worked
+    /**
+     * Point the event at {@code photoId}, retrying if another upload changed
+     * its photo in between. Returns the photo key that was replaced.
+     */
+    private String swapPhoto(Long eventId, String photoId, String photoUrl) {
+        for (int attempt = 0; attempt < PHOTO_SWAP_ATTEMPTS; attempt++) {
+            Event current = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new IllegalArgumentException("Event was deleted during the upload"));
+            String previous = current.getPhotoId();
+            if (eventRepository.swapPhoto(eventId, previous, photoId, photoUrl, LocalDateTime.now()) == 1) {
+                return previous;
             }
-
-            return new EventPhotoResponse(photoUrl, photoId, "Photo uploaded successfully");
-        } catch (AwsServiceException | SdkClientException awsEx) {
-            logger.error("S3 upload failed for event {}: {}", eventId, awsEx.getMessage());
-            throw new IllegalStateException("Unable to store event photo in S3. Check AWS credentials and bucket permissions.", awsEx);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to upload photo: " + e.getMessage(), e);
         }
+        throw new IllegalStateException("Event photo kept changing during the upload");
     }
 
-    public EventPhotoResponse getEventPhoto(Long eventId) {
+    public CompletableFuture<EventPhotoResponse> getEventPhoto(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
         if (event.getPhotoId() == null || event.getPhotoUrl() == null) {
-            return new EventPhotoResponse(null, null, "No photo available for this event");
+            return CompletableFuture.completedFuture(
+                    new EventPhotoResponse(null, null, "No photo available for this event"));
         }
 
         if (event.getPhotoId().startsWith("inline:") || event.getPhotoUrl().startsWith("data:")) {
-            return new EventPhotoResponse(event.getPhotoUrl(), event.getPhotoId(), "Photo retrieved successfully");
+            return CompletableFuture.completedFuture(
+                    new EventPhotoResponse(event.getPhotoUrl(), event.getPhotoId(), "Photo retrieved successfully"));
         }
 
         String bucket = awsProperties.getS3().getEventPicturesBucket();
-        
-        // Verify photo exists in S3
-        try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(event.getPhotoId())
-                    .build();
-
-            s3Client.getObject(getObjectRequest);
-            
-            // Generate fresh presigned URL if enabled
-            String photoUrl = event.getPhotoUrl();
-            if (awsProperties.getS3().isPresignedUrlsEnabled()) {
-                photoUrl = generatePresignedUrl(bucket, event.getPhotoId());
-            }
-            
-            return new EventPhotoResponse(photoUrl, event.getPhotoId(), "Photo retrieved successfully");
-        } catch (NoSuchKeyException e) {
-            return new EventPhotoResponse(null, null, "Photo not found in storage");
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to retrieve photo: " + e.getMessage(), e);
-        }
+        String photoId = event.getPhotoId();
+
+        return blobStore.existsAsync(bucket, photoId)
+                .thenApply(exists -> exists
+                        ? new EventPhotoResponse(blobStore.url(bucket, photoId), photoId, "Photo retrieved successfully")
+                        : new EventPhotoResponse(null, null, "Photo not found in storage"))
+                .exceptionally(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof StorageBusyException busy) {
+                        throw busy;
+                    }
+                    throw new RuntimeException("Failed to retrieve photo: " + cause.getMessage(), cause);
+                });
     }
 
-    /**
-     * Generate a presigned URL for secure temporary access to S3 objects
-     */
-    private String generatePresignedUrl(String bucket, String key) {
-        int expirationMinutes = awsProperties.getS3().getPresignedUrlExpirationMinutes();
-        
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucket)
-                .key(key)
-                .build();
-
-        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(expirationMinutes))
-                .getObjectRequest(getObjectRequest)
-                .build();
+    private RuntimeException storageFailure(Long eventId, Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof StorageBusyException busy) {
+            return busy;
+        }
+        if (cause instanceof AwsServiceException || cause instanceof SdkClientException) {
+            logger.error("S3 upload failed for event {}: {}", eventId, cause.getMessage());
+            return new IllegalStateException("Unable to store event photo in S3. Check AWS credentials and bucket permissions.", cause);
+        }
+        return new RuntimeException("Failed to upload photo: " + cause.getMessage(), cause);
+    }
 
-        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
-        return presignedRequest.url().toString();
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
-    private String getFileExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            return null;
+    // The filename becomes part of a storage key, so it must not reach into another prefix
+    private static String requireSimpleFilename(String filename) {
+        if (filename == null || filename.isBlank() || filename.contains("/") || filename.contains("\\")
+                || filename.contains("..")) {
+            throw new IllegalArgumentException("Invalid filename");
         }
-        return filename.substring(filename.lastIndexOf("."));
+        return filename;
+    }
+
+    private static boolean isStoredPhoto(String photoId) {
+        return photoId != null && !photoId.startsWith("inline:");
     }
 
     public EventPhotoResponse generateUploadUrl(Long eventId, User organizer, String filename) {
@@ -324,7 +399,7 @@ public class EventService {
         }
 
         String bucket = awsProperties.getS3().getEventPicturesBucket();
-        String photoId = "events/" + eventId + "/" + filename;
+        String photoId = "events/" + eventId + "/" + requireSimpleFilename(filename);
 
         PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucket)
@@ -353,13 +428,18 @@ public class EventService {
         }
 
         String bucket = awsProperties.getS3().getEventPicturesBucket();
-        String region = awsProperties.getRegion();
-        String photoId = "events/" + eventId + "/" + filename;
-        String photoUrl = String.format("https://%s.s3.%s.amazonaws.com/%s", bucket, region, photoId);
+        String photoId = "events/" + eventId + "/" + requireSimpleFilename(filename);
+        String photoUrl = blobStore.url(bucket, photoId);
+        String previousPhotoId = event.getPhotoId();
 
         event.setPhotoId(photoId);
         event.setPhotoUrl(photoUrl);
+        event.setPhotoVariants(null);
         eventRepository.save(event);
+        imageDerivativeService.scheduleEventPhoto(eventId, bucket, photoId);
+        if (isStoredPhoto(previousPhotoId) && !previousPhotoId.equals(photoId)) {
+            contentAddressedStorage.release(bucket, previousPhotoId);
+        }
 
         return new EventPhotoResponse(photoUrl, photoId, "Photo set successfully");
     }
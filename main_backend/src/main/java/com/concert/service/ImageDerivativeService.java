@@ -0,0 +1,272 @@
+package com.concert.service;
+
+import com.concert.config.ImageProperties;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Generates thumbnail/card/hero JPEG variants for uploaded images in the background.
+ *
+ * Work is queued after the upload transaction commits and handled by a small
+ * fixed pool with a bounded queue; when the queue is full the job is dropped
+ * and clients keep using the original. Once the variants are stored the
+ * owning row is updated, guarded on the original key so a newer upload is
+ * never overwritten by an older job.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private final BlobStore blobStore;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ImageProperties imageProperties;
+    private final ThreadPoolExecutor executor;
+
+    public ImageDerivativeService(BlobStore blobStore,
+                                  EventRepository eventRepository,
+                                  UserRepository userRepository,
+                                  ImageProperties imageProperties) {
+        this.blobStore = blobStore;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.imageProperties = imageProperties;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, imageProperties.getWorkerThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, imageProperties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> logger.warn("Image derivative queue is full, skipping job"));
+    }
+
+    public void scheduleEventPhoto(Long eventId, String bucket, String key) {
+        schedule(bucket, key, variants -> eventRepository.updatePhotoVariants(eventId, key, variants));
+    }
+
+    public void scheduleAvatar(Long userId, String bucket, String key) {
+        schedule(bucket, key, variants -> userRepository.updateProfilePhotoVariants(userId, key, variants));
+    }
+
+    /**
+     * Best-effort removal of an original that is no longer referenced, along
+     * with any variants generated from it.
+     */
+    public void deleteWithVariants(String bucket, String key) {
+        List<String> keys = new ArrayList<>();
+        keys.add(key);
+        for (ImageVariant variant : ImageVariant.values()) {
+            keys.add(variant.keyFor(key));
+        }
+        for (String objectKey : keys) {
+            blobStore.deleteAsync(bucket, objectKey).whenComplete((result, error) -> {
+                if (error != null) {
+                    logger.warn("Failed to delete {}/{}: {}", bucket, objectKey, error.getMessage());
+                }
+            });
+        }
+    }
+
+    private void schedule(String bucket, String key, Consumer<String> onGenerated) {
+        if (!imageProperties.isDerivativesEnabled() || key == null) {
+            return;
+        }
+        Runnable job = () -> {
+            try {
+                List<ImageVariant> generated = generate(bucket, key);
+                if (!generated.isEmpty()) {
+                    onGenerated.accept(ImageVariant.join(generated));
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to generate image variants for {}/{}: {}", bucket, key, e.getMessage());
+            }
+        };
+
+        // The row must be committed before the job's guarded update can match it
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(job);
+                }
+            });
+        } else {
+            executor.execute(job);
+        }
+    }
+
+    /**
+     * Download the original once and store every variant that is not there
+     * yet (never upscaled).
+     */
+    List<ImageVariant> generate(String bucket, String key) throws IOException {
+        // Deduplicated originals are shared, so their variants may already be stored
+        List<ImageVariant> missing = new ArrayList<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!blobStore.exists(bucket, variant.keyFor(key))) {
+                missing.add(variant);
+            }
+        }
+        if (missing.isEmpty()) {
+            return List.of(ImageVariant.values());
+        }
+
+        BufferedImage original;
+        try (InputStream in = blobStore.open(bucket, key)) {
+            if (in == null) {
+                logger.warn("Original image {}/{} not found, skipping variants", bucket, key);
+                return List.of();
+            }
+            original = decode(in);
+        }
+        if (original == null) {
+            logger.debug("{}/{} is not a decodable image, skipping variants", bucket, key);
+            return List.of();
+        }
+
+        for (ImageVariant variant : missing) {
+            byte[] jpeg = encodeJpeg(resize(original, variant.getMaxWidth()));
+            blobStore.put(bucket, variant.keyFor(key), new ByteArrayInputStream(jpeg), jpeg.length,
+                    "image/jpeg", Map.of());
+        }
+        return List.of(ImageVariant.values());
+    }
+
+    /**
+     * Decode with source subsampling so huge originals never materialise at full size.
+     * The dimensions are read from the header first, and originals with more
+     * than {@code maxSourcePixels} pixels are refused before any pixel is decoded.
+     */
+    private BufferedImage decode(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > imageProperties.getMaxSourcePixels()) {
+                    throw new IllegalArgumentException("Image is " + width + "x" + height
+                            + ", over the limit of " + imageProperties.getMaxSourcePixels() + " pixels");
+                }
+                int factor = subsampling(width, height);
+                if (factor > 1) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Source subsampling for a {@code width} x {@code height} original: enough to
+     * bring it down to the largest variant's width, and enough to keep the decoded
+     * pixels within a square of that width, so very tall images are reduced as
+     * well as very wide ones.
+     */
+    static int subsampling(int width, int height) {
+        int largest = ImageVariant.largestWidth();
+        int byWidth = width / largest;
+        int byArea = (int) Math.ceil(Math.sqrt((double) width * height / ((double) largest * largest)));
+        return Math.max(1, Math.max(byWidth, byArea));
+    }
+
+    static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        // Halve in steps first; a single large bilinear step aliases badly
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        while (width / 2 >= targetWidth) {
+            width /= 2;
+            height = Math.max(1, height / 2);
+            current = draw(current, width, height);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        // JPEG has no alpha channel, so flatten onto white
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(imageProperties.getJpegQuality());
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.concert.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resized copies generated for every uploaded event photo and avatar.
+ * Variants are stored as JPEG next to the original, e.g.
+ * {@code events/7/abc.png -> events/7/abc-card.jpg}.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumbnail", 160),
+    CARD("card", 480),
+    HERO("hero", 1280);
+
+    private final String label;
+    private final int maxWidth;
+
+    ImageVariant(String label, int maxWidth) {
+        this.label = label;
+        this.maxWidth = maxWidth;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String keyFor(String originalKey) {
+        int slash = originalKey.lastIndexOf('/');
+        int dot = originalKey.lastIndexOf('.');
+        String base = dot > slash ? originalKey.substring(0, dot) : originalKey;
+        return base + "-" + label + ".jpg";
+    }
+
+    public static ImageVariant fromLabel(String label) {
+        for (ImageVariant variant : values()) {
+            if (variant.label.equals(label)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    public static int largestWidth() {
+        return Arrays.stream(values()).mapToInt(ImageVariant::getMaxWidth).max().orElse(0);
+    }
+
+    /**
+     * Serialized form stored on the entity, e.g. "thumbnail,card,hero".
+     */
+    public static String join(List<ImageVariant> variants) {
+        List<String> labels = new ArrayList<>();
+        for (ImageVariant variant : variants) {
+            labels.add(variant.label);
+        }
+        return String.join(",", labels);
+    }
+
+    /**
+     * Map each stored variant label to a URL for its object key.
+     */
+    public static Map<String, String> resolveUrls(String storedVariants, String originalKey,
+                                                  Function<String, String> urlForKey) {
+        if (storedVariants == null || storedVariants.isBlank() || originalKey == null) {
+            return null;
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String label : storedVariants.split(",")) {
+            ImageVariant variant = fromLabel(label.trim());
+            if (variant != null) {
+                urls.put(variant.label, urlForKey.apply(variant.keyFor(originalKey)));
+            }
+        }
+        return urls.isEmpty() ? null : urls;
+    }
+}
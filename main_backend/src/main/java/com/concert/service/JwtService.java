@@ -1,6 +1,7 @@
 package com.concert.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -17,14 +19,27 @@ public class JwtService {
     @Value("${jwt.secret:mySecretKey}")
     private String jwtSecret;
     
-    @Value("${jwt.expiration:604800000}")
+    // Access token lifetime; sessions are extended with refresh tokens
+    @Value("${jwt.expiration:900000}")
     private int jwtExpirationInMs;
+
+    // Derived from jwtSecret once and rebuilt only if the secret changes
+    private volatile SigningKeys signingKeys;
     
+    // Claim carrying the user's database id, so requests can identify the caller without a lookup
+    public static final String USER_ID_CLAIM = "uid";
+
     public String generateToken(String username) {
+        return generateToken(username, null);
+    }
+
+    public String generateToken(String username, Long userId) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
         
         return Jwts.builder()
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -45,11 +60,16 @@ public class JwtService {
     }
     
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return signingKeys().parser().parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Parse the token and check its signature and expiry in a single pass.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims verify(String token) {
+        return getAllClaimsFromToken(token);
     }
     
     public Boolean isTokenExpired(String token) {
@@ -73,8 +93,20 @@ public class JwtService {
     }
     
     private Key getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKeys().key();
+    }
+
+    private SigningKeys signingKeys() {
+        SigningKeys current = signingKeys;
+        if (current == null || !current.secret().equals(jwtSecret)) {
+            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+            current = new SigningKeys(jwtSecret, key, Jwts.parserBuilder().setSigningKey(key).build());
+            signingKeys = current;
+        }
+        return current;
+    }
+
+    private record SigningKeys(String secret, Key key, JwtParser parser) {
     }
 
     // Alias methods for JwtAuthenticationFilter compatibility
@@ -86,6 +118,10 @@ public class JwtService {
         return validateToken(token, username);
     }
 
+    public long getAccessTokenTtlMs() {
+        return jwtExpirationInMs;
+    }
+
     // Setter methods for testing
     public void setJwtSecret(String jwtSecret) {
         this.jwtSecret = jwtSecret;
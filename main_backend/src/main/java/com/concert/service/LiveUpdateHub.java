@@ -0,0 +1,319 @@
+package com.concert.service;
+
+import com.concert.config.LiveUpdateProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Fans out live updates to server-sent event subscribers, one topic per stream.
+ *
+ * Publishing only records the latest update per topic, and only if someone is
+ * subscribed; every tick the pending topics are resolved once each and pushed
+ * to their subscribers, so a burst of bookings for one event costs one
+ * availability lookup and one push per client. Each subscriber holds at most
+ * one unsent update: writes run on virtual threads, and a slow client just
+ * gets the newest state when its previous write finishes. Idle streams hold
+ * no thread at all, only the emitter and a few words of bookkeeping.
+ *
+ * Every subscription counts against a {@link Budget}, so one kind of stream
+ * filling up does not lock clients out of another, and against a small
+ * per-client allowance within that budget, so one client cannot take all of it.
+ */
+@Service
+public class LiveUpdateHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateHub.class);
+
+    public record Update(String name, Object data) {
+        boolean isHeartbeat() {
+            return name == null;
+        }
+    }
+
+    private static final Update HEARTBEAT = new Update(null, null);
+
+    /**
+     * A cap on concurrent subscribers, shared by every stream opened under it.
+     */
+    public static final class Budget {
+        private final String name;
+        private final int max;
+        private final AtomicInteger used = new AtomicInteger();
+
+        private Budget(String name, int max) {
+            this.name = name;
+            this.max = max;
+        }
+    }
+
+    private record PendingUpdate(String name, Supplier<?> data) {
+    }
+
+    private final class Subscriber {
+        final String topic;
+        final Budget budget;
+        final String clientKey;
+        final SseEmitter emitter;
+        final AtomicReference<Update> latest = new AtomicReference<>();
+        final AtomicBoolean writing = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(String topic, Budget budget, String clientKey, SseEmitter emitter) {
+            this.topic = topic;
+            this.budget = budget;
+            this.clientKey = clientKey;
+            this.emitter = emitter;
+        }
+    }
+
+    private final LiveUpdateProperties properties;
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    // Open streams per budget and client
+    private final Map<String, Integer> clientStreams = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter pushed;
+    private final MeterRegistry meterRegistry;
+
+    public LiveUpdateHub(LiveUpdateProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.pushed = meterRegistry.counter("live.updates.pushed");
+        Gauge.builder("live.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * A budget of {@code max} concurrent subscribers, named {@code name} in metrics.
+     */
+    public Budget budget(String name, int max) {
+        Budget budget = new Budget(name, max);
+        Gauge.builder("live.subscribers.stream", budget.used, AtomicInteger::get)
+                .tag("stream", name)
+                .register(meterRegistry);
+        return budget;
+    }
+
+    /**
+     * Open a stream on {@code topic} for {@code client} (null for no per-client
+     * limit). {@code initial}, if given, is sent first.
+     *
+     * @throws TooManyStreamsException if the client already has its share of streams open
+     * @throws IllegalStateException if the budget is used up
+     */
+    public SseEmitter subscribe(String topic, Budget budget, String client, Supplier<Update> initial) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(Math.max(1, properties.getTimeoutMinutes())));
+        subscribe(topic, budget, client, emitter, initial);
+        return emitter;
+    }
+
+    void subscribe(String topic, Budget budget, String client, SseEmitter emitter, Supplier<Update> initial) {
+        String clientKey = client == null ? null : budget.name + ":" + client;
+        if (clientKey != null && !acquireClient(clientKey)) {
+            throw new TooManyStreamsException("Too many live update streams for this client");
+        }
+        if (budget.used.incrementAndGet() > budget.max) {
+            budget.used.decrementAndGet();
+            releaseClient(clientKey);
+            throw new IllegalStateException("Too many live update subscribers");
+        }
+        subscriberCount.incrementAndGet();
+        Subscriber subscriber = new Subscriber(topic, budget, clientKey, emitter);
+        topics.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        if (initial != null) {
+            execute(() -> offer(subscriber, initial.get()));
+        }
+    }
+
+    private boolean acquireClient(String clientKey) {
+        int limit = Math.max(1, properties.getMaxStreamsPerClient());
+        AtomicBoolean acquired = new AtomicBoolean();
+        clientStreams.compute(clientKey, (key, open) -> {
+            int count = open == null ? 0 : open;
+            if (count >= limit) {
+                return open;
+            }
+            acquired.set(true);
+            return count + 1;
+        });
+        return acquired.get();
+    }
+
+    private void releaseClient(String clientKey) {
+        if (clientKey != null) {
+            clientStreams.computeIfPresent(clientKey, (key, open) -> open <= 1 ? null : open - 1);
+        }
+    }
+
+    /**
+     * Schedule {@code data} for the topic's subscribers at the next tick.
+     * Repeated calls within a tick replace each other; the supplier is only
+     * called if the topic still has subscribers when the tick runs.
+     */
+    public void publish(String topic, String name, Supplier<?> data) {
+        if (!topics.containsKey(topic)) {
+            return;
+        }
+        pending.put(topic, new PendingUpdate(name, data));
+    }
+
+    boolean hasSubscribers(String topic) {
+        return topics.containsKey(topic);
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Push every pending topic to its subscribers.
+     */
+    void flush() {
+        for (String topic : pending.keySet()) {
+            PendingUpdate update = pending.remove(topic);
+            Set<Subscriber> subscribers = topics.get(topic);
+            if (update == null || subscribers == null) {
+                continue;
+            }
+            execute(() -> {
+                Object data;
+                try {
+                    data = update.data().get();
+                } catch (Exception e) {
+                    logger.warn("Failed to build live update for {}: {}", topic, e.getMessage());
+                    return;
+                }
+                Update resolved = new Update(update.name(), data);
+                for (Subscriber subscriber : subscribers) {
+                    offer(subscriber, resolved);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-seconds:25}",
+            initialDelayString = "${app.live.heartbeat-seconds:25}", timeUnit = TimeUnit.SECONDS)
+    void heartbeat() {
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                // Never replaces a real update
+                if (subscriber.latest.compareAndSet(null, HEARTBEAT)) {
+                    startWriting(subscriber);
+                }
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Update update) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        subscriber.latest.set(update);
+        startWriting(subscriber);
+    }
+
+    private void startWriting(Subscriber subscriber) {
+        if (subscriber.writing.compareAndSet(false, true)) {
+            execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Update update;
+            while (!subscriber.closed.get() && (update = subscriber.latest.getAndSet(null)) != null) {
+                send(subscriber, update);
+            }
+        } finally {
+            subscriber.writing.set(false);
+        }
+        // An update may have arrived between the last check and releasing the flag
+        if (subscriber.latest.get() != null && !subscriber.closed.get()) {
+            startWriting(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Update update) {
+        try {
+            if (update.isHeartbeat()) {
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event().name(update.name()).data(update.data(), MediaType.APPLICATION_JSON));
+                pushed.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter's own callbacks may not fire until the next write
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriber.budget.used.decrementAndGet();
+        releaseClient(subscriber.clientKey);
+        topics.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private void execute(Runnable task) {
+        try {
+            writers.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Live update hub is shut down, dropping update");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.live.tick-millis:250}", initialDelayString = "${app.live.tick-millis:250}")
+    void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Live update flush failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        writers.shutdownNow();
+    }
+}
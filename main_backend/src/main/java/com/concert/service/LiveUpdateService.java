@@ -0,0 +1,141 @@
+package com.concert.service;
+
+import com.concert.config.LiveUpdateProperties;
+import com.concert.dto.EventAvailability;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.Broadcast;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.EventCancelledEvent;
+import com.concert.events.EventUpdatedEvent;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Live streams clients subscribe to instead of polling: seat availability per
+ * event, and each user's unread notification count.
+ *
+ * Booking changes and new notifications only mark a topic as changed; the
+ * value is read once per {@link LiveUpdateHub} tick, and only while someone
+ * is listening. Changes arrive as {@link Broadcast} events, so subscribers
+ * connected to any instance are told.
+ */
+@Service
+public class LiveUpdateService {
+
+    static final String AVAILABILITY = "availability";
+    static final String NOTIFICATIONS = "notifications";
+
+    private final LiveUpdateHub hub;
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final LiveUpdateHub.Budget availabilityBudget;
+    private final LiveUpdateHub.Budget notificationBudget;
+
+    public LiveUpdateService(LiveUpdateHub hub,
+                             BookingRepository bookingRepository,
+                             EventRepository eventRepository,
+                             UnreadNotificationCounter unreadCounter,
+                             LiveUpdateProperties properties) {
+        this.hub = hub;
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.unreadCounter = unreadCounter;
+        this.availabilityBudget = hub.budget(AVAILABILITY, properties.getMaxAvailabilitySubscribers());
+        this.notificationBudget = hub.budget(NOTIFICATIONS, properties.getMaxNotificationSubscribers());
+    }
+
+    /**
+     * Stream an existing event's availability to {@code client}.
+     *
+     * @throws IllegalArgumentException if there is no such event
+     */
+    public SseEmitter subscribeToEvent(Long eventId, String client) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        String id = String.valueOf(eventId);
+        return hub.subscribe(eventTopic(id), availabilityBudget, client,
+                () -> new LiveUpdateHub.Update(AVAILABILITY, availability(id)));
+    }
+
+    public SseEmitter subscribeToNotifications(Long userId) {
+        return hub.subscribe(userTopic(userId), notificationBudget, "u:" + userId,
+                () -> new LiveUpdateHub.Update(NOTIFICATIONS, unread(userId)));
+    }
+
+    @EventListener
+    public void onBookingConfirmed(Broadcast<BookingConfirmedEvent> broadcast) {
+        availabilityChanged(broadcast.event().eventId());
+    }
+
+    @EventListener
+    public void onBookingCancelled(Broadcast<BookingCancelledEvent> broadcast) {
+        availabilityChanged(broadcast.event().eventId());
+    }
+
+    @EventListener
+    public void onEventCancelled(Broadcast<EventCancelledEvent> broadcast) {
+        availabilityChanged(broadcast.event().eventId());
+    }
+
+    // The organizer may have changed the person limit
+    @EventListener
+    public void onEventUpdated(Broadcast<EventUpdatedEvent> broadcast) {
+        availabilityChanged(broadcast.event().eventId());
+    }
+
+    @EventListener
+    public void onNotificationsChanged(Broadcast<NotificationsChangedEvent> broadcast) {
+        notificationsChanged(broadcast.event().userIds());
+    }
+
+    public void availabilityChanged(String eventId) {
+        if (eventId != null) {
+            hub.publish(eventTopic(eventId), AVAILABILITY, () -> availability(eventId));
+        }
+    }
+
+    public void notificationsChanged(Long userId) {
+        hub.publish(userTopic(userId), NOTIFICATIONS, () -> unread(userId));
+    }
+
+    public void notificationsChanged(Collection<Long> userIds) {
+        userIds.forEach(this::notificationsChanged);
+    }
+
+    EventAvailability availability(String eventId) {
+        long booked = bookingRepository.sumActiveQuantityByEventId(eventId);
+        Long id = parseId(eventId);
+        Integer capacity = id == null ? null : eventRepository.findPersonLimitById(id).orElse(null);
+        Integer remaining = capacity == null ? null : (int) Math.max(0, capacity - booked);
+        return new EventAvailability(eventId, capacity, booked, remaining);
+    }
+
+    private Map<String, Long> unread(Long userId) {
+        return Map.of("unreadCount", unreadCounter.get(userId));
+    }
+
+    private static Long parseId(String eventId) {
+        try {
+            return Long.valueOf(eventId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String eventTopic(String eventId) {
+        return "event:" + eventId;
+    }
+
+    static String userTopic(Long userId) {
+        return "user:" + userId;
+    }
+}
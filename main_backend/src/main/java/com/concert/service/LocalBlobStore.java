@@ -0,0 +1,106 @@
+package com.concert.service;
+
+import com.concert.config.StorageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * {@link BlobStore} on the local filesystem, laid out as {@code <root>/<bucket>/<key>}.
+ *
+ * Lets the whole stack run offline. Files are written to a temporary name and
+ * moved into place, so readers never see a partial upload, and are served by
+ * {@link com.concert.controller.LocalBlobController}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalBlobStore.class);
+
+    private final Path root;
+    private final String publicBaseUrl;
+
+    public LocalBlobStore(StorageProperties storageProperties) {
+        this.root = Paths.get(storageProperties.getLocal().getRoot()).toAbsolutePath().normalize();
+        String baseUrl = storageProperties.getLocal().getPublicBaseUrl();
+        this.publicBaseUrl = baseUrl == null ? "" : baseUrl.replaceAll("/+$", "");
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create local blob root " + root, e);
+        }
+        logger.info("Storing blobs on local disk under {}", root);
+    }
+
+    @Override
+    public void put(String bucket, String key, InputStream content, long contentLength,
+                    String contentType, Map<String, String> metadata) throws IOException {
+        Path target = resolve(bucket, key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean exists(String bucket, String key) {
+        return Files.isRegularFile(resolve(bucket, key));
+    }
+
+    @Override
+    public InputStream open(String bucket, String key) throws IOException {
+        try {
+            return Files.newInputStream(resolve(bucket, key));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        try {
+            Files.deleteIfExists(resolve(bucket, key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + bucket + "/" + key, e);
+        }
+    }
+
+    @Override
+    public String url(String bucket, String key) {
+        return publicBaseUrl + "/api/blobs/" + bucket + "/" + key;
+    }
+
+    /**
+     * Map bucket/key to a file under the root, rejecting anything that escapes it.
+     */
+    public Path resolve(String bucket, String key) {
+        if (bucket == null || bucket.isBlank() || key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Bucket and key are required");
+        }
+        Path bucketDir = root.resolve(bucket).normalize();
+        if (!root.equals(bucketDir.getParent())) {
+            throw new IllegalArgumentException("Invalid bucket: " + bucket);
+        }
+        Path path = bucketDir.resolve(key).normalize();
+        if (!path.startsWith(bucketDir) || path.equals(bucketDir)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,112 @@
+package com.concert.service;
+
+import com.concert.config.AuthProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window limits on authentication attempts, kept in memory.
+ *
+ * Every password check counts against the caller's IP, and failed logins
+ * count against the account; once either limit is reached further attempts
+ * are refused with {@link TooManyAttemptsException} until the window ends,
+ * before any hashing work is done. A successful login clears the account's
+ * failures.
+ */
+@Component
+public class LoginThrottle {
+
+    private record Window(Instant endsAt, AtomicInteger count) {
+
+        long secondsLeft() {
+            return Math.max(1, Duration.between(Instant.now(), endsAt).toSeconds());
+        }
+    }
+
+    private final AuthProperties.Throttle throttle;
+    private final Cache<String, Window> ipAttempts;
+    private final Cache<String, Window> accountFailures;
+    private final Counter ipRejected;
+    private final Counter accountRejected;
+
+    public LoginThrottle(AuthProperties authProperties, MeterRegistry meterRegistry) {
+        this.throttle = authProperties.getThrottle();
+        this.ipAttempts = windows(throttle.getIpWindowSeconds());
+        this.accountFailures = windows(throttle.getAccountWindowSeconds());
+        this.ipRejected = Counter.builder("auth.throttle.rejected").tag("scope", "ip").register(meterRegistry);
+        this.accountRejected = Counter.builder("auth.throttle.rejected").tag("scope", "account").register(meterRegistry);
+    }
+
+    private Cache<String, Window> windows(int windowSeconds) {
+        // Entries expire when their window ends; later increments do not extend it
+        return Caffeine.newBuilder()
+                .maximumSize(throttle.getMaxTrackedKeys())
+                .expireAfter(Expiry.creating((String key, Window window) -> remaining(window)))
+                .build();
+    }
+
+    /**
+     * Count one password check against {@code clientIp}.
+     */
+    public void checkIp(String clientIp) {
+        if (!throttle.isEnabled() || clientIp == null) {
+            return;
+        }
+        Window window = ipAttempts.get(clientIp, ip -> newWindow(throttle.getIpWindowSeconds()));
+        if (window.count().incrementAndGet() > throttle.getMaxAttemptsPerIp()) {
+            ipRejected.increment();
+            throw new TooManyAttemptsException("Too many attempts from this address, please try again later",
+                    window.secondsLeft());
+        }
+    }
+
+    /**
+     * Refuse the attempt if {@code account} has too many recent failures.
+     */
+    public void checkAccount(String account) {
+        if (!throttle.isEnabled() || account == null) {
+            return;
+        }
+        Window window = accountFailures.getIfPresent(key(account));
+        if (window != null && window.count().get() >= throttle.getMaxFailuresPerAccount()) {
+            accountRejected.increment();
+            throw new TooManyAttemptsException("Too many failed sign-in attempts, please try again later",
+                    window.secondsLeft());
+        }
+    }
+
+    public void recordFailure(String account) {
+        if (!throttle.isEnabled() || account == null) {
+            return;
+        }
+        accountFailures.get(key(account), k -> newWindow(throttle.getAccountWindowSeconds())).count().incrementAndGet();
+    }
+
+    public void recordSuccess(String account) {
+        if (account != null) {
+            accountFailures.invalidate(key(account));
+        }
+    }
+
+    private static Duration remaining(Window window) {
+        Duration remaining = Duration.between(Instant.now(), window.endsAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static Window newWindow(int seconds) {
+        return new Window(Instant.now().plusSeconds(seconds), new AtomicInteger());
+    }
+
+    private static String key(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+}
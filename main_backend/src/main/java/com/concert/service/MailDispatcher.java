@@ -0,0 +1,392 @@
+package com.concert.service;
+
+import com.concert.config.MailDeliveryProperties;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.model.MailMessage;
+import com.concert.model.NotificationPreference;
+import com.concert.model.User;
+import com.concert.repository.MailMessageRepository;
+import com.concert.repository.NotificationPreferenceRepository;
+import com.concert.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends booking confirmation and cancellation emails in the background.
+ *
+ * Booking events arrive from the outbox relay, off the request thread. The
+ * listener renders the precompiled template and stores the message in the
+ * {@code mail_queue} table right away, so a burst of bookings can never push
+ * mail out of an in-memory queue; only the wake-up of the poller is handed
+ * off. From there a poller claims due messages under a token of its own,
+ * groups the rows carrying that token by recipient domain and sends each
+ * group in batches over pooled SMTP connections, never using more than
+ * {@code perDomainConcurrency} connections for one domain. Several instances
+ * can poll the same table without sending a message twice. Failed messages
+ * are retried with exponential backoff until {@code maxAttempts}, and claims
+ * older than {@code staleClaimMinutes} (left by an instance that died
+ * mid-send) are handed back, so queued mail survives restarts. Nothing is sent unless
+ * {@code spring.mail.host} is configured.
+ */
+@Service
+public class MailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final DateTimeFormatter START_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy HH:mm");
+
+    private final MailMessageRepository mailMessageRepository;
+    private final UserRepository userRepository;
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final MailTemplates templates;
+    private final MailDeliveryProperties properties;
+    private final SmtpConnectionPool connectionPool;
+    private final ThreadPoolExecutor senders;
+    private final Semaphore senderSlots;
+    private final AtomicBoolean sendersFull = new AtomicBoolean();
+    private final TaskScheduler taskScheduler;
+    private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public MailDispatcher(MailMessageRepository mailMessageRepository,
+                          UserRepository userRepository,
+                          NotificationPreferenceRepository preferenceRepository,
+                          MailTemplates templates,
+                          MailDeliveryProperties properties,
+                          ObjectProvider<JavaMailSenderImpl> mailSender,
+                          MeterRegistry meterRegistry,
+                          TaskScheduler taskScheduler) {
+        this.mailMessageRepository = mailMessageRepository;
+        this.userRepository = userRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.templates = templates;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+
+        JavaMailSenderImpl settings = mailSender.getIfAvailable();
+        boolean configured = settings != null && settings.getHost() != null && !settings.getHost().isBlank();
+        int connections = Math.max(1, properties.getConnections());
+        this.connectionPool = properties.isEnabled() && configured
+                ? new SmtpConnectionPool(settings, connections,
+                TimeUnit.SECONDS.toMillis(properties.getIdleConnectionSeconds()))
+                : null;
+
+        this.sent = meterRegistry.counter("mail.sent", "outcome", "sent");
+        this.retried = meterRegistry.counter("mail.sent", "outcome", "retry");
+        this.failed = meterRegistry.counter("mail.sent", "outcome", "failed");
+
+        // A poll submits one task per domain batch, so the number of tasks is bounded separately:
+        // every task holds a slot until it finishes and there are only as many slots as threads
+        // plus queue, so the senders never reject and nothing is ever sent on the poller
+        this.senders = new ThreadPoolExecutor(connections, connections, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(connections), daemonThreads("mail-sender"));
+        this.senderSlots = new Semaphore(connections * 2);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public boolean isActive() {
+        return connectionPool != null;
+    }
+
+    @EventListener
+    public void onBookingConfirmed(BookingConfirmedEvent event) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("eventTitle", event.eventTitle());
+        model.put("quantity", event.quantity());
+        model.put("bookingId", event.bookingId());
+        model.put("when", event.eventStartDate() != null ? " on " + START_FORMAT.format(event.eventStartDate()) : "");
+        submit(event.userId(), MailTemplates.BOOKING_CONFIRMED, model);
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("eventTitle", event.eventTitle());
+        model.put("bookingId", event.bookingId());
+        submit(event.userId(), MailTemplates.BOOKING_CANCELLED, model);
+    }
+
+    private void submit(Long userId, String template, Map<String, Object> model) {
+        if (!isActive() || userId == null) {
+            return;
+        }
+        try {
+            if (enqueue(userId, template, model)) {
+                wake();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to queue {} mail for user {}: {}", template, userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Render the template for the user and store it in the send queue.
+     * Returns false if the user has no address or does not want email.
+     */
+    boolean enqueue(Long userId, String template, Map<String, Object> model) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getEmail() == null || !user.getEmail().contains("@")) {
+            return false;
+        }
+        NotificationPreference preference = preferenceRepository.findByUserId(userId).orElse(null);
+        if (preference != null && !preference.isEmailNotifications()) {
+            return false;
+        }
+
+        Map<String, Object> values = new HashMap<>(model);
+        values.put("name", user.getName() != null ? user.getName() : user.getUsername());
+        MailTemplates.RenderedMail mail = templates.render(template, values);
+
+        LocalDateTime now = LocalDateTime.now();
+        String email = user.getEmail().trim();
+        mailMessageRepository.save(MailMessage.builder()
+                .recipient(email)
+                .domain(email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT))
+                .subject(mail.subject())
+                .body(mail.body())
+                .status(MailMessage.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        return true;
+    }
+
+    // Coalesces a burst of new messages into one extra poll
+    private void wake() {
+        if (wakeScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                wakeScheduled.set(false);
+                pollQuietly();
+            }, Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.poll-seconds:10}",
+            initialDelayString = "${app.mail.poll-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    void pollQuietly() {
+        if (!isActive()) {
+            return;
+        }
+        try {
+            poll();
+        } catch (Exception e) {
+            logger.warn("Mail queue poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim the next due messages and hand them to the senders by domain.
+     * Batches the senders have no room for are handed back and picked up
+     * once a sender finishes. Returns the number of messages handed to the senders. A wake-up and a scheduled poll
+     * can both be running, so polls take turns.
+     */
+    synchronized int poll() {
+        connectionPool.evictIdle();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int limit = batchSize * senders.getMaximumPoolSize();
+        LocalDateTime now = LocalDateTime.now();
+        mailMessageRepository.releaseStale(now.minusMinutes(Math.max(1, properties.getStaleClaimMinutes())));
+
+        List<Long> ids = mailMessageRepository.findDueIds(now, PageRequest.ofSize(limit));
+        String claimId = UUID.randomUUID().toString();
+        if (ids.isEmpty() || mailMessageRepository.claim(ids, claimId, now) == 0) {
+            return 0;
+        }
+
+        // Only rows this poll claimed; the rest went to another poller
+        Map<String, List<MailMessage>> byDomain = new LinkedHashMap<>();
+        for (MailMessage message : mailMessageRepository.findByClaimId(claimId)) {
+            byDomain.computeIfAbsent(message.getDomain(), domain -> new ArrayList<>()).add(message);
+        }
+        int submitted = 0;
+        List<Long> unsubmitted = new ArrayList<>();
+        for (Map.Entry<String, List<MailMessage>> domain : byDomain.entrySet()) {
+            List<MailMessage> messages = domain.getValue();
+            for (int from = 0; from < messages.size(); from += batchSize) {
+                List<MailMessage> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+                if (!senderSlots.tryAcquire()) {
+                    batch.forEach(message -> unsubmitted.add(message.getId()));
+                    continue;
+                }
+                senders.execute(() -> {
+                    try {
+                        sendBatch(domain.getKey(), batch);
+                    } finally {
+                        senderSlots.release();
+                        if (sendersFull.compareAndSet(true, false)) {
+                            wake();
+                        }
+                    }
+                });
+                submitted += batch.size();
+            }
+        }
+        if (!unsubmitted.isEmpty()) {
+            mailMessageRepository.release(unsubmitted);
+            sendersFull.set(true);
+        } else if (ids.size() == limit) {
+            // More may be due; keep draining without waiting for the next interval
+            wake();
+        }
+        return submitted;
+    }
+
+    /**
+     * Send one batch over a single pooled connection, within the domain's limit.
+     */
+    void sendBatch(String domain, List<MailMessage> batch) {
+        try {
+            sendClaimed(domain, batch);
+        } catch (RuntimeException e) {
+            // Rows with a recorded failure are no longer SENDING; the rest are sent again (at least once)
+            logger.warn("Mail batch for {} failed, handing it back: {}", domain, e.getMessage());
+            try {
+                mailMessageRepository.release(batch.stream().map(MailMessage::getId).toList());
+            } catch (RuntimeException releaseError) {
+                logger.warn("Failed to release mail batch for {}, it is retried once stale: {}",
+                        domain, releaseError.getMessage());
+            }
+        }
+    }
+
+    private void sendClaimed(String domain, List<MailMessage> batch) {
+        Semaphore permits = domainPermits.computeIfAbsent(domain,
+                key -> new Semaphore(Math.max(1, properties.getPerDomainConcurrency())));
+        if (!permits.tryAcquire()) {
+            // Left for a later poll rather than holding a sender thread
+            mailMessageRepository.release(batch.stream().map(MailMessage::getId).toList());
+            return;
+        }
+        try {
+            Transport transport;
+            try {
+                transport = connectionPool.borrow();
+            } catch (MessagingException e) {
+                logger.warn("Failed to connect to SMTP server: {}", e.getMessage());
+                batch.forEach(message -> recordFailure(message, e));
+                return;
+            }
+
+            List<Long> delivered = new ArrayList<>(batch.size());
+            boolean broken = false;
+            for (int i = 0; i < batch.size(); i++) {
+                MailMessage message = batch.get(i);
+                try {
+                    MimeMessage mime = toMime(message);
+                    transport.sendMessage(mime, mime.getAllRecipients());
+                    delivered.add(message.getId());
+                } catch (SendFailedException e) {
+                    // Rejected by the server; the connection is still usable
+                    recordFailure(message, e);
+                } catch (MessagingException e) {
+                    recordFailure(message, e);
+                    broken = true;
+                    List<Long> unsent = batch.subList(i + 1, batch.size()).stream().map(MailMessage::getId).toList();
+                    if (!unsent.isEmpty()) {
+                        mailMessageRepository.release(unsent);
+                    }
+                    break;
+                }
+            }
+            if (broken) {
+                connectionPool.invalidate(transport);
+            } else {
+                connectionPool.release(transport);
+            }
+            if (!delivered.isEmpty()) {
+                mailMessageRepository.deleteByIdIn(delivered);
+                sent.increment(delivered.size());
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private MimeMessage toMime(MailMessage message) throws MessagingException {
+        MimeMessage mime = new MimeMessage(connectionPool.session());
+        mime.setFrom(new InternetAddress(properties.getFrom()));
+        mime.setRecipients(Message.RecipientType.TO, InternetAddress.parse(message.getRecipient()));
+        mime.setSubject(message.getSubject(), "UTF-8");
+        mime.setText(message.getBody(), "UTF-8");
+        mime.setSentDate(new Date());
+        return mime;
+    }
+
+    private void recordFailure(MailMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        String reason = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        if (reason.length() > 500) {
+            reason = reason.substring(0, 500);
+        }
+        if (attempts >= properties.getMaxAttempts()) {
+            mailMessageRepository.recordFailure(message.getId(), MailMessage.FAILED, attempts, now, reason, now);
+            failed.increment();
+            logger.warn("Giving up on mail {} to {} after {} attempts: {}",
+                    message.getId(), message.getDomain(), attempts, reason);
+            return;
+        }
+        long backoff = properties.getRetryBackoffSeconds() << Math.min(attempts - 1, 16);
+        mailMessageRepository.recordFailure(message.getId(), MailMessage.PENDING, attempts,
+                now.plusSeconds(backoff), reason, now);
+        retried.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+    }
+}
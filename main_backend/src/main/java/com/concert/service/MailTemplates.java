@@ -0,0 +1,114 @@
+package com.concert.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email templates from {@code classpath:mail/}, parsed once at startup.
+ *
+ * A template starts with a {@code Subject:} line and a blank line, followed by
+ * the plain-text body; {@code {{name}}} placeholders are filled from the model.
+ * Each template is compiled to a list of literal and placeholder parts, so
+ * rendering is a single pass with no parsing or regex work per message.
+ */
+@Component
+public class MailTemplates {
+
+    public static final String BOOKING_CONFIRMED = "booking-confirmed";
+    public static final String BOOKING_CANCELLED = "booking-cancelled";
+
+    public record RenderedMail(String subject, String body) {
+    }
+
+    private record Part(String text, boolean placeholder) {
+    }
+
+    private record CompiledTemplate(List<Part> subject, List<Part> body, int sizeHint) {
+    }
+
+    private final Map<String, CompiledTemplate> templates;
+
+    public MailTemplates() {
+        this.templates = Map.of(
+                BOOKING_CONFIRMED, load(BOOKING_CONFIRMED),
+                BOOKING_CANCELLED, load(BOOKING_CANCELLED));
+    }
+
+    /**
+     * Render {@code name} with {@code model}.
+     *
+     * @throws IllegalArgumentException for an unknown template or a placeholder missing from the model
+     */
+    public RenderedMail render(String name, Map<String, ?> model) {
+        CompiledTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown mail template: " + name);
+        }
+        return new RenderedMail(fill(template.subject(), model, 64), fill(template.body(), model, template.sizeHint()));
+    }
+
+    private static String fill(List<Part> parts, Map<String, ?> model, int sizeHint) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        for (Part part : parts) {
+            if (!part.placeholder()) {
+                out.append(part.text());
+                continue;
+            }
+            if (!model.containsKey(part.text())) {
+                throw new IllegalArgumentException("Missing mail template value: " + part.text());
+            }
+            Object value = model.get(part.text());
+            out.append(value == null ? "" : value);
+        }
+        return out.toString();
+    }
+
+    private static CompiledTemplate load(String name) {
+        String source;
+        try (InputStream in = new ClassPathResource("mail/" + name + ".txt").getInputStream()) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new IllegalStateException("Mail template " + name + " not found", e);
+        }
+        return compile(name, source);
+    }
+
+    private static CompiledTemplate compile(String name, String source) {
+        int headerEnd = source.indexOf("\n\n");
+        if (!source.startsWith("Subject:") || headerEnd < 0) {
+            throw new IllegalStateException("Mail template " + name + " must start with a Subject line");
+        }
+        String subject = source.substring("Subject:".length(), headerEnd).trim();
+        String body = source.substring(headerEnd + 2);
+        return new CompiledTemplate(parse(name, subject), parse(name, body), body.length() + 64);
+    }
+
+    private static List<Part> parse(String name, String text) {
+        List<Part> parts = new ArrayList<>();
+        int position = 0;
+        while (position < text.length()) {
+            int open = text.indexOf("{{", position);
+            if (open < 0) {
+                parts.add(new Part(text.substring(position), false));
+                break;
+            }
+            int close = text.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in mail template " + name);
+            }
+            if (open > position) {
+                parts.add(new Part(text.substring(position, open), false));
+            }
+            parts.add(new Part(text.substring(open + 2, close).trim(), true));
+            position = close + 2;
+        }
+        return List.copyOf(parts);
+    }
+}
@@ -0,0 +1,204 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.EventCancelledEvent;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.model.NotificationPreference;
+import com.concert.model.NotificationType;
+import com.concert.repository.NotificationPreferenceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns booking and event lifecycle events into in-app notifications, off the request thread.
+ *
+ * Events arrive from the outbox relay once the publishing transaction has
+ * committed, and are queued as one delivery each, however many recipients it has. Workers split a
+ * delivery into batches: one query loads the batch's preferences, recipients
+ * who opted out are skipped, and the rest are written with a single JDBC
+ * batch insert, in the same transaction as a {@link NotificationsChangedEvent}
+ * that tells every instance's unread counts and live streams. When the queue
+ * is full the caller (the outbox relay or the reminder tick) writes the
+ * delivery itself, which slows the relay down instead of losing notifications
+ * whose outbox row is already gone.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    // Notification ids are IDENTITY generated, which Hibernate never batches
+    private static final String INSERT_NOTIFICATION =
+            "insert into notifications (user_id, title, message, type, is_read, created_at, updated_at) "
+                    + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final DateTimeFormatter START_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy HH:mm");
+
+    record Delivery(NotificationType type, String title, String message, List<Long> recipients) {
+    }
+
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventOutbox outbox;
+    private final int batchSize;
+    private final ThreadPoolExecutor executor;
+    private final Counter written;
+    private final Counter skipped;
+    private final Counter throttled;
+
+    public NotificationDispatcher(NotificationPreferenceRepository preferenceRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  DomainEventOutbox outbox,
+                                  NotificationProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.preferenceRepository = preferenceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outbox = outbox;
+        this.batchSize = Math.max(1, properties.getBatchSize());
+
+        this.written = meterRegistry.counter("notifications.delivered", "outcome", "written");
+        this.skipped = meterRegistry.counter("notifications.delivered", "outcome", "opted_out");
+        this.throttled = meterRegistry.counter("notifications.caller_runs");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, properties.getWorkerThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notifications-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        logger.debug("Notification dispatcher is shut down, skipping delivery");
+                        return;
+                    }
+                    throttled.increment();
+                    runnable.run();
+                });
+        Gauge.builder("notifications.queued", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    @EventListener
+    public void onBookingConfirmed(BookingConfirmedEvent event) {
+        String when = event.eventStartDate() != null ? " on " + START_FORMAT.format(event.eventStartDate()) : "";
+        dispatch(NotificationType.BOOKING_CONFIRMATION, "Booking confirmed",
+                "Your booking of " + event.quantity() + " ticket(s) for " + event.eventTitle() + when + " is confirmed.",
+                List.of(event.userId()));
+    }
+
+    @EventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        dispatch(NotificationType.BOOKING_CANCELLATION, "Booking cancelled",
+                "Your booking for " + event.eventTitle() + " has been cancelled.",
+                List.of(event.userId()));
+    }
+
+    @EventListener
+    public void onEventCancelled(EventCancelledEvent event) {
+        dispatch(NotificationType.EVENT_CANCELLATION, "Event cancelled",
+                event.eventTitle() + " has been cancelled and your booking was cancelled with it.",
+                event.attendeeIds());
+    }
+
+    /**
+     * Queue one notification for each recipient. Returns immediately unless the queue is full.
+     */
+    public void dispatch(NotificationType type, String title, String message, Collection<Long> recipients) {
+        if (recipients == null || recipients.isEmpty()) {
+            return;
+        }
+        Delivery delivery = new Delivery(type, title, message, recipients.stream().distinct().toList());
+        executor.execute(() -> {
+            try {
+                deliver(delivery);
+            } catch (Exception e) {
+                logger.warn("Failed to deliver {} notifications: {}", type, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Write the delivery in batches; returns the number of notifications written.
+     */
+    int deliver(Delivery delivery) {
+        int total = 0;
+        List<Long> recipients = delivery.recipients();
+        for (int from = 0; from < recipients.size(); from += batchSize) {
+            List<Long> batch = recipients.subList(from, Math.min(from + batchSize, recipients.size()));
+            try {
+                total += writeBatch(delivery, batch);
+            } catch (Exception e) {
+                // One bad batch must not cost the remaining recipients their notification
+                logger.warn("Failed to write {} notifications for {} recipients: {}",
+                        delivery.type(), batch.size(), e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    private int writeBatch(Delivery delivery, List<Long> batch) {
+        Map<Long, NotificationPreference> preferences = preferenceRepository.findByUserIdIn(batch).stream()
+                .collect(Collectors.toMap(NotificationPreference::getUserId, Function.identity(), (a, b) -> a));
+        List<Long> wanted = new ArrayList<>(batch.size());
+        for (Long userId : batch) {
+            if (delivery.type().isWanted(preferences.get(userId))) {
+                wanted.add(userId);
+            }
+        }
+        skipped.increment(batch.size() - wanted.size());
+        if (wanted.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, wanted, wanted.size(), (statement, userId) -> {
+                statement.setLong(1, userId);
+                statement.setString(2, delivery.title());
+                statement.setString(3, delivery.message());
+                statement.setString(4, delivery.type().name());
+                statement.setBoolean(5, false);
+                statement.setTimestamp(6, now);
+                statement.setTimestamp(7, now);
+            });
+            outbox.record(new NotificationsChangedEvent(List.copyOf(wanted)));
+        });
+        written.increment(wanted.size());
+        return wanted.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,106 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes notifications older than the retention period.
+ *
+ * Work is done in small chunks: the ids of the oldest rows are read along
+ * the {@code created_at} index and deleted by primary key, each chunk in its
+ * own short transaction. Rather than sleeping between chunks, each chunk
+ * schedules the next one after the pause, so the shared scheduler threads are
+ * never parked. Only ids are ever loaded, no statement holds locks for long,
+ * and a run stops after a bounded number of chunks so a large backlog is
+ * worked off over several runs.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationProperties.Retention retention;
+    private final TaskScheduler taskScheduler;
+    private final Counter purged;
+    // Set while a run's chunks are still being worked through
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    NotificationProperties properties,
+                                    TaskScheduler taskScheduler,
+                                    MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.retention = properties.getRetention();
+        this.taskScheduler = taskScheduler;
+        this.purged = meterRegistry.counter("notifications.purged");
+    }
+
+    /**
+     * Start a run unless the previous one is still going; returns whether it was started.
+     */
+    boolean purge() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        purgeChunk(LocalDateTime.now().minusDays(retention.getDays()), 0, 0);
+        return true;
+    }
+
+    /**
+     * Delete one chunk of expired notifications, then schedule the next one
+     * while full chunks keep coming back and the run's chunk cap allows.
+     */
+    void purgeChunk(LocalDateTime cutoff, int chunk, int deletedSoFar) {
+        int chunkSize = Math.max(1, retention.getChunkSize());
+        int total = deletedSoFar;
+        try {
+            List<Long> ids = notificationRepository.findIdsCreatedBefore(cutoff, PageRequest.ofSize(chunkSize));
+            if (!ids.isEmpty()) {
+                int deleted = notificationRepository.deleteByIdIn(ids);
+                total += deleted;
+                purged.increment(deleted);
+            }
+            if (ids.size() == chunkSize && chunk + 1 < retention.getMaxChunksPerRun()) {
+                int next = total;
+                // Give replication and foreground writes room between chunks
+                taskScheduler.schedule(() -> purgeChunk(cutoff, chunk + 1, next),
+                        Instant.now().plusMillis(retention.getPauseMs()));
+                return;
+            }
+        } catch (Exception e) {
+            logger.warn("Notification retention purge failed: {}", e.getMessage());
+        }
+        finish(total);
+    }
+
+    private void finish(int total) {
+        running.set(false);
+        if (total > 0) {
+            // Purged rows may have been unread; the unread counters re-count on their own schedule
+            logger.info("Purged {} notifications older than {} days", total, retention.getDays());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.retention.interval-minutes:60}",
+            initialDelayString = "${app.notifications.retention.interval-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    void purgeQuietly() {
+        if (retention.isEnabled()) {
+            purge();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.dto.NotificationResponse;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.model.Notification;
+import com.concert.repository.NotificationRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read side of in-app notifications: listing and marking as read.
+ *
+ * Marking read adjusts this instance's unread count at once and records a
+ * {@link NotificationsChangedEvent} so the other instances and the user's
+ * live streams follow.
+ */
+@Service
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationProperties properties;
+    private final DomainEventOutbox outbox;
+
+    public NotificationService(NotificationRepository notificationRepository, UnreadNotificationCounter unreadCounter,
+                               NotificationProperties properties, DomainEventOutbox outbox) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.properties = properties;
+        this.outbox = outbox;
+    }
+
+    /**
+     * The user's notifications, newest first, older than {@code beforeId} if given.
+     */
+    public List<NotificationResponse> list(Long userId, Long beforeId, Integer limit) {
+        int size = limit == null ? properties.getMaxPageSize() : Math.max(1, Math.min(properties.getMaxPageSize(), limit));
+        return notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId,
+                        beforeId == null ? Long.MAX_VALUE : beforeId, PageRequest.ofSize(size))
+                .stream()
+                .map(NotificationService::toResponse)
+                .toList();
+    }
+
+    /**
+     * Mark one of the user's notifications as read. Returns {@code false} if the
+     * user has no such notification; marking an already read one is a no-op.
+     */
+    @Transactional
+    public boolean markRead(Long userId, Long notificationId) {
+        if (notificationRepository.markRead(notificationId, userId, LocalDateTime.now()) > 0) {
+            unreadCounter.decrement(userId, 1);
+            outbox.record(new NotificationsChangedEvent(List.of(userId)));
+            return true;
+        }
+        return notificationRepository.existsByIdAndUserId(notificationId, userId);
+    }
+
+    /**
+     * Mark all of the user's unread notifications read in one statement, or only
+     * those with an id up to {@code upToId} (what the client has displayed).
+     * Returns the number of notifications changed.
+     */
+    @Transactional
+    public int markAllRead(Long userId, Long upToId) {
+        int changed = notificationRepository.markAllRead(userId, upToId == null ? Long.MAX_VALUE : upToId,
+                LocalDateTime.now());
+        unreadCounter.decrement(userId, changed);
+        if (changed > 0) {
+            outbox.record(new NotificationsChangedEvent(List.of(userId)));
+        }
+        return changed;
+    }
+
+    /**
+     * Number of unread notifications; served from memory after the first call.
+     */
+    public long unreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    static NotificationResponse toResponse(Notification notification) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .userId(notification.getUserId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .read(notification.isRead())
+                .createdAt(notification.getCreatedAt())
+                .updatedAt(notification.getUpdatedAt())
+                .build();
+    }
+}
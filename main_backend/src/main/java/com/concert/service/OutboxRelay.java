@@ -0,0 +1,176 @@
+package com.concert.service;
+
+import com.concert.config.OutboxProperties;
+import com.concert.events.Broadcast;
+import com.concert.model.OutboxEvent;
+import com.concert.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the domain events recorded by {@link DomainEventOutbox}.
+ *
+ * One drain at a time reads the outbox in id order, a batch at a time, publishes
+ * each event to the in-process listeners and deletes the batch. When a Redis
+ * stream is configured the batch is first appended to it in one pipelined
+ * call; if that fails the rows stay and the batch is retried, so delivery is
+ * at least once. A commit wakes the relay right away, and a slow poll picks
+ * up rows written before a restart or by other instances.
+ *
+ * Each event is published twice: wrapped in a {@link Broadcast} for listeners
+ * that keep per-instance state, then bare for listeners with side effects
+ * (notifications, mail, reminders). Exactly one instance should relay, so the
+ * side effects happen once; when there are several, configure the Redis stream
+ * so that {@link OutboxStreamReader} hands the broadcasts to the others.
+ *
+ * Listeners run on the draining thread and should hand real work off quickly.
+ * A listener that throws is logged and skipped; it does not hold up the rest.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter published;
+    private final Counter failed;
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+    private final TaskScheduler taskScheduler;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       ObjectMapper objectMapper,
+                       OutboxProperties properties,
+                       ObjectProvider<StringRedisTemplate> redisTemplates,
+                       MeterRegistry meterRegistry,
+                       TaskScheduler taskScheduler) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.redisTemplate = hasStream(properties) ? redisTemplates.getIfAvailable() : null;
+        if (hasStream(properties) && redisTemplate == null) {
+            logger.warn("app.outbox.redis-stream is set but Redis is not configured; events stay in-process");
+        }
+        if (!properties.isRelayEnabled() && !hasStream(properties)) {
+            logger.warn("Outbox relay is disabled and no Redis stream is set; live updates and cached counts "
+                    + "on this instance only catch up through their periodic refresh");
+        }
+        this.published = meterRegistry.counter("outbox.published");
+        this.failed = meterRegistry.counter("outbox.failed");
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-millis:1000}")
+    void poll() {
+        if (properties.isRelayEnabled()) {
+            drainQuietly();
+        }
+    }
+
+    /**
+     * Ask for a drain soon; wake-ups arriving while one is queued share it.
+     */
+    void wake() {
+        if (!properties.isRelayEnabled() || !wakePending.compareAndSet(false, true)) {
+            return;
+        }
+        taskScheduler.schedule(this::drainQuietly, Instant.now());
+    }
+
+    /**
+     * Deliver everything currently in the outbox; returns the number of rows handled.
+     * A wake-up and a poll can both be running, so drains take turns.
+     */
+    synchronized int drain() {
+        wakePending.set(false);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int total = 0;
+        while (true) {
+            List<OutboxEvent> batch = outboxEventRepository.findOldest(PageRequest.ofSize(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            appendToStream(batch);
+            batch.forEach(this::deliver);
+            outboxEventRepository.deleteByIdIn(batch.stream().map(OutboxEvent::getId).toList());
+            total += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private void deliver(OutboxEvent row) {
+        Class<?> type = DomainEventOutbox.eventClass(row.getEventType());
+        if (type == null) {
+            logger.warn("Dropping outbox event {} of unknown type {}", row.getId(), row.getEventType());
+            failed.increment();
+            return;
+        }
+        try {
+            Object event = objectMapper.readValue(row.getPayload(), type);
+            eventPublisher.publishEvent(new Broadcast<>(event));
+            eventPublisher.publishEvent(event);
+            published.increment();
+        } catch (Exception e) {
+            logger.warn("Outbox event {} ({}) was not delivered: {}", row.getId(), row.getEventType(), e.getMessage());
+            failed.increment();
+        }
+    }
+
+    private void appendToStream(List<OutboxEvent> batch) {
+        if (redisTemplate == null) {
+            return;
+        }
+        String stream = properties.getRedisStream();
+        XAddOptions options = XAddOptions.maxlen(properties.getRedisMaxLength()).approximateTrimming(true);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (OutboxEvent row : batch) {
+                strings.xAdd(StreamRecords.string(Map.of(
+                                "id", String.valueOf(row.getId()),
+                                "type", row.getEventType(),
+                                "payload", row.getPayload()))
+                        .withStreamKey(stream), options);
+            }
+            return null;
+        });
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            logger.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    static boolean hasStream(OutboxProperties properties) {
+        return properties.getRedisStream() != null && !properties.getRedisStream().isBlank();
+    }
+}
@@ -0,0 +1,126 @@
+package com.concert.service;
+
+import com.concert.config.OutboxProperties;
+import com.concert.events.Broadcast;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands the domain events the relay appended to the Redis stream to this
+ * instance's broadcast listeners, so caches and live update streams on
+ * instances that do not relay see every change.
+ *
+ * Only runs where the relay is disabled and a stream is configured; the
+ * relaying instance publishes its broadcasts directly. Reading starts at the
+ * end of the stream, since missed history only matters to state this instance
+ * did not have yet, and carries on from the last entry read. Only
+ * {@link Broadcast} events are published here, never the bare event, so side
+ * effects still happen once, on the relay.
+ */
+@Component
+public class OutboxStreamReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxStreamReader.class);
+
+    // Stream ids are "<millis>-<sequence>"; nothing sorts below this one
+    private static final String STREAM_START = "0-0";
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter received;
+    private String lastId;
+
+    public OutboxStreamReader(ApplicationEventPublisher eventPublisher,
+                              ObjectMapper objectMapper,
+                              OutboxProperties properties,
+                              ObjectProvider<StringRedisTemplate> redisTemplates,
+                              MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.redisTemplate = !properties.isRelayEnabled() && OutboxRelay.hasStream(properties)
+                ? redisTemplates.getIfAvailable() : null;
+        this.received = meterRegistry.counter("outbox.stream.received");
+    }
+
+    /**
+     * Publish the entries appended since the last read; returns how many were read.
+     */
+    synchronized int read() {
+        if (redisTemplate == null) {
+            return 0;
+        }
+        String stream = properties.getRedisStream();
+        if (lastId == null) {
+            lastId = latestId(stream);
+        }
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                StreamReadOptions.empty().count(Math.max(1, properties.getBatchSize())),
+                StreamOffset.create(stream, ReadOffset.from(lastId)));
+        if (records == null) {
+            return 0;
+        }
+        for (MapRecord<String, Object, Object> record : records) {
+            lastId = record.getId().getValue();
+            publish(record);
+        }
+        return records.size();
+    }
+
+    private String latestId(String stream) {
+        List<MapRecord<String, Object, Object>> latest = redisTemplate.opsForStream()
+                .reverseRange(stream, Range.unbounded(), Limit.limit().count(1));
+        return latest == null || latest.isEmpty() ? STREAM_START : latest.get(0).getId().getValue();
+    }
+
+    private void publish(MapRecord<String, Object, Object> record) {
+        Object type = record.getValue().get("type");
+        Class<?> eventClass = type == null ? null : DomainEventOutbox.eventClass(type.toString());
+        if (eventClass == null) {
+            logger.warn("Skipping stream entry {} of unknown type {}", record.getId(), type);
+            return;
+        }
+        try {
+            Object event = objectMapper.readValue(String.valueOf(record.getValue().get("payload")), eventClass);
+            eventPublisher.publishEvent(new Broadcast<>(event));
+            received.increment();
+        } catch (Exception e) {
+            logger.warn("Stream entry {} ({}) was not delivered: {}", record.getId(), type, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.stream-poll-millis:250}")
+    void readQuietly() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            int count;
+            // Keep going while full batches come back
+            do {
+                count = read();
+            } while (count >= batchSize);
+        } catch (Exception e) {
+            logger.warn("Failed to read outbox stream, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.concert.service;
+
+import com.concert.config.AuthProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated, bounded pool.
+ *
+ * A burst of logins or registrations can only occupy {@code threads} CPU-heavy
+ * workers plus {@code queueCapacity} waiting callers; anyone beyond that is
+ * rejected straight away with {@link AuthBusyException} instead of tying up
+ * request threads the rest of the API needs. Hashing time is published as
+ * {@code auth.password.hashing} and rejections as {@code auth.password.rejected}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, AuthProperties authProperties,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        AuthProperties.Hashing hashing = authProperties.getHashing();
+        this.timeoutMs = hashing.getTimeoutMs();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, hashing.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, hashing.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hashing").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hashing").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected").register(meterRegistry);
+        Gauge.builder("auth.password.queued", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hash a batch of passwords in parallel, keeping at most one task per pool
+     * thread in flight so sign-ins queued behind the batch are not starved.
+     * Results are in input order.
+     *
+     * @throws AuthBusyException if the pool is saturated; the batch is never
+     *         hashed on the caller's (request) thread
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        for (CharSequence rawPassword : rawPasswords) {
+            if (inFlight.size() >= window) {
+                encoded.add(await(inFlight.poll()));
+            }
+            FutureTask<String> task = new FutureTask<>(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                inFlight.forEach(pending -> pending.cancel(true));
+                rejected.increment();
+                throw new AuthBusyException("Too many sign-in requests, please retry shortly");
+            }
+            inFlight.add(task);
+        }
+        while (!inFlight.isEmpty()) {
+            encoded.add(await(inFlight.poll()));
+        }
+        return encoded;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new AuthBusyException("Too many sign-in requests, please retry shortly");
+        }
+        return await(future);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new AuthBusyException("Too many sign-in requests, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,90 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.time.Duration;
+
+/**
+ * Shared signer for S3 GET URLs used by event photos and user avatars.
+ *
+ * Signed URLs are cached per bucket/key and handed out until a safety margin
+ * before they expire, so clients and the CDN see a stable URL they can cache.
+ * Entries that keep getting read are re-signed in the background once they
+ * pass half their lifetime; cold entries simply expire.
+ */
+@Service
+public class PresignedUrlService {
+
+    private final S3Presigner s3Presigner;
+    private final AwsProperties awsProperties;
+    private final Duration signatureDuration;
+    private final LoadingCache<ObjectKey, String> cache;
+
+    public PresignedUrlService(S3Presigner s3Presigner, AwsProperties awsProperties, MeterRegistry meterRegistry) {
+        this.s3Presigner = s3Presigner;
+        this.awsProperties = awsProperties;
+
+        AwsProperties.S3Properties s3 = awsProperties.getS3();
+        this.signatureDuration = Duration.ofMinutes(s3.getPresignedUrlExpirationMinutes());
+        Duration margin = Duration.ofSeconds(s3.getPresignedUrlSafetyMarginSeconds());
+        Duration usableLifetime = signatureDuration.minus(margin);
+        if (usableLifetime.compareTo(signatureDuration.dividedBy(2)) < 0) {
+            usableLifetime = signatureDuration.dividedBy(2);
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(s3.getPresignedUrlCacheMaxSize())
+                .expireAfterWrite(usableLifetime)
+                .refreshAfterWrite(usableLifetime.dividedBy(2))
+                .recordStats()
+                .build(this::sign);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "presignedUrls");
+    }
+
+    /**
+     * Presigned GET URL for the object, reused while it is still safely valid.
+     */
+    public String getPresignedUrl(String bucket, String key) {
+        return cache.get(new ObjectKey(bucket, key));
+    }
+
+    /**
+     * URL clients should use for the object: a presigned URL when presigning is
+     * enabled, otherwise the plain public bucket URL.
+     */
+    public String resolveUrl(String bucket, String key) {
+        if (awsProperties.getS3().isPresignedUrlsEnabled()) {
+            return getPresignedUrl(bucket, key);
+        }
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucket, awsProperties.getRegion(), key);
+    }
+
+    public void invalidate(String bucket, String key) {
+        cache.invalidate(new ObjectKey(bucket, key));
+    }
+
+    private String sign(ObjectKey objectKey) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(objectKey.bucket())
+                .key(objectKey.key())
+                .build();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(signatureDuration)
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+
+    private record ObjectKey(String bucket, String key) {
+    }
+}
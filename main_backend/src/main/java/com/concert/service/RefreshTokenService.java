@@ -0,0 +1,135 @@
+package com.concert.service;
+
+import com.concert.model.RefreshToken;
+import com.concert.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ *
+ * Tokens are random and only their SHA-256 is stored. Every exchange revokes
+ * the presented token and issues a new one; if an already-used token comes
+ * back, the whole family for that user is revoked, since someone other than
+ * the owner must be holding a copy.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:2592000000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    public String issue(Long userId) {
+        String token = newToken();
+        save(userId, hash(token));
+        return token;
+    }
+
+    /**
+     * Exchange {@code token} for a new refresh token.
+     *
+     * @throws IllegalArgumentException if the token is unknown, expired or already used
+     */
+    // Reuse revokes the user's other tokens and then rejects; that revocation must stick
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = find(token);
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            reuseDetected(current, now);
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new IllegalArgumentException("Refresh token expired");
+        }
+
+        String next = newToken();
+        String nextHash = hash(next);
+        // A concurrent exchange of the same token already won: treat like reuse
+        if (refreshTokenRepository.markUsed(current.getId(), nextHash, now) == 0) {
+            reuseDetected(current, now);
+        }
+        save(current.getUserId(), nextHash);
+        return new Rotation(current.getUserId(), next);
+    }
+
+    /**
+     * Revoke {@code token}; unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(existing -> existing.getRevokedAt() == null)
+                .ifPresent(existing -> refreshTokenRepository.markUsed(existing.getId(), null, LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    private RefreshToken find(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        return refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+    }
+
+    private void reuseDetected(RefreshToken token, LocalDateTime now) {
+        logger.warn("Refresh token reuse detected for user {}, revoking all refresh tokens", token.getUserId());
+        refreshTokenRepository.revokeAllForUser(token.getUserId(), now);
+        throw new IllegalArgumentException("Invalid refresh token");
+    }
+
+    private void save(Long userId, String tokenHash) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshExpirationMs, ChronoUnit.MILLIS))
+                .build());
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
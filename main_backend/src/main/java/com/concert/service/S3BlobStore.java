@@ -0,0 +1,136 @@
+package com.concert.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Default {@link BlobStore}: streamed uploads, cached HEAD lookups and cached
+ * presigned URLs on top of S3.
+ *
+ * The async operations run on {@link S3AsyncClient} behind the
+ * {@link StorageBulkhead}; the blocking ones remain for background workers
+ * such as the image derivative pipeline.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3BlobStore implements BlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3BlobStore.class);
+
+    private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final S3StreamingUploader streamingUploader;
+    private final S3ObjectExistenceCache existenceCache;
+    private final PresignedUrlService presignedUrlService;
+    private final StorageBulkhead bulkhead;
+
+    public S3BlobStore(S3Client s3Client,
+                       S3AsyncClient s3AsyncClient,
+                       S3StreamingUploader streamingUploader,
+                       S3ObjectExistenceCache existenceCache,
+                       PresignedUrlService presignedUrlService,
+                       StorageBulkhead bulkhead) {
+        this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.streamingUploader = streamingUploader;
+        this.existenceCache = existenceCache;
+        this.presignedUrlService = presignedUrlService;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public void put(String bucket, String key, InputStream content, long contentLength,
+                    String contentType, Map<String, String> metadata) throws IOException {
+        streamingUploader.upload(putRequest(bucket, key, contentType, metadata), content, contentLength);
+        existenceCache.markPresent(bucket, key);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String bucket, String key, InputStream content, long contentLength,
+                                            String contentType, Map<String, String> metadata) {
+        return bulkhead.call(() -> streamingUploader.uploadAsync(
+                        putRequest(bucket, key, contentType, metadata), content, contentLength))
+                .whenComplete((result, error) -> {
+                    closeQuietly(content);
+                    if (error == null) {
+                        existenceCache.markPresent(bucket, key);
+                    }
+                });
+    }
+
+    @Override
+    public boolean exists(String bucket, String key) {
+        return existenceCache.exists(bucket, key);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsAsync(String bucket, String key) {
+        return bulkhead.call(() -> existenceCache.existsAsync(bucket, key));
+    }
+
+    @Override
+    public InputStream open(String bucket, String key) {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+        forget(bucket, key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String bucket, String key) {
+        return bulkhead.call(() -> s3AsyncClient.deleteObject(DeleteObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .build()))
+                .thenRun(() -> forget(bucket, key));
+    }
+
+    @Override
+    public String url(String bucket, String key) {
+        return presignedUrlService.resolveUrl(bucket, key);
+    }
+
+    private PutObjectRequest putRequest(String bucket, String key, String contentType, Map<String, String> metadata) {
+        return PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .cacheControl("public, max-age=31536000, immutable")
+                .serverSideEncryption("AES256")
+                .metadata(metadata)
+                .build();
+    }
+
+    private void forget(String bucket, String key) {
+        existenceCache.invalidate(bucket, key);
+        presignedUrlService.invalidate(bucket, key);
+    }
+
+    private void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close upload stream: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Answers "does this object exist?" with a HEAD request instead of a GET,
+ * and remembers the answer so repeated photo lookups stay in memory.
+ * Missing keys are cached too, but for a much shorter time.
+ */
+@Service
+public class S3ObjectExistenceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3ObjectExistenceCache.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final Cache<ObjectKey, Boolean> cache;
+
+    public S3ObjectExistenceCache(S3AsyncClient s3AsyncClient, AwsProperties awsProperties) {
+        this.s3AsyncClient = s3AsyncClient;
+        AwsProperties.S3Properties s3 = awsProperties.getS3();
+        Duration positiveTtl = Duration.ofSeconds(s3.getExistenceCacheTtlSeconds());
+        Duration negativeTtl = Duration.ofSeconds(s3.getExistenceCacheNegativeTtlSeconds());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(s3.getExistenceCacheMaxSize())
+                .expireAfter(Expiry.creating((ObjectKey key, Boolean exists) -> exists ? positiveTtl : negativeTtl))
+                .build();
+    }
+
+    /**
+     * Cached answer if there is one, otherwise a non-blocking HEAD.
+     */
+    public CompletableFuture<Boolean> existsAsync(String bucket, String key) {
+        ObjectKey objectKey = new ObjectKey(bucket, key);
+        Boolean cached = cache.getIfPresent(objectKey);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return headObject(objectKey).thenApply(exists -> {
+            cache.put(objectKey, exists);
+            return exists;
+        });
+    }
+
+    public boolean exists(String bucket, String key) {
+        try {
+            return existsAsync(bucket, key).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Record an object we just wrote so the next lookup does not go to S3.
+     */
+    public void markPresent(String bucket, String key) {
+        cache.put(new ObjectKey(bucket, key), Boolean.TRUE);
+    }
+
+    public void invalidate(String bucket, String key) {
+        cache.invalidate(new ObjectKey(bucket, key));
+    }
+
+    private CompletableFuture<Boolean> headObject(ObjectKey objectKey) {
+        return s3AsyncClient.headObject(HeadObjectRequest.builder()
+                        .bucket(objectKey.bucket())
+                        .key(objectKey.key())
+                        .build())
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return Boolean.TRUE;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof NoSuchKeyException) {
+                        return Boolean.FALSE;
+                    }
+                    if (cause instanceof S3Exception s3Exception) {
+                        // HEAD responses carry no body, so a missing key can also surface as a bare 404
+                        if (s3Exception.statusCode() == 404) {
+                            return Boolean.FALSE;
+                        }
+                        logger.warn("HEAD {}/{} failed with status {}", objectKey.bucket(), objectKey.key(),
+                                s3Exception.statusCode());
+                    }
+                    throw cause instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    private record ObjectKey(String bucket, String key) {
+    }
+}
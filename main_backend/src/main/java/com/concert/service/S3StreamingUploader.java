@@ -0,0 +1,271 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams uploads to S3 without holding the whole file on the heap.
+ *
+ * Objects that fit in one part go up as a single streamed PUT. Anything larger
+ * becomes a multipart upload, read one part at a time into a buffer borrowed
+ * from a fixed pool, so heap use per upload is one part and heap use overall
+ * is at most {@code uploadBufferPoolSize * uploadPartSizeBytes}.
+ *
+ * {@link #uploadAsync} does the same on {@link S3AsyncClient}: the request
+ * thread returns immediately, parts are chained with {@code thenCompose},
+ * and the blocking reads of the spooled upload run on virtual threads.
+ */
+@Service
+public class S3StreamingUploader {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StreamingUploader.class);
+
+    // S3 rejects multipart parts smaller than 5 MiB (except the last one)
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final ExecutorService readExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int partSize;
+    private final long acquireTimeoutMs;
+    private final Semaphore bufferPermits;
+    private final ConcurrentLinkedQueue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+
+    public S3StreamingUploader(S3Client s3Client, S3AsyncClient s3AsyncClient, AwsProperties awsProperties) {
+        this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        AwsProperties.S3Properties s3 = awsProperties.getS3();
+        this.partSize = Math.max(MIN_PART_SIZE, s3.getUploadPartSizeBytes());
+        this.acquireTimeoutMs = s3.getUploadBufferAcquireTimeoutMs();
+        this.bufferPermits = new Semaphore(s3.getUploadBufferPoolSize(), true);
+    }
+
+    /**
+     * Upload {@code content} using the bucket, key, content type, encryption and
+     * metadata from {@code template}.
+     */
+    public void upload(PutObjectRequest template, InputStream content, long contentLength) throws IOException {
+        if (contentLength >= 0 && contentLength <= partSize) {
+            s3Client.putObject(template, RequestBody.fromInputStream(content, contentLength));
+            return;
+        }
+        uploadMultipart(template, content);
+    }
+
+    private void uploadMultipart(PutObjectRequest template, InputStream content) throws IOException {
+        byte[] buffer = acquireBuffer();
+        String uploadId = null;
+        try {
+            uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(template.bucket())
+                    .key(template.key())
+                    .contentType(template.contentType())
+                    .serverSideEncryption(template.serverSideEncryptionAsString())
+                    .metadata(template.metadata())
+                    .build()).uploadId();
+
+            List<CompletedPart> parts = new ArrayList<>();
+            int partNumber = 1;
+            int read;
+            while ((read = content.readNBytes(buffer, 0, partSize)) > 0) {
+                final int length = read;
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(template.bucket())
+                                .key(template.key())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build(),
+                        RequestBody.fromContentProvider(() -> new ByteArrayInputStream(buffer, 0, length),
+                                length, template.contentType())).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                partNumber++;
+            }
+
+            if (parts.isEmpty()) {
+                // Unknown length that turned out to be empty: multipart cannot complete with zero parts
+                abortQuietly(template, uploadId);
+                uploadId = null;
+                s3Client.putObject(template, RequestBody.empty());
+                return;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(template.bucket())
+                    .key(template.key())
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            if (uploadId != null) {
+                abortQuietly(template, uploadId);
+            }
+            throw e;
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #upload}. The returned future completes once
+     * S3 has the whole object; the caller must keep {@code content} open until then.
+     */
+    public CompletableFuture<Void> uploadAsync(PutObjectRequest template, InputStream content, long contentLength) {
+        if (contentLength >= 0 && contentLength <= partSize) {
+            return s3AsyncClient.putObject(template,
+                    AsyncRequestBody.fromInputStream(content, contentLength, readExecutor)).thenApply(response -> null);
+        }
+        // Never park the caller waiting for a buffer; report back-pressure instead
+        byte[] buffer = tryAcquireBuffer();
+        if (buffer == null) {
+            return CompletableFuture.failedFuture(new StorageBusyException("Upload capacity exhausted, please retry shortly"));
+        }
+        return s3AsyncClient.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(template.bucket())
+                        .key(template.key())
+                        .contentType(template.contentType())
+                        .serverSideEncryption(template.serverSideEncryptionAsString())
+                        .metadata(template.metadata())
+                        .build())
+                .thenCompose(created -> uploadPartsAsync(template, created.uploadId(), content, buffer, 1, new ArrayList<>())
+                        .thenCompose(parts -> finishAsync(template, created.uploadId(), parts))
+                        .whenComplete((result, error) -> {
+                            if (error != null) {
+                                abortAsync(template, created.uploadId());
+                            }
+                        }))
+                .whenComplete((result, error) -> releaseBuffer(buffer));
+    }
+
+    private CompletableFuture<List<CompletedPart>> uploadPartsAsync(PutObjectRequest template, String uploadId,
+                                                                    InputStream content, byte[] buffer,
+                                                                    int partNumber, List<CompletedPart> parts) {
+        return CompletableFuture.supplyAsync(() -> readPart(content, buffer), readExecutor)
+                .thenCompose(read -> {
+                    if (read <= 0) {
+                        return CompletableFuture.completedFuture(parts);
+                    }
+                    // The buffer is only refilled after S3 has acknowledged this part
+                    return s3AsyncClient.uploadPart(UploadPartRequest.builder()
+                                            .bucket(template.bucket())
+                                            .key(template.key())
+                                            .uploadId(uploadId)
+                                            .partNumber(partNumber)
+                                            .contentLength((long) read)
+                                            .build(),
+                                    AsyncRequestBody.fromByteBufferUnsafe(ByteBuffer.wrap(buffer, 0, read)))
+                            .thenCompose(response -> {
+                                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+                                return uploadPartsAsync(template, uploadId, content, buffer, partNumber + 1, parts);
+                            });
+                });
+    }
+
+    private CompletableFuture<Void> finishAsync(PutObjectRequest template, String uploadId, List<CompletedPart> parts) {
+        if (parts.isEmpty()) {
+            abortAsync(template, uploadId);
+            return s3AsyncClient.putObject(template, AsyncRequestBody.empty()).thenApply(response -> null);
+        }
+        return s3AsyncClient.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(template.bucket())
+                        .key(template.key())
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                        .build())
+                .thenApply(response -> null);
+    }
+
+    private int readPart(InputStream content, byte[] buffer) {
+        try {
+            return content.readNBytes(buffer, 0, partSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void abortAsync(PutObjectRequest template, String uploadId) {
+        s3AsyncClient.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(template.bucket())
+                        .key(template.key())
+                        .uploadId(uploadId)
+                        .build())
+                .whenComplete((response, abortEx) -> {
+                    if (abortEx != null) {
+                        logger.warn("Failed to abort multipart upload {} for {}/{}: {}",
+                                uploadId, template.bucket(), template.key(), abortEx.getMessage());
+                    }
+                });
+    }
+
+    private byte[] tryAcquireBuffer() {
+        if (!bufferPermits.tryAcquire()) {
+            return null;
+        }
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private byte[] acquireBuffer() {
+        try {
+            if (!bufferPermits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Upload capacity exhausted, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an upload buffer", e);
+        }
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+        bufferPermits.release();
+    }
+
+    private void abortQuietly(PutObjectRequest template, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(template.bucket())
+                    .key(template.key())
+                    .uploadId(uploadId)
+                    .build());
+        } catch (RuntimeException abortEx) {
+            logger.warn("Failed to abort multipart upload {} for {}/{}: {}",
+                    uploadId, template.bucket(), template.key(), abortEx.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readExecutor.shutdown();
+    }
+}
@@ -0,0 +1,130 @@
+package com.concert.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps authenticated SMTP connections open between sends.
+ *
+ * {@link JavaMailSenderImpl} connects, authenticates and disconnects on every
+ * call; here a sender borrows a connection, pushes a batch of messages through
+ * it and hands it back for the next batch. Connections that fail are
+ * discarded, and idle ones are closed after a while so the server does not
+ * have to time them out.
+ */
+class SmtpConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    private record IdleConnection(Transport transport, long idleSince) {
+    }
+
+    private final JavaMailSenderImpl settings;
+    private final int maxIdle;
+    private final long idleTimeoutMillis;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    SmtpConnectionPool(JavaMailSenderImpl settings, int maxIdle, long idleTimeoutMillis) {
+        this.settings = settings;
+        this.maxIdle = Math.max(1, maxIdle);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    Session session() {
+        return settings.getSession();
+    }
+
+    /**
+     * An open connection, reused when one is idle and still alive.
+     */
+    Transport borrow() throws MessagingException {
+        IdleConnection candidate;
+        while ((candidate = takeIdle()) != null) {
+            if (System.currentTimeMillis() - candidate.idleSince() < idleTimeoutMillis
+                    && candidate.transport().isConnected()) {
+                return candidate.transport();
+            }
+            closeQuietly(candidate.transport());
+        }
+        String protocol = settings.getProtocol() != null ? settings.getProtocol() : "smtp";
+        Transport transport = settings.getSession().getTransport(protocol);
+        transport.connect(settings.getHost(), settings.getPort(), settings.getUsername(), settings.getPassword());
+        return transport;
+    }
+
+    /**
+     * Return a healthy connection for reuse.
+     */
+    void release(Transport transport) {
+        synchronized (idle) {
+            if (!closed && idle.size() < maxIdle) {
+                idle.push(new IdleConnection(transport, System.currentTimeMillis()));
+                return;
+            }
+        }
+        closeQuietly(transport);
+    }
+
+    /**
+     * Drop a connection after an error; it is not reused.
+     */
+    void invalidate(Transport transport) {
+        closeQuietly(transport);
+    }
+
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<Transport> expired = new ArrayList<>();
+        synchronized (idle) {
+            idle.removeIf(connection -> {
+                if (now - connection.idleSince() >= idleTimeoutMillis) {
+                    expired.add(connection.transport());
+                    return true;
+                }
+                return false;
+            });
+        }
+        expired.forEach(SmtpConnectionPool::closeQuietly);
+    }
+
+    int idleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    private IdleConnection takeIdle() {
+        synchronized (idle) {
+            return idle.poll();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<IdleConnection> open;
+        synchronized (idle) {
+            closed = true;
+            open = new ArrayList<>(idle);
+            idle.clear();
+        }
+        open.forEach(connection -> closeQuietly(connection.transport()));
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+}
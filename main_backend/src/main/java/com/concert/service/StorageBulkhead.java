@@ -0,0 +1,51 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many storage calls may be in flight at once.
+ *
+ * A call that cannot get a permit fails immediately with
+ * {@link StorageBusyException} instead of waiting, so a slow S3 turns into
+ * fast 503s for photo requests while bookings and the rest of the API keep
+ * their threads and connections.
+ */
+@Component
+public class StorageBulkhead {
+
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public StorageBulkhead(AwsProperties awsProperties, MeterRegistry meterRegistry) {
+        this.maxConcurrent = Math.max(1, awsProperties.getS3().getMaxConcurrentRequests());
+        this.permits = new Semaphore(maxConcurrent);
+        Gauge.builder("storage.requests.in_flight", this, StorageBulkhead::inFlight)
+                .description("Storage calls currently holding a bulkhead permit")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> operation) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new StorageBusyException("Storage is busy, please retry shortly"));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> permits.release());
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
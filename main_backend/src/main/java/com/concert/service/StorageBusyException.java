@@ -0,0 +1,16 @@
+package com.concert.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when storage is already handling as many calls as it is allowed to.
+ * Clients should retry shortly.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StorageBusyException extends RuntimeException {
+
+    public StorageBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,128 @@
+package com.concert.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: items are placed in a bucket by expiry time and
+ * handed back once their tick has passed.
+ *
+ * Level 0 has {@code wheelSize} buckets of one tick each; every level above
+ * has buckets as wide as the whole level below. Items too far out for a level
+ * wait in a coarser one and cascade down as time reaches their bucket, so
+ * adding and advancing cost O(1) per item regardless of how far ahead it is.
+ * Not thread-safe; the owner drives it from a single thread.
+ */
+class TimingWheel<T> {
+
+    private record Entry<T>(long expiresAt, T item) {
+    }
+
+    private static final class Level<T> {
+        final long tick;
+        final long span;
+        final List<List<Entry<T>>> buckets;
+        long currentTime;
+
+        Level(long tick, int wheelSize, long startTime) {
+            this.tick = tick;
+            this.span = tick * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            this.currentTime = startTime - Math.floorMod(startTime, tick);
+        }
+
+        List<Entry<T>> bucketFor(long time) {
+            return buckets.get((int) Math.floorMod(Math.floorDiv(time, tick), (long) buckets.size()));
+        }
+    }
+
+    private final List<Level<T>> levels;
+    private final List<Entry<T>> due = new ArrayList<>();
+    private int size;
+
+    TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.levels = new ArrayList<>(levelCount);
+        long tick = tickMillis;
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(new Level<>(tick, wheelSize, startMillis));
+            tick = Math.multiplyExact(tick, wheelSize);
+        }
+    }
+
+    /**
+     * Furthest expiry, relative to the current time, that {@link #add} accepts.
+     */
+    long horizonMillis() {
+        return levels.get(levels.size() - 1).span;
+    }
+
+    /**
+     * Place {@code item} to be returned once {@code expiresAt} has passed.
+     * Returns false if it lies beyond the outermost level.
+     */
+    boolean add(long expiresAt, T item) {
+        if (!place(new Entry<>(expiresAt, item))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    private boolean place(Entry<T> entry) {
+        Level<T> first = levels.get(0);
+        if (entry.expiresAt() < first.currentTime + first.tick) {
+            due.add(entry);
+            return true;
+        }
+        for (Level<T> level : levels) {
+            if (entry.expiresAt() < level.currentTime + level.span) {
+                level.bucketFor(entry.expiresAt()).add(entry);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Move the clock to {@code nowMillis} and return every item whose tick has passed.
+     */
+    List<T> advance(long nowMillis) {
+        List<Entry<T>> cascading = new ArrayList<>();
+        for (Level<T> level : levels) {
+            long target = nowMillis - Math.floorMod(nowMillis, level.tick);
+            if (target <= level.currentTime) {
+                continue;
+            }
+            // After a long pause every bucket is drained once rather than once per missed tick
+            long steps = Math.min((target - level.currentTime) / level.tick, level.buckets.size());
+            for (long step = 1; step <= steps; step++) {
+                List<Entry<T>> bucket = level.bucketFor(level.currentTime + step * level.tick);
+                cascading.addAll(bucket);
+                bucket.clear();
+            }
+            level.currentTime = target;
+        }
+        // Re-placed entries either fall due now or move to a finer level
+        for (Entry<T> entry : cascading) {
+            place(entry);
+        }
+
+        List<T> expired = new ArrayList<>(due.size());
+        for (Entry<T> entry : due) {
+            expired.add(entry.item());
+        }
+        due.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,16 @@
+package com.concert.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a client already has as many live update streams open as it is
+ * allowed. Clients should close one or retry later.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyStreamsException extends RuntimeException {
+
+    public TooManyStreamsException(String message) {
+        super(message);
+    }
+}
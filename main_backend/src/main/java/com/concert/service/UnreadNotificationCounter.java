@@ -0,0 +1,101 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.events.Broadcast;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user unread notification counts, kept in memory.
+ *
+ * A count is loaded with one indexed count query the first time it is asked
+ * for and kept until the user's notifications change, so badge polling is a
+ * map lookup. Every instance hears of changes through a broadcast
+ * {@link NotificationsChangedEvent} and drops the affected counts, which also
+ * makes a duplicate delivery harmless; the instance that marked notifications
+ * read adjusts its own count straight away. Any drift left over (a missed
+ * broadcast, a race between a load and a change) is corrected by a periodic
+ * re-count of the cached users, done in grouped queries of a few hundred
+ * users at a time.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private static final int RECONCILE_CHUNK = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, Long> counts;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     NotificationProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(properties.getUnreadCacheMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unreadNotifications");
+    }
+
+    public long get(Long userId) {
+        return counts.get(userId, notificationRepository::countByUserIdAndReadFalse);
+    }
+
+    public void decrement(Long userId, long by) {
+        counts.asMap().computeIfPresent(userId, (id, count) -> Math.max(0, count - by));
+    }
+
+    public void invalidate(Long userId) {
+        counts.invalidate(userId);
+    }
+
+    @EventListener
+    public void onNotificationsChanged(Broadcast<NotificationsChangedEvent> broadcast) {
+        counts.invalidateAll(broadcast.event().userIds());
+    }
+
+    /**
+     * Re-count every cached user from the table.
+     */
+    void reconcile() {
+        List<Long> cached = new ArrayList<>(counts.asMap().keySet());
+        for (int from = 0; from < cached.size(); from += RECONCILE_CHUNK) {
+            List<Long> chunk = cached.subList(from, Math.min(from + RECONCILE_CHUNK, cached.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIds(chunk)) {
+                actual.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+            for (Long userId : chunk) {
+                // Only overwrite entries that are still cached
+                counts.asMap().computeIfPresent(userId, (id, count) -> actual.getOrDefault(id, 0L));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-reconcile-seconds:300}",
+            initialDelayString = "${app.notifications.unread-reconcile-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.warn("Failed to reconcile unread notification counts: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.concert.service;
+
+import com.concert.model.User;
+import com.concert.repository.UserRepository;
+import com.concert.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Turns the authenticated principal into a {@link User} without a query per request.
+ *
+ * Tokens we issue carry the user id, so those callers resolve straight to a
+ * JPA reference. For other tokens the username-to-identity mapping is loaded
+ * once and cached; profile updates must call {@link #remember} or
+ * {@link #invalidate} so the cached profile does not go stale.
+ */
+@Component
+public class UserIdentityCache {
+
+    /**
+     * The id and lightweight profile of a user.
+     */
+    public record UserIdentity(Long id, String username, String name, String email) {
+
+        static UserIdentity of(User user) {
+            return new UserIdentity(user.getId(), user.getUsername(), user.getName(), user.getEmail());
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserIdentity> cache;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             @Value("${app.user-identity-cache.max-size:10000}") long maxSize,
+                             @Value("${app.user-identity-cache.ttl-seconds:600}") long ttlSeconds,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userIdentities");
+    }
+
+    /**
+     * The caller as a {@link User}; for a cached or token-supplied id this is an
+     * uninitialised reference, so only reading fields other than the id hits the database.
+     */
+    public Optional<User> findUser(Authentication authentication) {
+        if (authentication == null || authentication.getName() == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal && principal.id() != null) {
+            return Optional.of(userRepository.getReferenceById(principal.id()));
+        }
+        return findUser(authentication.getName());
+    }
+
+    public Optional<User> findUser(String username) {
+        UserIdentity identity = cache.getIfPresent(username);
+        if (identity != null) {
+            return Optional.of(userRepository.getReferenceById(identity.id()));
+        }
+        Optional<User> user = userRepository.findByUsername(username);
+        user.ifPresent(this::remember);
+        return user;
+    }
+
+    public Optional<UserIdentity> identify(String username) {
+        UserIdentity identity = cache.getIfPresent(username);
+        if (identity != null) {
+            return Optional.of(identity);
+        }
+        return userRepository.findByUsername(username).map(user -> {
+            remember(user);
+            return UserIdentity.of(user);
+        });
+    }
+
+    public void remember(User user) {
+        if (user != null && user.getId() != null && user.getUsername() != null) {
+            cache.put(user.getUsername(), UserIdentity.of(user));
+        }
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+}
@@ -5,41 +5,43 @@ import com.concert.dto.UserProfileResponse;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
-
-import java.io.IOException;
-import java.time.Duration;
+
+import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class UserProfileService {
 
+    private static final int PHOTO_SWAP_ATTEMPTS = 5;
+
     private final UserRepository userRepository;
-    private final S3Client s3Client;
-    private final S3Presigner s3Presigner;
+    private final BlobStore blobStore;
+    private final ContentAddressedStorage contentAddressedStorage;
+    private final ImageDerivativeService imageDerivativeService;
     private final AwsProperties awsProperties;
 
     public UserProfileService(UserRepository userRepository,
-                              S3Client s3Client,
-                              S3Presigner s3Presigner,
+                              BlobStore blobStore,
+                              ContentAddressedStorage contentAddressedStorage,
+                              ImageDerivativeService imageDerivativeService,
                               AwsProperties awsProperties) {
         this.userRepository = userRepository;
-        this.s3Client = s3Client;
-        this.s3Presigner = s3Presigner;
+        this.blobStore = blobStore;
+        this.contentAddressedStorage = contentAddressedStorage;
+        this.imageDerivativeService = imageDerivativeService;
         this.awsProperties = awsProperties;
     }
 
-    @Transactional
-    public UserProfileResponse uploadProfilePhoto(User user, MultipartFile file) {
+    /**
+     * Stores the avatar by content without holding the request thread, then
+     * points the user at it with a compare-and-swap on the avatar key and
+     * releases only the key actually replaced. If the user is gone or the
+     * update fails, the new reference is released and the upload fails.
+     */
+    public CompletableFuture<UserProfileResponse> uploadProfilePhoto(User user, MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Profile photo file is required");
         }
@@ -49,28 +51,48 @@ public class UserProfileService {
             throw new IllegalStateException("User avatars bucket is not configured");
         }
 
-        try {
-            String key = buildObjectKey(user.getId(), file.getOriginalFilename());
-
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .serverSideEncryption("AES256")
-                    .metadata(Map.of("userId", String.valueOf(user.getId())))
-                    .build();
-
-            s3Client.putObject(request, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-
-            user.setProfilePhoto(key);
-            User saved = userRepository.save(user);
+        return contentAddressedStorage.store(bucket, "users/blobs/", file)
+                .thenApply(stored -> {
+                    String key = stored.key();
+                    String replaced;
+                    try {
+                        replaced = swapProfilePhoto(user.getId(), key);
+                    } catch (RuntimeException e) {
+                        contentAddressedStorage.release(bucket, key);
+                        throw e;
+                    }
+                    user.setProfilePhoto(key);
+                    user.setProfilePhotoVariants(null);
+                    imageDerivativeService.scheduleAvatar(user.getId(), bucket, key);
+                    if (isStoredKey(replaced)) {
+                        contentAddressedStorage.release(bucket, replaced);
+                    }
+                    return buildResponse(user);
+                })
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof StorageBusyException busy) {
+                        throw busy;
+                    }
+                    throw new RuntimeException("Failed to upload profile photo: " + cause.getMessage(), cause);
+                });
+    }
 
-            return buildResponse(saved);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read profile photo", e);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to upload profile photo: " + e.getMessage(), e);
+    /**
+     * Point the user at {@code key}, retrying if another upload changed the
+     * avatar in between. Returns the key that was replaced.
+     */
+    private String swapProfilePhoto(Long userId, String key) {
+        for (int attempt = 0; attempt < PHOTO_SWAP_ATTEMPTS; attempt++) {
+            User current = userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User was deleted during the upload"));
+            String previous = current.getProfilePhoto();
+            if (userRepository.swapProfilePhoto(userId, previous, key, LocalDateTime.now()) == 1) {
+                return previous;
+            }
         }
+        throw new IllegalStateException("Profile photo kept changing during the upload");
     }
 
     public UserProfileResponse buildResponse(User user) {
@@ -94,6 +116,7 @@ public class UserProfileService {
         );
 
         response.setProfilePhoto(resolvePhotoUrl(user.getProfilePhoto()));
+        response.setProfilePhotoVariants(resolveVariantUrls(user));
         return response;
     }
 
@@ -111,34 +134,23 @@ public class UserProfileService {
             return storedValue;
         }
 
-        if (awsProperties.getS3().isPresignedUrlsEnabled()) {
-            return generatePresignedUrl(bucket, storedValue);
-        }
-
-        String region = awsProperties.getRegion();
-        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucket, region, storedValue);
+        return blobStore.url(bucket, storedValue);
     }
 
-    private String generatePresignedUrl(String bucket, String key) {
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucket)
-                .key(key)
-                .build();
-
-        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(awsProperties.getS3().getPresignedUrlExpirationMinutes()))
-                .getObjectRequest(getObjectRequest)
-                .build();
-
-        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
-        return presignedRequest.url().toString();
+    private Map<String, String> resolveVariantUrls(User user) {
+        String storedValue = user.getProfilePhoto();
+        String bucket = awsProperties.getS3().getUserAvatarsBucket();
+        if (user.getProfilePhotoVariants() == null || storedValue == null
+                || storedValue.startsWith("http://") || storedValue.startsWith("https://")
+                || bucket == null || bucket.isBlank()) {
+            return null;
+        }
+        return ImageVariant.resolveUrls(user.getProfilePhotoVariants(), storedValue,
+                key -> blobStore.url(bucket, key));
     }
 
-    private String buildObjectKey(Long userId, String originalFilename) {
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
-        }
-        return String.format("users/%d/avatar-%s%s", userId, UUID.randomUUID(), extension);
+    private static boolean isStoredKey(String storedValue) {
+        return storedValue != null && !storedValue.isBlank()
+                && !storedValue.startsWith("http://") && !storedValue.startsWith("https://");
     }
 }
@@ -0,0 +1,217 @@
+package com.concert.service;
+
+import com.concert.config.AuthProperties;
+import com.concert.dto.ProvisioningReport;
+import com.concert.dto.ProvisioningReport.RowResult;
+import com.concert.dto.ProvisioningReport.Status;
+import com.concert.dto.RegisterRequest;
+import com.concert.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates many accounts from one streamed list.
+ *
+ * Rows are read lazily and handled in batches: uniqueness is checked with one
+ * query per column per batch, passwords are hashed in parallel on the shared
+ * hashing pool, and the batch is written with a single JDBC batch insert in
+ * its own transaction. If that insert fails (typically a concurrent sign-up
+ * taking a name) the batch is replayed row by row so only the offending rows
+ * are rejected. Every input row gets an entry in the report.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    // Entity inserts with IDENTITY keys are never batched by Hibernate, hence plain JDBC
+    private static final String INSERT_USER =
+            "insert into users (name, username, email, password, created_at, updated_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final AuthProperties.Provisioning properties;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   PasswordHashingService passwordHashingService,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   Validator validator,
+                                   AuthProperties authProperties) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.properties = authProperties.getProvisioning();
+    }
+
+    private record Pending(int row, RegisterRequest request) {
+    }
+
+    /**
+     * Provision every request the iterator yields, up to {@code maxRows}. An
+     * exception from the iterator (malformed input) stops reading; rows read
+     * before it are still provisioned and the report carries the error.
+     */
+    public ProvisioningReport provision(Iterator<RegisterRequest> requests) {
+        ProvisioningReport report = new ProvisioningReport();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        int row = 0;
+
+        try {
+            while (requests.hasNext()) {
+                if (row >= properties.getMaxRows()) {
+                    report.setError("Only the first " + properties.getMaxRows() + " rows are accepted per request");
+                    break;
+                }
+                RegisterRequest request = requests.next();
+                row++;
+
+                String problem = validate(request);
+                if (problem != null) {
+                    report.add(new RowResult(row, request == null ? null : request.getUsername(), Status.INVALID, problem));
+                    continue;
+                }
+                boolean repeated = seenUsernames.contains(request.getUsername()) || seenEmails.contains(request.getEmail());
+                seenUsernames.add(request.getUsername());
+                seenEmails.add(request.getEmail());
+                if (repeated) {
+                    report.add(new RowResult(row, request.getUsername(), Status.DUPLICATE,
+                            "Username or email repeats an earlier row"));
+                    continue;
+                }
+
+                batch.add(new Pending(row, request));
+                if (batch.size() >= batchSize) {
+                    flush(batch, report);
+                    batch.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            report.setError("Could not read row " + (row + 1) + ": " + e.getMessage());
+        }
+        flush(batch, report);
+
+        report.getRows().sort(Comparator.comparingInt(RowResult::getRow));
+        return report;
+    }
+
+    private String validate(RegisterRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void flush(List<Pending> batch, ProvisioningReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                batch.stream().map(pending -> pending.request().getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                batch.stream().map(pending -> pending.request().getEmail()).toList()));
+
+        List<Pending> fresh = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            RegisterRequest request = pending.request();
+            if (takenUsernames.contains(request.getUsername())) {
+                report.add(new RowResult(pending.row(), request.getUsername(), Status.DUPLICATE, "Username is already taken!"));
+            } else if (takenEmails.contains(request.getEmail())) {
+                report.add(new RowResult(pending.row(), request.getUsername(), Status.DUPLICATE, "Email is already in use!"));
+            } else {
+                fresh.add(pending);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = passwordHashingService.encodeAll(fresh.stream().map(pending -> pending.request().getPassword()).toList());
+        } catch (AuthBusyException e) {
+            fresh.forEach(pending -> report.add(new RowResult(pending.row(), pending.request().getUsername(),
+                    Status.FAILED, e.getMessage())));
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            bind(statement, fresh.get(i).request(), hashes.get(i), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return fresh.size();
+                        }
+                    }));
+            fresh.forEach(pending -> report.add(new RowResult(pending.row(), pending.request().getUsername(),
+                    Status.CREATED, null)));
+        } catch (DataAccessException e) {
+            logger.info("Batch insert of {} users failed, retrying row by row: {}", fresh.size(), e.getMessage());
+            for (int i = 0; i < fresh.size(); i++) {
+                report.add(insertOne(fresh.get(i), hashes.get(i), now));
+            }
+        }
+    }
+
+    private RowResult insertOne(Pending pending, String hash, Timestamp now) {
+        RegisterRequest request = pending.request();
+        try {
+            jdbcTemplate.update(INSERT_USER, statement -> bind(statement, request, hash, now));
+            return new RowResult(pending.row(), request.getUsername(), Status.CREATED, null);
+        } catch (DuplicateKeyException e) {
+            return new RowResult(pending.row(), request.getUsername(), Status.DUPLICATE, "Username or email already exists");
+        } catch (DataAccessException e) {
+            return new RowResult(pending.row(), request.getUsername(), Status.FAILED, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private static void bind(PreparedStatement statement, RegisterRequest request, String hash, Timestamp now)
+            throws SQLException {
+        // Same shape as AuthService.register: the display name starts out as the username
+        statement.setString(1, request.getUsername());
+        statement.setString(2, request.getUsername());
+        statement.setString(3, request.getEmail());
+        statement.setString(4, hash);
+        statement.setTimestamp(5, now);
+        statement.setTimestamp(6, now);
+    }
+}
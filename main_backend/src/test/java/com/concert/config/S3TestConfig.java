@@ -3,6 +3,7 @@ package com.concert.config;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
@@ -21,6 +22,12 @@ public class S3TestConfig {
         return mock(S3Client.class);
     }
 
+    @Bean
+    @Primary
+    public S3AsyncClient s3AsyncClient() {
+        return mock(S3AsyncClient.class);
+    }
+
     @Bean
     @Primary
     public S3Presigner s3Presigner() {
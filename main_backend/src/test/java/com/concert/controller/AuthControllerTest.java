@@ -4,7 +4,9 @@ import com.concert.dto.AuthResponse;
 import com.concert.dto.LoginRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.dto.UserProfileResponse;
+import com.concert.service.AuthBusyException;
 import com.concert.service.AuthService;
+import com.concert.service.TooManyAttemptsException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,7 +55,7 @@ class AuthControllerTest {
     @Test
     void testRegisterSuccess() throws Exception {
         // Arrange
-        when(authService.register(any(RegisterRequest.class))).thenReturn(successResponse);
+        when(authService.register(any(RegisterRequest.class), any())).thenReturn(successResponse);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/register")
@@ -69,7 +71,7 @@ class AuthControllerTest {
     @Test
     void testRegisterFailure() throws Exception {
         // Arrange
-        when(authService.register(any(RegisterRequest.class))).thenReturn(errorResponse);
+        when(authService.register(any(RegisterRequest.class), any())).thenReturn(errorResponse);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/register")
@@ -82,7 +84,7 @@ class AuthControllerTest {
     @Test
     void testLoginSuccess() throws Exception {
         // Arrange
-        when(authService.login(any(LoginRequest.class))).thenReturn(successResponse);
+        when(authService.login(any(LoginRequest.class), any())).thenReturn(successResponse);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -98,7 +100,7 @@ class AuthControllerTest {
     @Test
     void testLoginFailure() throws Exception {
         // Arrange
-        when(authService.login(any(LoginRequest.class))).thenReturn(errorResponse);
+        when(authService.login(any(LoginRequest.class), any())).thenReturn(errorResponse);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -118,7 +120,7 @@ class AuthControllerTest {
     // New tests to cover exception catch blocks
     @Test
     void testRegisterServiceException() throws Exception {
-        when(authService.register(any(RegisterRequest.class)))
+        when(authService.register(any(RegisterRequest.class), any()))
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         mockMvc.perform(post("/api/auth/register")
@@ -130,7 +132,7 @@ class AuthControllerTest {
 
     @Test
     void testLoginServiceException() throws Exception {
-        when(authService.login(any(LoginRequest.class)))
+        when(authService.login(any(LoginRequest.class), any()))
                 .thenThrow(new RuntimeException("Authentication service unavailable"));
 
         mockMvc.perform(post("/api/auth/login")
@@ -140,6 +142,41 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Login failed: Authentication service unavailable"));
     }
 
+    @Test
+    void testLoginThrottled() throws Exception {
+        when(authService.login(any(LoginRequest.class), any()))
+                .thenThrow(new TooManyAttemptsException("Too many failed sign-in attempts, please try again later", 120));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "120"));
+    }
+
+    @Test
+    void testRegisterWhileHashingSaturated() throws Exception {
+        when(authService.register(any(RegisterRequest.class), any()))
+                .thenThrow(new AuthBusyException("Too many sign-in requests, please retry shortly"));
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRefreshWithInvalidTokenIsUnauthorized() throws Exception {
+        when(authService.refresh("stale")).thenThrow(new IllegalArgumentException("Invalid refresh token"));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"stale\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid refresh token"));
+    }
+
     @Test
     void testRegisterValidationFailure() throws Exception {
         RegisterRequest invalidRequest = new RegisterRequest("", "", "");
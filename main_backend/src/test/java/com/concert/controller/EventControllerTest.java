@@ -5,11 +5,12 @@ import com.concert.dto.EventResponse;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
 import com.concert.service.EventService;
+import com.concert.service.UserIdentityCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -61,7 +62,6 @@ class EventControllerTest {
     @Mock
     private Authentication authentication;
 
-    @InjectMocks
     private EventController eventController;
 
     private ObjectMapper objectMapper;
@@ -71,6 +71,8 @@ class EventControllerTest {
 
     @BeforeEach
     void setUp() {
+        eventController = new EventController(eventService,
+                new UserIdentityCache(userRepository, 100, 600, new SimpleMeterRegistry()));
         mockMvc = MockMvcBuilders.standaloneSetup(eventController).build();
         objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
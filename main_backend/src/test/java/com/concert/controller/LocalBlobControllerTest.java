@@ -0,0 +1,94 @@
+package com.concert.controller;
+
+import com.concert.config.StorageProperties;
+import com.concert.service.LocalBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBlobControllerTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @TempDir
+    Path root;
+
+    private LocalBlobController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StorageProperties properties = new StorageProperties();
+        properties.getLocal().setRoot(root.toString());
+        LocalBlobStore blobStore = new LocalBlobStore(properties);
+        blobStore.put("bucket", "events/1/a.jpg", new ByteArrayInputStream(CONTENT), CONTENT.length,
+                "image/jpeg", Map.of());
+        controller = new LocalBlobController(blobStore);
+    }
+
+    @Test
+    void testServe_WholeFile() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serve("bucket", request("/api/blobs/bucket/events/1/a.jpg"), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void testServe_SingleRange() throws Exception {
+        MockHttpServletRequest request = request("/api/blobs/bucket/events/1/a.jpg");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serve("bucket", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void testServe_UsesSendfileWhenSupported() throws Exception {
+        MockHttpServletRequest request = request("/api/blobs/bucket/events/1/a.jpg");
+        request.setAttribute(LocalBlobController.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serve("bucket", request, response);
+
+        assertEquals(7L, request.getAttribute(LocalBlobController.SENDFILE_START));
+        assertEquals(10L, request.getAttribute(LocalBlobController.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testServe_UnsatisfiableRangeAndMissingFile() throws Exception {
+        MockHttpServletRequest request = request("/api/blobs/bucket/events/1/a.jpg");
+        request.addHeader("Range", "bytes=50-60");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve("bucket", request, response);
+        assertEquals(416, response.getStatus());
+
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        controller.serve("bucket", request("/api/blobs/bucket/events/1/none.jpg"), missing);
+        assertEquals(404, missing.getStatus());
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        return request;
+    }
+}
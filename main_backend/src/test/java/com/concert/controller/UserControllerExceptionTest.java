@@ -1,5 +1,6 @@
 package com.concert.controller;
 
+import com.concert.dto.UserSummary;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
 import com.concert.service.JwtService;
@@ -17,6 +18,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,7 +41,7 @@ public class UserControllerExceptionTest {
     @WithMockUser(username = "testuser")
     void testGetAllUsersWithException() throws Exception {
         // Mock repository to throw exception
-        when(userRepository.findAll()).thenThrow(new RuntimeException("Database connection failed"));
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenThrow(new RuntimeException("Database connection failed"));
 
         // When & Then
         mockMvc.perform(get("/api/users"))
@@ -61,17 +63,17 @@ public class UserControllerExceptionTest {
     @WithMockUser(username = "testuser")
     void testGetAllUsersSuccess() throws Exception {
         // Given
-        User user1 = new User("Test User 1", "user1@example.com", "password123");
-        User user2 = new User("Test User 2", "user2@example.com", "password456");
-        List<User> users = Arrays.asList(user1, user2);
+        UserSummary user1 = new UserSummary(1L, "user1", "Test User 1", "user1@example.com", null);
+        UserSummary user2 = new UserSummary(2L, "user2", "Test User 2", "user2@example.com", null);
+        List<UserSummary> users = Arrays.asList(user1, user2);
 
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenReturn(users);
 
         // When & Then
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2));
     }
 
     @Test
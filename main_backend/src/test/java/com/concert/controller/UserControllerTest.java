@@ -1,6 +1,7 @@
 package com.concert.controller;
 
 import com.concert.dto.UserProfileResponse;
+import com.concert.dto.UserSummary;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -41,6 +43,28 @@ class UserControllerTest {
     @MockBean
     private com.concert.service.UserProfileService userProfileService;
 
+    @MockBean
+    private com.concert.service.UserIdentityCache userIdentityCache;
+
+    // Dependencies of the JWT and rate limit filters, which @WebMvcTest picks up as Filter beans
+    @MockBean
+    private com.concert.security.TokenDispatcher tokenDispatcher;
+
+    @MockBean
+    private com.concert.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private com.concert.security.TokenRevocationList tokenRevocationList;
+
+    @MockBean
+    private com.concert.security.RateLimiter rateLimiter;
+
+    @MockBean
+    private com.concert.config.RateLimitProperties rateLimitProperties;
+
+    @MockBean
+    private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
     private User testUser1;
     private User testUser2;
 
@@ -85,24 +109,24 @@ class UserControllerTest {
     @WithMockUser(username = "testuser", roles = {"USER"})
     void testGetAllUsers_Success() throws Exception {
         // Arrange
-        List<User> mockUsers = Arrays.asList(testUser1, testUser2);
-        when(userRepository.findAll()).thenReturn(mockUsers);
+        List<UserSummary> mockUsers = Arrays.asList(summary(testUser1), summary(testUser2));
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenReturn(mockUsers);
 
         // Act & Assert
         mockMvc.perform(get("/api/users")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].username").value("testuser1"))
-                .andExpect(jsonPath("$[0].email").value("test1@example.com"))
-                .andExpect(jsonPath("$[0].name").value("Test User 1"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].username").value("testuser2"))
-                .andExpect(jsonPath("$[1].email").value("test2@example.com"))
-                .andExpect(jsonPath("$[1].name").value("Test User 2"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].username").value("testuser1"))
+                .andExpect(jsonPath("$.items[0].email").value("test1@example.com"))
+                .andExpect(jsonPath("$.items[0].name").value("Test User 1"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].username").value("testuser2"))
+                .andExpect(jsonPath("$.items[1].email").value("test2@example.com"))
+                .andExpect(jsonPath("$.items[1].name").value("Test User 2"));
     }
 
     @Test
@@ -146,15 +170,15 @@ class UserControllerTest {
     @WithMockUser(username = "testuser", roles = {"USER"})
     void testGetAllUsers_EmptyList() throws Exception {
         // Arrange
-        when(userRepository.findAll()).thenReturn(Arrays.asList());
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenReturn(Arrays.asList());
 
         // Act & Assert
         mockMvc.perform(get("/api/users")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(0));
     }
     
     @Test
@@ -180,18 +204,18 @@ class UserControllerTest {
     @WithMockUser(username = "testuser", roles = {"USER"})
     void testGetAllUsers_MultipleUsersReturned() throws Exception {
         // Arrange
-        List<User> users = Arrays.asList(testUser1, testUser2);
-        when(userRepository.findAll()).thenReturn(users);
+        List<UserSummary> users = Arrays.asList(summary(testUser1), summary(testUser2));
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenReturn(users);
 
         // Act & Assert
         mockMvc.perform(get("/api/users")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].username").value("testuser1"))
-                .andExpect(jsonPath("$[1].username").value("testuser2"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].username").value("testuser1"))
+                .andExpect(jsonPath("$.items[1].username").value("testuser2"));
     }
     
     @Test
@@ -212,7 +236,7 @@ class UserControllerTest {
     @WithMockUser(username = "testuser", roles = {"USER"})
     void testGetAllUsers_ExceptionThrown() throws Exception {
         // Arrange - Mock repository to throw exception
-        when(userRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert - Should return 500 Internal Server Error
         mockMvc.perform(get("/api/users")
@@ -498,4 +522,8 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Test User"));
     }
+
+    private static UserSummary summary(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getName(), user.getEmail(), user.getCreatedAt());
+    }
 }
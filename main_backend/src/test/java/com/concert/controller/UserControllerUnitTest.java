@@ -1,13 +1,25 @@
 package com.concert.controller;
 
+import com.concert.dto.UserPageResponse;
+import com.concert.dto.UserSummary;
+import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.service.UserIdentityCache;
 import com.concert.service.UserProfileService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class UserControllerUnitTest {
@@ -20,18 +32,70 @@ class UserControllerUnitTest {
     void setup() {
         userRepository = Mockito.mock(UserRepository.class);
         userProfileService = Mockito.mock(UserProfileService.class);
-        controller = new UserController(userRepository, userProfileService);
+        controller = new UserController(userRepository, userProfileService,
+                new UserIdentityCache(userRepository, 100, 600, new SimpleMeterRegistry()));
     }
 
     @Test
     void getAllUsers_whenRepositoryThrows_returns500() {
-        when(userRepository.findAll()).thenThrow(new RuntimeException("DB down"));
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenThrow(new RuntimeException("DB down"));
 
-        ResponseEntity<?> response = controller.getAllUsers();
+        ResponseEntity<?> response = controller.getAllUsers(null, null, null);
 
         assertEquals(500, response.getStatusCode().value());
         assertNull(response.getBody());
-        verify(userRepository).findAll();
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllUsers_fullPage_returnsCursorOfLastRow() {
+        when(userRepository.findSummariesAfter(10L, null, PageRequest.ofSize(3))).thenReturn(summaries(11, 13));
+
+        ResponseEntity<UserPageResponse> response = controller.getAllUsers(10L, 2, null);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of(11L, 12L), response.getBody().getItems().stream().map(UserSummary::getId).toList());
+        assertEquals(12L, response.getBody().getNextCursor());
+    }
+
+    @Test
+    void getAllUsers_lastPage_hasNoCursor() {
+        when(userRepository.findSummariesAfter(eq(0L), eq("ali%"), any())).thenReturn(summaries(1, 2));
+
+        ResponseEntity<UserPageResponse> response = controller.getAllUsers(null, null, " Ali ");
+
+        assertEquals(2, response.getBody().getItems().size());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    void getAllUsers_clampsLimit() {
+        when(userRepository.findSummariesAfter(anyLong(), any(), any())).thenReturn(List.of());
+
+        controller.getAllUsers(null, 100_000, null);
+
+        verify(userRepository).findSummariesAfter(0L, null, PageRequest.ofSize(UserController.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getUserById_returnsSummaryWithoutPassword() throws Exception {
+        User user = new User("Ann", "ann", "ann@example.com", "$2a$10$hash");
+        user.setId(5L);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+
+        ResponseEntity<UserSummary> response = controller.getUserById(5L);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("ann", response.getBody().getUsername());
+        assertFalse(new ObjectMapper().findAndRegisterModules().writeValueAsString(response.getBody()).contains("hash"));
+        // The entity itself never serializes its password either
+        assertFalse(new ObjectMapper().findAndRegisterModules().writeValueAsString(user).contains("password"));
+    }
+
+    @Test
+    void searchPattern_escapesWildcards() {
+        assertEquals("50!%!_off%", UserController.searchPattern("50%_OFF"));
+        assertNull(UserController.searchPattern("  "));
     }
 
     @Test
@@ -44,4 +108,10 @@ class UserControllerUnitTest {
         assertNull(response.getBody());
         verify(userRepository).findById(1L);
     }
+
+    private static List<UserSummary> summaries(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new UserSummary(id, "user" + id, "User " + id, "user" + id + "@example.com", null))
+                .toList();
+    }
 }
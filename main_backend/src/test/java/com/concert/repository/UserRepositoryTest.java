@@ -1,5 +1,6 @@
 package com.concert.repository;
 
+import com.concert.dto.UserSummary;
 import com.concert.model.User;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,8 +8,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -194,4 +198,37 @@ class UserRepositoryTest {
             entityManager.persistAndFlush(invalid);
         });
     }
+
+    @Test
+    void testFindSummariesAfter_PagesByIdAndFilters() {
+        User alice = entityManager.persistAndFlush(new User("Alice", "alice", "alice@example.com", "password123"));
+        User bob = entityManager.persistAndFlush(new User("Bob", "bob", "bob@example.com", "password123"));
+        User alan = entityManager.persistAndFlush(new User("Alan", "alan_b", "alan@example.com", "password123"));
+
+        List<UserSummary> first = userRepository.findSummariesAfter(0L, null, PageRequest.ofSize(2));
+        List<UserSummary> second = userRepository.findSummariesAfter(first.get(1).getId(), null, PageRequest.ofSize(2));
+        List<UserSummary> filtered = userRepository.findSummariesAfter(0L, "al%", PageRequest.ofSize(10));
+        List<UserSummary> literalUnderscore = userRepository.findSummariesAfter(0L, "alan!_%", PageRequest.ofSize(10));
+
+        assertEquals(List.of(alice.getId(), bob.getId()), first.stream().map(UserSummary::getId).toList());
+        assertEquals(List.of(alan.getId()), second.stream().map(UserSummary::getId).toList());
+        assertEquals(List.of(alice.getId(), alan.getId()), filtered.stream().map(UserSummary::getId).toList());
+        assertEquals(List.of(alan.getId()), literalUnderscore.stream().map(UserSummary::getId).toList());
+        assertEquals("alice@example.com", first.get(0).getEmail());
+    }
+
+    @Test
+    void testSwapProfilePhotoOnlyReplacesTheExpectedKey() {
+        Long id = entityManager.persistAndFlush(testUser).getId();
+
+        // No avatar yet: only a swap expecting none applies
+        assertEquals(0, userRepository.swapProfilePhoto(id, "users/blobs/a.png", "users/blobs/b.png", LocalDateTime.now()));
+        assertEquals(1, userRepository.swapProfilePhoto(id, null, "users/blobs/a.png", LocalDateTime.now()));
+        // A second upload that read the same state loses
+        assertEquals(0, userRepository.swapProfilePhoto(id, null, "users/blobs/c.png", LocalDateTime.now()));
+        assertEquals(1, userRepository.swapProfilePhoto(id, "users/blobs/a.png", "users/blobs/c.png", LocalDateTime.now()));
+
+        entityManager.clear();
+        assertEquals("users/blobs/c.png", userRepository.findById(id).orElseThrow().getProfilePhoto());
+    }
 }
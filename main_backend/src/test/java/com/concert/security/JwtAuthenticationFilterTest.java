@@ -1,20 +1,25 @@
 package com.concert.security;
 
-import com.concert.service.JwtService;
+import com.concert.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -22,7 +27,7 @@ import static org.mockito.Mockito.*;
 public class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtService jwtService;
+    private TokenDispatcher tokenDispatcher;
 
     @Mock
     private HttpServletRequest request;
@@ -33,12 +38,27 @@ public class JwtAuthenticationFilterTest {
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList tokenRevocationList;
+
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "tokenDispatcher", tokenDispatcher);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "verifiedTokenCache",
+                new VerifiedTokenCache(100, new SimpleMeterRegistry()));
+        tokenRevocationList = new TokenRevocationList(revokedTokenRepository, 1000, 0.01);
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "tokenRevocationList", tokenRevocationList);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -51,7 +71,7 @@ public class JwtAuthenticationFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(tokenDispatcher, never()).verify(anyString());
     }
 
     @Test
@@ -64,98 +84,126 @@ public class JwtAuthenticationFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(jwtService, never()).extractUsername(anyString());
+        verify(tokenDispatcher, never()).verify(anyString());
     }
 
     @Test
     void testDoFilterInternal_ValidJwtToken() throws ServletException, IOException {
         // Given
         String token = "valid-jwt-token";
-        String username = "testuser";
-        String authHeader = "Bearer " + token;
-
-        when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.isTokenValid(token, username)).thenReturn(true);
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenDispatcher.verify(token)).thenReturn(claims("testuser", 60_000));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService).isTokenValid(token, username);
+        verify(tokenDispatcher).verify(token);
         verify(filterChain).doFilter(request, response);
-        
-        // Verify authentication is set in SecurityContext
-        assert SecurityContextHolder.getContext().getAuthentication() != null;
-        assert SecurityContextHolder.getContext().getAuthentication().getPrincipal().equals(username);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void testDoFilterInternal_RepeatedTokenIsVerifiedOnce() throws ServletException, IOException {
+        // Given
+        String token = "valid-jwt-token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenDispatcher.verify(token)).thenReturn(claims("testuser", 60_000));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(tokenDispatcher, times(1)).verify(token);
+        assertEquals("testuser", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    @Test
+    void testDoFilterInternal_UserIdClaimReachesPrincipal() throws ServletException, IOException {
+        // Given
+        String token = "token-with-uid";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenDispatcher.verify(token)).thenReturn(
+                new VerifiedToken("testuser", Map.of("uid", 42), Instant.now().plusSeconds(60)));
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertEquals(new AuthenticatedUser(42L, "testuser"),
+                SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void testDoFilterInternal_RevokedTokenRejectedEvenWhenCached() throws ServletException, IOException {
+        // Given
+        String token = "soon-revoked-token";
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenDispatcher.verify(token)).thenReturn(
+                new VerifiedToken("testuser", Map.of("jti", "jti-1"), expiresAt));
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+
+        // When
+        tokenRevocationList.revoke("jti-1", expiresAt);
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(tokenDispatcher, times(1)).verify(token);
     }
 
     @Test
     void testDoFilterInternal_InvalidJwtToken() throws ServletException, IOException {
         // Given
         String token = "invalid-jwt-token";
-        String username = "testuser";
-        String authHeader = "Bearer " + token;
-
-        when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(username);
-        when(jwtService.isTokenValid(token, username)).thenReturn(false);
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenDispatcher.verify(token)).thenThrow(new IllegalArgumentException("Unsupported bearer token"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService).isTokenValid(token, username);
         verify(filterChain).doFilter(request, response);
-        
-        // Verify authentication is NOT set in SecurityContext
-        assert SecurityContextHolder.getContext().getAuthentication() == null;
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
     @Test
     void testDoFilterInternal_NullUsername() throws ServletException, IOException {
         // Given
         String token = "jwt-token-with-null-username";
-        String authHeader = "Bearer " + token;
-
-        when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(null);
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(tokenDispatcher.verify(token)).thenReturn(claims(null, 60_000));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService, never()).isTokenValid(anyString(), anyString());
         verify(filterChain).doFilter(request, response);
-        
-        // Verify authentication is NOT set in SecurityContext
-        assert SecurityContextHolder.getContext().getAuthentication() == null;
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
     @Test
     void testDoFilterInternal_ExistingAuthentication() throws ServletException, IOException {
         // Given
-        String token = "valid-jwt-token";
-        String username = "testuser";
-        String authHeader = "Bearer " + token;
-
-        // Set existing authentication
         SecurityContextHolder.getContext().setAuthentication(
             mock(org.springframework.security.core.Authentication.class)
         );
-
-        when(request.getHeader("Authorization")).thenReturn(authHeader);
-        when(jwtService.extractUsername(token)).thenReturn(username);
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid-jwt-token");
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(jwtService).extractUsername(token);
-        verify(jwtService, never()).isTokenValid(anyString(), anyString());
+        verify(tokenDispatcher, never()).verify(anyString());
         verify(filterChain).doFilter(request, response);
     }
+
+    private VerifiedToken claims(String subject, long ttlMs) {
+        return new VerifiedToken(subject, Map.of(), Instant.now().plusMillis(ttlMs));
+    }
 }
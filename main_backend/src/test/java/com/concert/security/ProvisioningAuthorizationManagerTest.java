@@ -0,0 +1,47 @@
+package com.concert.security;
+
+import com.concert.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProvisioningAuthorizationManagerTest {
+
+    @Test
+    void testMatchingCredentialIsAdmitted() {
+        ProvisioningAuthorizationManager manager = manager("s3cret");
+
+        assertTrue(manager.isAuthorized(request("s3cret")));
+    }
+
+    @Test
+    void testMissingOrWrongCredentialIsRefused() {
+        ProvisioningAuthorizationManager manager = manager("s3cret");
+
+        assertFalse(manager.isAuthorized(request(null)));
+        assertFalse(manager.isAuthorized(request("guess")));
+    }
+
+    @Test
+    void testWithoutConfiguredCredentialEverythingIsRefused() {
+        ProvisioningAuthorizationManager manager = manager("");
+
+        assertFalse(manager.isAuthorized(request("")));
+        assertFalse(manager.isAuthorized(request("anything")));
+    }
+
+    private static ProvisioningAuthorizationManager manager(String token) {
+        AuthProperties properties = new AuthProperties();
+        properties.getProvisioning().setToken(token);
+        return new ProvisioningAuthorizationManager(properties);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/bulk");
+        if (token != null) {
+            request.addHeader(ProvisioningAuthorizationManager.HEADER, token);
+        }
+        return request;
+    }
+}
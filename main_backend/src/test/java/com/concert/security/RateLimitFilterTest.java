@@ -0,0 +1,126 @@
+package com.concert.security;
+
+import com.concert.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(rateLimiter, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testLogin_LimitedPerIp() throws Exception {
+        when(rateLimiter.tryAcquire(eq("AUTH:ip:10.0.0.1"), any())).thenReturn(RateLimiter.Decision.ALLOWED);
+        MockHttpServletRequest request = request("POST", "/api/auth/login");
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimiter).tryAcquire("AUTH:ip:10.0.0.1", properties.getAuth());
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testBooking_LimitedPerAuthenticatedUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(RateLimiter.Decision.ALLOWED);
+
+        filter.doFilter(request("POST", "/api/bookings"), new MockHttpServletResponse(), filterChain);
+
+        verify(rateLimiter).tryAcquire("BOOKING:u:alice", properties.getBooking());
+    }
+
+    @Test
+    void testRejected_Returns429WithRetryAfter() throws Exception {
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(new RateLimiter.Decision(false, 7));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/api/users/me/photo"), response, filterChain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("7", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("error"));
+        assertEquals(1.0, meterRegistry.counter("http.server.requests.rate_limited", "route", "upload").count());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void testUnlimitedRoute_PassesThrough() throws Exception {
+        filter.doFilter(request("GET", "/api/events"), new MockHttpServletResponse(), filterChain);
+
+        verifyNoInteractions(rateLimiter);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testDisabled_PassesThrough() throws Exception {
+        properties.setEnabled(false);
+
+        filter.doFilter(request("POST", "/api/auth/login"), new MockHttpServletResponse(), filterChain);
+
+        verifyNoInteractions(rateLimiter);
+        verify(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    void testClassify() {
+        assertEquals(RateLimitFilter.RouteClass.UPLOAD,
+                RateLimitFilter.classify(request("POST", "/api/events/5/photo")));
+        assertEquals(RateLimitFilter.RouteClass.UPLOAD,
+                RateLimitFilter.classify(request("POST", "/api/upload/event-photo")));
+        assertEquals(RateLimitFilter.RouteClass.BOOKING,
+                RateLimitFilter.classify(request("GET", "/api/bookings/me")));
+        assertEquals(RateLimitFilter.RouteClass.PROVISIONING,
+                RateLimitFilter.classify(request("POST", "/api/users/bulk")));
+        assertEquals(RateLimitFilter.RouteClass.STREAM,
+                RateLimitFilter.classify(request("GET", "/api/events/5/live")));
+        assertEquals(RateLimitFilter.RouteClass.STREAM,
+                RateLimitFilter.classify(request("GET", "/api/notifications/live")));
+        assertNull(RateLimitFilter.classify(request("GET", "/api/events/5")));
+        assertNull(RateLimitFilter.classify(request("GET", "/api/auth/test")));
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,63 @@
+package com.concert.security;
+
+import com.concert.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedTokenBucketLimiterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    @Test
+    void testTryAcquire_AllowsUpToCapacityThenRejects() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(properties);
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("AUTH:ip:10.0.0.1", limit).allowed());
+        }
+        RateLimiter.Decision rejected = limiter.tryAcquire("AUTH:ip:10.0.0.1", limit);
+
+        assertFalse(rejected.allowed());
+        assertTrue(rejected.retryAfterSeconds() >= 1 && rejected.retryAfterSeconds() <= 60);
+    }
+
+    @Test
+    void testTryAcquire_KeysHaveSeparateBuckets() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(properties);
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, 1);
+
+        assertTrue(limiter.tryAcquire("a", limit).allowed());
+        assertFalse(limiter.tryAcquire("a", limit).allowed());
+        assertTrue(limiter.tryAcquire("b", limit).allowed());
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() throws InterruptedException {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(properties);
+        // One token every 100ms
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, 600);
+
+        assertTrue(limiter.tryAcquire("a", limit).allowed());
+        assertFalse(limiter.tryAcquire("a", limit).allowed());
+        Thread.sleep(150);
+
+        assertTrue(limiter.tryAcquire("a", limit).allowed());
+    }
+
+    @Test
+    void testTryAcquire_EvictedKeyStartsWithFullBucket() {
+        properties.setStripes(1);
+        properties.setMaxKeysPerStripe(16);
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(properties);
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(1, 0);
+
+        assertTrue(limiter.tryAcquire("first", limit).allowed());
+        for (int i = 0; i < 64; i++) {
+            limiter.tryAcquire("other-" + i, limit);
+        }
+
+        assertTrue(limiter.tryAcquire("first", limit).allowed());
+    }
+}
@@ -0,0 +1,109 @@
+package com.concert.security;
+
+import com.concert.service.CognitoJwtValidator;
+import com.concert.service.CognitoUserProvisioner;
+import com.concert.service.UserIdentityCache.UserIdentity;
+import com.concert.service.JwtService;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenDispatcherTest {
+
+    private static final String ISSUER = "https://cognito-idp.us-east-1.amazonaws.com/us-east-1_pool";
+
+    @Mock
+    private CognitoJwtValidator cognitoJwtValidator;
+
+    @Mock
+    private CognitoUserProvisioner cognitoUserProvisioner;
+
+    private JwtService jwtService;
+    private TokenDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        ReflectionTestUtils.setField(jwtService, "jwtSecret",
+                "testSecretKeyThatIsAtLeast512BitsLongForHS512AlgorithmSecurityRequirements12345");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationInMs", 3600000);
+        dispatcher = new TokenDispatcher(jwtService, cognitoJwtValidator, cognitoUserProvisioner);
+    }
+
+    @Test
+    void testLocalTokenNeverReachesCognito() {
+        String token = jwtService.generateToken("alice");
+
+        VerifiedToken verified = dispatcher.verify(token);
+
+        assertEquals("alice", verified.username());
+        assertNotNull(verified.expiresAt());
+        verifyNoInteractions(cognitoJwtValidator);
+    }
+
+    @Test
+    void testCognitoTokenNeverReachesLocalVerifier() throws Exception {
+        String token = rs256Token("kid-1", ISSUER);
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("sub-1")
+                .issuer(ISSUER)
+                .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+        when(cognitoJwtValidator.getIssuer()).thenReturn(ISSUER);
+        when(cognitoJwtValidator.validateToken(token)).thenReturn(claims);
+        when(cognitoUserProvisioner.resolve(claims)).thenReturn(new UserIdentity(42L, "bob", "Bob", "bob@example.com"));
+
+        VerifiedToken verified = dispatcher.verify(token);
+
+        assertEquals("bob", verified.username());
+        assertEquals(42L, verified.userId());
+        verify(jwtService, never()).verify(anyString());
+    }
+
+    @Test
+    void testForeignIssuerIsRejectedWithoutVerifying() {
+        String token = rs256Token("kid-1", "https://issuer.example.com");
+        when(cognitoJwtValidator.getIssuer()).thenReturn(ISSUER);
+
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.verify(token));
+        verify(cognitoJwtValidator, never()).validateToken(any());
+        verify(jwtService, never()).verify(anyString());
+    }
+
+    @Test
+    void testGarbageIsRejectedWithoutVerifying() {
+        assertEquals(TokenDispatcher.Route.UNSUPPORTED, dispatcher.route("not-a-jwt"));
+        assertEquals(TokenDispatcher.Route.UNSUPPORTED, dispatcher.route("a.b.c"));
+        verifyNoInteractions(cognitoJwtValidator);
+    }
+
+    @Test
+    void testTamperedLocalTokenIsRejected() {
+        String token = jwtService.generateToken("alice");
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.verify(tampered));
+        verifyNoInteractions(cognitoJwtValidator);
+    }
+
+    private String rs256Token(String kid, String issuer) {
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(kid).build();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder().issuer(issuer).subject("sub-1").build();
+        return header.toBase64URL() + "." + Base64URL.encode(claims.toString()) + ".c2ln";
+    }
+}
@@ -0,0 +1,76 @@
+package com.concert.security;
+
+import com.concert.model.RevokedToken;
+import com.concert.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository, 1000, 0.01);
+    }
+
+    @Test
+    void testRevokePersistsAndAppliesImmediately() {
+        revocationList.revoke("jti-1", Instant.now().plusSeconds(60));
+
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        assertFalse(revocationList.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testAlreadyExpiredTokenIsNotRecorded() {
+        revocationList.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        assertFalse(revocationList.isRevoked("jti-1"));
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void testSyncPicksUpOtherInstancesRevocations() {
+        RevokedToken remote = RevokedToken.builder()
+                .id(5L).jti("remote-jti").expiresAt(LocalDateTime.now().plusMinutes(5)).build();
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(remote));
+
+        revocationList.sync();
+
+        assertTrue(revocationList.isRevoked("remote-jti"));
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        List<String> added = java.util.stream.IntStream.range(0, 1000)
+                .mapToObj(i -> UUID.randomUUID().toString()).toList();
+        added.forEach(filter::add);
+
+        added.forEach(jti -> assertTrue(filter.mightContain(jti)));
+        long falsePositives = java.util.stream.IntStream.range(0, 10_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString())).count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -5,6 +5,10 @@ import com.concert.dto.LoginRequest;
 import com.concert.dto.RegisterRequest;
 import com.concert.model.User;
 import com.concert.repository.UserRepository;
+import com.concert.config.AuthProperties;
+import com.concert.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,9 +33,17 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     // Use a real JwtService instance instead of mocking it to avoid Java 24 issues
     private JwtService jwtService;
 
+    private PasswordHashingService passwordHashingService;
+
     private AuthService authService;
 
     private RegisterRequest registerRequest;
@@ -46,7 +58,11 @@ class AuthServiceTest {
         jwtService.setJwtSecret("testSecretKeyThatIsAtLeast512BitsLongForHS512AlgorithmSecurityRequirements12345");
         jwtService.setJwtExpirationInMs(604800000L);
         
-        authService = new AuthService(userRepository, passwordEncoder, jwtService);
+        AuthProperties authProperties = new AuthProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService(passwordEncoder, authProperties, meterRegistry);
+        authService = new AuthService(userRepository, passwordHashingService, jwtService,
+                new LoginThrottle(authProperties, meterRegistry), refreshTokenService, tokenRevocationList);
         
         registerRequest = new RegisterRequest("testuser", "test@example.com", "password123");
         loginRequest = new LoginRequest("testuser", "password123");
@@ -54,6 +70,11 @@ class AuthServiceTest {
         testUser.setId(1L);
     }
 
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
     @Test
     void testRegisterSuccess() {
         // Arrange
@@ -229,4 +250,53 @@ class AuthServiceTest {
         assertEquals("User not found", response.getMessage());
         verify(userRepository).findByUsername("missinguser");
     }
+
+    @Test
+    void testLoginLockedAfterRepeatedFailures() {
+        when(userRepository.findByUsernameOrEmail("testuser", "testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(authService.login(loginRequest, "10.0.0.1").getToken());
+        }
+
+        assertThrows(TooManyAttemptsException.class, () -> authService.login(loginRequest, "10.0.0.2"));
+        verify(passwordEncoder, times(5)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testLoginIssuesShortLivedAccessAndRefreshToken() {
+        when(userRepository.findByUsernameOrEmail("testuser", "testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-1");
+        jwtService.setJwtExpirationInMs(900000L);
+
+        AuthResponse response = authService.login(loginRequest);
+
+        assertEquals("refresh-1", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
+        assertNotNull(jwtService.verify(response.getToken()).getId());
+    }
+
+    @Test
+    void testRefreshRotatesToken() {
+        when(refreshTokenService.rotate("refresh-1")).thenReturn(new RefreshTokenService.Rotation(1L, "refresh-2"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        AuthResponse response = authService.refresh("refresh-1");
+
+        assertEquals("refresh-2", response.getRefreshToken());
+        assertEquals("testuser", jwtService.verify(response.getToken()).getSubject());
+    }
+
+    @Test
+    void testLogoutRevokesAccessAndRefreshToken() {
+        String accessToken = jwtService.generateToken("testuser", 1L);
+        String jti = jwtService.verify(accessToken).getId();
+
+        authService.logout(accessToken, "refresh-1");
+
+        verify(tokenRevocationList).revoke(eq(jti), any());
+        verify(refreshTokenService).revoke("refresh-1");
+    }
 }
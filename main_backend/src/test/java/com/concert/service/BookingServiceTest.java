@@ -2,14 +2,19 @@ package com.concert.service;
 
 import com.concert.dto.BookingResponse;
 import com.concert.dto.CreateBookingRequest;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.EventCancelledEvent;
 import com.concert.model.Booking;
+import com.concert.model.Event;
 import com.concert.model.User;
 import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
 import com.concert.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -28,10 +33,15 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private EventRepository eventRepository;
+
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private DomainEventOutbox outbox;
+
     private BookingService bookingService;
 
     private User testUser;
@@ -40,6 +50,9 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
+        bookingService = new BookingService(bookingRepository, eventRepository,
+                new UserIdentityCache(userRepository, 100, 600, new SimpleMeterRegistry()), outbox);
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -83,6 +96,7 @@ class BookingServiceTest {
 
         verify(userRepository, times(1)).findByUsername("testuser");
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(outbox).record(any(BookingConfirmedEvent.class));
     }
 
     @Test
@@ -235,6 +249,71 @@ class BookingServiceTest {
 
         verify(bookingRepository, times(1)).findById(1L);
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(outbox).record(new BookingCancelledEvent(1L, 1L, "event123", "Test Event"));
+    }
+
+    @Test
+    void testCancelBooking_AlreadyCancelled_DoesNotNotifyAgain() {
+        testBooking.setStatus("CANCELLED");
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        bookingService.cancelBooking(1L, "testuser");
+
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void testCancelAllBookingsForEvent_NotifiesActiveAttendees() {
+        when(bookingRepository.findActiveAttendeeIds("event123")).thenReturn(List.of(1L, 3L));
+        when(bookingRepository.cancelActiveByEventId("event123")).thenReturn(2);
+
+        assertEquals(2, bookingService.cancelEventBookings("event123", "Test Event"));
+
+        verify(outbox).record(new EventCancelledEvent("event123", "Test Event", List.of(1L, 3L)));
+        verify(bookingRepository, never()).findByEventId(any());
+    }
+
+    @Test
+    void testCancelAllBookingsForEvent_ByOrganizer() {
+        Event event = new Event();
+        event.setId(7L);
+        event.setTitle("Organized");
+        event.setOrganizer(testUser);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(event));
+        when(bookingRepository.findActiveAttendeeIds("7")).thenReturn(List.of(4L));
+        when(bookingRepository.cancelActiveByEventId("7")).thenReturn(1);
+
+        bookingService.cancelAllBookingsForEvent("7", "testuser");
+
+        verify(outbox).record(new EventCancelledEvent("7", "Organized", List.of(4L)));
+    }
+
+    @Test
+    void testCancelAllBookingsForEvent_OtherUsersEventIsRejected() {
+        User organizer = new User();
+        organizer.setId(2L);
+        Event event = new Event();
+        event.setId(7L);
+        event.setOrganizer(organizer);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(event));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> bookingService.cancelAllBookingsForEvent("7", "testuser"));
+
+        assertEquals("Only the event organizer can cancel its bookings", exception.getMessage());
+        verify(bookingRepository, never()).cancelActiveByEventId(any());
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void testCancelAllBookingsForEvent_UnknownEventIsRejected() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(RuntimeException.class, () -> bookingService.cancelAllBookingsForEvent("ext-1", "testuser"));
+
+        verifyNoInteractions(eventRepository, outbox);
     }
 
     @Test
@@ -0,0 +1,135 @@
+package com.concert.service;
+
+import com.concert.config.BookingSnapshotProperties;
+import com.concert.events.BookingSnapshotsUpdatedEvent;
+import com.concert.events.EventUpdatedEvent;
+import com.concert.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSnapshotPropagatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 1, 20, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private BookingSnapshotProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BookingSnapshotPropagator propagator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BookingSnapshotProperties();
+        properties.setChunkSize(2);
+        properties.setPauseMs(0);
+        meterRegistry = new SimpleMeterRegistry();
+        propagator = new BookingSnapshotPropagator(bookingRepository, properties, eventPublisher, taskScheduler,
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        propagator.shutdown();
+    }
+
+    @Test
+    void testPropagateWalksBookingsInChunks() throws Exception {
+        EventUpdatedEvent event = new EventUpdatedEvent("7", "Concert", "Main Hall", START, START.plusHours(3));
+        when(bookingRepository.findIdsByEventIdAfter("7", 0L, PageRequest.ofSize(2))).thenReturn(List.of(3L, 8L));
+        when(bookingRepository.findIdsByEventIdAfter("7", 8L, PageRequest.ofSize(2))).thenReturn(List.of(12L));
+        when(bookingRepository.updateEventSnapshot(anyCollection(), any(), any(), any()))
+                .thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        assertEquals(3, propagator.propagate(event));
+
+        verify(bookingRepository).updateEventSnapshot(List.of(3L, 8L), "Concert", "Main Hall", START);
+        verify(bookingRepository).updateEventSnapshot(List.of(12L), "Concert", "Main Hall", START);
+        assertEquals(3, meterRegistry.counter("bookings.snapshots.updated").count());
+    }
+
+    @Test
+    void testEventWithoutBookingsUpdatesNothing() throws Exception {
+        when(bookingRepository.findIdsByEventIdAfter(eq("7"), eq(0L), any())).thenReturn(List.of());
+
+        assertEquals(0, propagator.propagate(new EventUpdatedEvent("7", "Concert", "Main Hall", START, null)));
+
+        verify(bookingRepository, never()).updateEventSnapshot(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdateIsAppliedInTheBackground() {
+        when(bookingRepository.findIdsByEventIdAfter(eq("7"), eq(0L), any())).thenReturn(List.of(3L));
+
+        propagator.onEventUpdated(new EventUpdatedEvent("7", "Concert", "Main Hall", START, null));
+
+        verify(bookingRepository, timeout(2000)).updateEventSnapshot(List.of(3L), "Concert", "Main Hall", START);
+    }
+
+    @Test
+    void testFailedRunIsRetriedAfterBackoff() {
+        when(bookingRepository.findIdsByEventIdAfter(eq("7"), eq(0L), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+        Instant before = Instant.now();
+
+        propagator.onEventUpdated(new EventUpdatedEvent("7", "Concert", "Main Hall", START, null));
+
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, timeout(2000)).schedule(retry.capture(), at.capture());
+        assertFalse(at.getValue().isBefore(before.plusSeconds(5)));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        retry.getValue().run();
+
+        verify(eventPublisher, timeout(2000)).publishEvent(new BookingSnapshotsUpdatedEvent("7", START));
+        assertEquals(1, meterRegistry.counter("bookings.snapshots.failed").count());
+    }
+
+    @Test
+    void testRetryDelayDoublesUpToTheMaximum() {
+        properties.setRetryInitialSeconds(5);
+        properties.setRetryMaxSeconds(60);
+
+        assertEquals(Duration.ofSeconds(5), propagator.retryDelay(1));
+        assertEquals(Duration.ofSeconds(20), propagator.retryDelay(3));
+        assertEquals(Duration.ofSeconds(60), propagator.retryDelay(5));
+        assertEquals(Duration.ofSeconds(60), propagator.retryDelay(100));
+    }
+
+    @Test
+    void testDisabledIgnoresUpdates() {
+        properties.setEnabled(false);
+
+        propagator.onEventUpdated(new EventUpdatedEvent("7", "Concert", "Main Hall", START, null));
+
+        verifyNoInteractions(bookingRepository);
+    }
+}
@@ -0,0 +1,103 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CognitoJwksProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CognitoJwksProvider provider;
+
+    @Test
+    void testLocalJwksValidatesTokensWithoutNetwork() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("local-1").generate();
+        Path jwks = tempDir.resolve("jwks.json");
+        Files.writeString(jwks, new JWKSet(key.toPublicJWK()).toString());
+        AwsProperties properties = new AwsProperties();
+        properties.getCognito().setJwksFile("file:" + jwks);
+
+        provider = new CognitoJwksProvider(properties);
+        provider.start();
+        CognitoJwtValidator validator = new CognitoJwtValidator(provider);
+
+        JWTClaimsSet claims = validator.validateToken(sign(key, provider.getIssuer()));
+
+        assertEquals("alice", validator.getUsernameFromClaims(claims));
+    }
+
+    @Test
+    void testTokenFromAnotherIssuerIsRejected() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("local-1").generate();
+        Path jwks = tempDir.resolve("jwks.json");
+        Files.writeString(jwks, new JWKSet(key.toPublicJWK()).toString());
+        AwsProperties properties = new AwsProperties();
+        properties.getCognito().setJwksFile("file:" + jwks);
+
+        provider = new CognitoJwksProvider(properties);
+        provider.start();
+        CognitoJwtValidator validator = new CognitoJwtValidator(provider);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> validator.validateToken(sign(key, "https://issuer.example.com")));
+    }
+
+    @Test
+    void testUnknownKidRefreshesOnceWithinRateLimit() throws Exception {
+        RSAKey rotated = new RSAKeyGenerator(2048).keyID("rotated").generate();
+        provider = spy(new CognitoJwksProvider(new AwsProperties()));
+        doReturn(new JWKSet(rotated.toPublicJWK())).when(provider).fetchRemote();
+
+        JWKSelector rotatedKid = new JWKSelector(new JWKMatcher.Builder().keyID("rotated").build());
+        JWKSelector unknownKid = new JWKSelector(new JWKMatcher.Builder().keyID("unknown").build());
+
+        assertEquals(1, provider.get(rotatedKid, null).size());
+        assertTrue(provider.get(unknownKid, null).isEmpty());
+
+        verify(provider, times(1)).fetchRemote();
+    }
+
+    @Test
+    void testFailedRefreshKeepsPreviousKeys() throws Exception {
+        provider = spy(new CognitoJwksProvider(new AwsProperties()));
+        doThrow(new IllegalStateException("endpoint down")).when(provider).fetchRemote();
+
+        JWKSelector anyKid = new JWKSelector(new JWKMatcher.Builder().keyID("kid").build());
+
+        assertTrue(provider.get(anyKid, null).isEmpty());
+        assertNotNull(provider.getKeys());
+    }
+
+    private String sign(RSAKey key, String issuer) throws Exception {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(issuer)
+                        .subject("sub-1")
+                        .claim("cognito:username", "alice")
+                        .claim("token_use", "id")
+                        .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+                        .build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,136 @@
+package com.concert.service;
+
+import com.concert.model.User;
+import com.concert.repository.UserRepository;
+import com.concert.service.UserIdentityCache.UserIdentity;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CognitoUserProvisionerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CognitoUserProvisioner provisioner;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        provisioner = new CognitoUserProvisioner(userRepository,
+                new UserIdentityCache(userRepository, 100, 600, meterRegistry), 100, 600, meterRegistry);
+    }
+
+    @Test
+    void testKnownSubIsLookedUpOnceThenCached() {
+        User user = user(7L, "alice", "alice@example.com");
+        user.setCognitoSub("sub-1");
+        when(userRepository.findByCognitoSub("sub-1")).thenReturn(Optional.of(user));
+
+        assertEquals(7L, provisioner.resolve(claims("sub-1", "alice", null, false)).id());
+        assertEquals(7L, provisioner.resolve(claims("sub-1", "alice", null, false)).id());
+
+        verify(userRepository, times(1)).findByCognitoSub("sub-1");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testFirstSignInCreatesUserWithoutLocalPassword() {
+        when(userRepository.findByCognitoSub("sub-2")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername("bob")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(11L);
+            return saved;
+        });
+
+        UserIdentity identity = provisioner.resolve(claims("sub-2", "bob", "bob@example.com", false));
+
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(captor.capture());
+        assertEquals(11L, identity.id());
+        assertEquals("bob", identity.username());
+        assertEquals("sub-2", captor.getValue().getCognitoSub());
+        assertEquals("bob@example.com", captor.getValue().getEmail());
+        assertTrue(captor.getValue().getPassword().startsWith(CognitoUserProvisioner.NO_LOCAL_PASSWORD));
+        // An unverified email is never used to link to another account
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void testVerifiedEmailLinksExistingAccount() {
+        User existing = user(3L, "carol", "carol@example.com");
+        when(userRepository.findByCognitoSub("sub-3")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("carol@example.com")).thenReturn(Optional.of(existing));
+        when(userRepository.save(existing)).thenReturn(existing);
+
+        UserIdentity identity = provisioner.resolve(claims("sub-3", "carol-cognito", "carol@example.com", true));
+
+        assertEquals(3L, identity.id());
+        assertEquals("carol", identity.username());
+        assertEquals("sub-3", existing.getCognitoSub());
+    }
+
+    @Test
+    void testTakenUsernameGetsSuffix() {
+        when(userRepository.findByCognitoSub("abcdef123456")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername("dave")).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(12L);
+            return saved;
+        });
+
+        UserIdentity identity = provisioner.resolve(claims("abcdef123456", "dave", null, false));
+
+        assertEquals("dave-abcdef12", identity.username());
+    }
+
+    @Test
+    void testTakenSuffixedUsernameFallsBackToSub() {
+        when(userRepository.findByCognitoSub("abcdef123456")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsername("dave")).thenReturn(true);
+        when(userRepository.existsByUsername("dave-abcdef12")).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserIdentity identity = provisioner.resolve(claims("abcdef123456", "dave", null, false));
+
+        assertEquals("abcdef123456", identity.username());
+    }
+
+    @Test
+    void testConcurrentProvisioningFallsBackToWinner() {
+        User winner = user(13L, "erin", "erin@example.com");
+        when(userRepository.findByCognitoSub("sub-5")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(userRepository.save(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertEquals(13L, provisioner.resolve(claims("sub-5", "erin", null, false)).id());
+    }
+
+    private static JWTClaimsSet claims(String sub, String username, String email, boolean emailVerified) {
+        JWTClaimsSet.Builder builder = new JWTClaimsSet.Builder().subject(sub).claim("cognito:username", username);
+        if (email != null) {
+            builder.claim("email", email).claim("email_verified", emailVerified);
+        }
+        return builder.build();
+    }
+
+    private static User user(Long id, String username, String email) {
+        User user = new User(username, username, email, "hash");
+        user.setId(id);
+        return user;
+    }
+}
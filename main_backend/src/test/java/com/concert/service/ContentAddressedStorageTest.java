@@ -0,0 +1,186 @@
+package com.concert.service;
+
+import com.concert.config.StorageProperties;
+import com.concert.model.PendingUpload;
+import com.concert.model.StoredBlob;
+import com.concert.repository.PendingUploadRepository;
+import com.concert.repository.StoredBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentAddressedStorageTest {
+
+    private static final String POSTER_HASH = ContentAddressedStorage.sha256(
+            new MockMultipartFile("file", "poster".getBytes()));
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private StoredBlobRepository storedBlobRepository;
+
+    @Mock
+    private PendingUploadRepository pendingUploadRepository;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    private ContentAddressedStorage storage;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        storage = new ContentAddressedStorage(blobStore, storedBlobRepository, pendingUploadRepository,
+                imageDerivativeService, new StorageProperties());
+        file = new MockMultipartFile("file", "tour.PNG", "image/png", "poster".getBytes());
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void testStore_NewContentIsUploadedAndRecorded() {
+        when(storedBlobRepository.findByBucketAndContentHashAndRefCountGreaterThan("bucket", POSTER_HASH, 0))
+                .thenReturn(List.of());
+        when(blobStore.putAsync(eq("bucket"), anyString(), any(InputStream.class), eq(6L), eq("image/png"), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        ContentAddressedStorage.StoredObject stored = storage.store("bucket", "events/blobs/", file).join();
+
+        assertFalse(stored.reused());
+        assertTrue(stored.key().startsWith("events/blobs/" + POSTER_HASH + "-"));
+        assertTrue(stored.key().endsWith(".png"));
+        ArgumentCaptor<StoredBlob> saved = ArgumentCaptor.forClass(StoredBlob.class);
+        verify(storedBlobRepository).save(saved.capture());
+        assertEquals(1, saved.getValue().getRefCount());
+        assertEquals(stored.key(), saved.getValue().getObjectKey());
+    }
+
+    @Test
+    void testStore_IdenticalContentSkipsUpload() {
+        StoredBlob existing = StoredBlob.builder().id(5L).bucket("bucket").contentHash(POSTER_HASH)
+                .objectKey("events/blobs/existing.png").refCount(2).build();
+        when(storedBlobRepository.findByBucketAndContentHashAndRefCountGreaterThan("bucket", POSTER_HASH, 0))
+                .thenReturn(List.of(existing));
+        when(storedBlobRepository.acquire(5L)).thenReturn(1);
+
+        ContentAddressedStorage.StoredObject stored = storage.store("bucket", "events/blobs/", file).join();
+
+        assertTrue(stored.reused());
+        assertEquals("events/blobs/existing.png", stored.key());
+        verify(blobStore, never()).putAsync(any(), any(), any(), anyLong(), any(), any());
+        verify(storedBlobRepository, never()).save(any());
+    }
+
+    @Test
+    void testRelease_LastReferenceDeletesObject() {
+        StoredBlob blob = StoredBlob.builder().id(5L).objectKey("events/blobs/a.png").refCount(1).build();
+        when(storedBlobRepository.findFirstByBucketAndObjectKey("bucket", "events/blobs/a.png"))
+                .thenReturn(Optional.of(blob));
+        when(storedBlobRepository.release(5L)).thenReturn(1);
+        when(storedBlobRepository.deleteIfUnreferenced(5L)).thenReturn(1);
+
+        storage.release("bucket", "events/blobs/a.png");
+
+        verify(imageDerivativeService).deleteWithVariants("bucket", "events/blobs/a.png");
+    }
+
+    @Test
+    void testRelease_StillReferencedKeepsObject() {
+        StoredBlob blob = StoredBlob.builder().id(5L).objectKey("events/blobs/a.png").refCount(2).build();
+        when(storedBlobRepository.findFirstByBucketAndObjectKey("bucket", "events/blobs/a.png"))
+                .thenReturn(Optional.of(blob));
+        when(storedBlobRepository.release(5L)).thenReturn(1);
+        when(storedBlobRepository.deleteIfUnreferenced(5L)).thenReturn(0);
+
+        storage.release("bucket", "events/blobs/a.png");
+
+        verify(imageDerivativeService, never()).deleteWithVariants(any(), any());
+    }
+
+    @Test
+    void testRelease_UntrackedKeyIsDeletedDirectly() {
+        when(storedBlobRepository.findFirstByBucketAndObjectKey("bucket", "events/1/legacy.jpg"))
+                .thenReturn(Optional.empty());
+
+        storage.release("bucket", "events/1/legacy.jpg");
+
+        verify(imageDerivativeService).deleteWithVariants("bucket", "events/1/legacy.jpg");
+    }
+
+    @Test
+    void testStorePending_ReferenceIsHeldByPendingUpload() {
+        when(storedBlobRepository.findByBucketAndContentHashAndRefCountGreaterThan("bucket", POSTER_HASH, 0))
+                .thenReturn(List.of());
+        when(blobStore.putAsync(eq("bucket"), anyString(), any(InputStream.class), eq(6L), eq("image/png"), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        ContentAddressedStorage.StoredObject stored = storage.storePending("bucket", "events/blobs/", file).join();
+
+        ArgumentCaptor<PendingUpload> pending = ArgumentCaptor.forClass(PendingUpload.class);
+        verify(pendingUploadRepository).save(pending.capture());
+        assertEquals(stored.key(), pending.getValue().getObjectKey());
+    }
+
+    @Test
+    void testClaim_TakesOverPendingUploadReference() {
+        when(pendingUploadRepository.findByBucketAndObjectKey("bucket", "events/blobs/a.png"))
+                .thenReturn(List.of(pending(9L, "events/blobs/a.png")));
+        when(pendingUploadRepository.take(9L)).thenReturn(1);
+
+        assertTrue(storage.claim("bucket", "events/blobs/a.png"));
+
+        verify(storedBlobRepository, never()).acquire(any());
+    }
+
+    @Test
+    void testClaim_WithoutPendingUploadTakesNewReference() {
+        when(pendingUploadRepository.findByBucketAndObjectKey("bucket", "events/blobs/a.png")).thenReturn(List.of());
+        when(storedBlobRepository.findFirstByBucketAndObjectKey("bucket", "events/blobs/a.png"))
+                .thenReturn(Optional.of(StoredBlob.builder().id(5L).objectKey("events/blobs/a.png").refCount(1).build()));
+        when(storedBlobRepository.acquire(5L)).thenReturn(1);
+
+        assertTrue(storage.claim("bucket", "events/blobs/a.png"));
+    }
+
+    @Test
+    void testReleaseUnclaimed_SkipsUploadsClaimedMeanwhile() {
+        when(pendingUploadRepository.findCreatedBefore(any(), any()))
+                .thenReturn(List.of(pending(1L, "events/blobs/a.png"), pending(2L, "events/blobs/b.png")));
+        when(pendingUploadRepository.take(1L)).thenReturn(1);
+        when(pendingUploadRepository.take(2L)).thenReturn(0);
+        when(storedBlobRepository.findFirstByBucketAndObjectKey("bucket", "events/blobs/a.png"))
+                .thenReturn(Optional.of(StoredBlob.builder().id(5L).objectKey("events/blobs/a.png").refCount(1).build()));
+        when(storedBlobRepository.release(5L)).thenReturn(1);
+        when(storedBlobRepository.deleteIfUnreferenced(5L)).thenReturn(1);
+
+        assertEquals(1, storage.releaseUnclaimed());
+
+        verify(imageDerivativeService).deleteWithVariants("bucket", "events/blobs/a.png");
+        verify(storedBlobRepository, never()).findFirstByBucketAndObjectKey("bucket", "events/blobs/b.png");
+    }
+
+    private static PendingUpload pending(Long id, String key) {
+        return PendingUpload.builder().id(id).bucket("bucket").objectKey(key)
+                .createdAt(LocalDateTime.now().minusDays(2)).build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.concert.service;
+
+import com.concert.events.BookingCancelledEvent;
+import com.concert.model.OutboxEvent;
+import com.concert.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DomainEventOutboxTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxRelay relay;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private DomainEventOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new DomainEventOutbox(outboxEventRepository, objectMapper, relay);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testRecordWritesRowAndWakesRelayAfterCommit() throws Exception {
+        BookingCancelledEvent event = new BookingCancelledEvent(1L, 2L, "event123", "Test Event");
+
+        outbox.record(event);
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(row.capture());
+        assertEquals("BookingCancelledEvent", row.getValue().getEventType());
+        assertEquals(event, objectMapper.readValue(row.getValue().getPayload(), BookingCancelledEvent.class));
+        assertNotNull(row.getValue().getCreatedAt());
+        verifyNoInteractions(relay);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(relay).wake();
+    }
+
+    @Test
+    void testRecordRejectsUnregisteredEvent() {
+        assertThrows(IllegalArgumentException.class, () -> outbox.record("not an event"));
+
+        verifyNoInteractions(outboxEventRepository, relay);
+    }
+}
@@ -0,0 +1,202 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.config.OutboxProperties;
+import com.concert.dto.BookingReminderTarget;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.BookingSnapshotsUpdatedEvent;
+import com.concert.events.EventRescheduledEvent;
+import com.concert.model.NotificationType;
+import com.concert.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventReminderSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 5, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private NotificationDispatcher dispatcher;
+
+    private EventReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EventReminderScheduler(bookingRepository, dispatcher, new NotificationProperties(),
+                new OutboxProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testInstancesThatDoNotRelaySendNoReminders() {
+        OutboxProperties outbox = new OutboxProperties();
+        outbox.setRelayEnabled(false);
+        scheduler = new EventReminderScheduler(bookingRepository, dispatcher, new NotificationProperties(),
+                outbox, new SimpleMeterRegistry());
+
+        scheduler.onBookingConfirmed(new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1));
+        scheduler.tickQuietly();
+
+        assertEquals(0, scheduler.pendingCount());
+        verifyNoInteractions(bookingRepository, dispatcher);
+    }
+
+    @Test
+    void testRebuildScansWindowPerLeadAndSendsBatchedReminders() {
+        LocalDateTime start = NOW.plusHours(25);
+        when(bookingRepository.findReminderTargetsStartingBetween(NOW.plusHours(24), NOW.plusHours(26)))
+                .thenReturn(List.of(target(1L, 10L, start), target(2L, 11L, start)));
+
+        scheduler.rebuild(NOW);
+
+        verify(bookingRepository).findReminderTargetsStartingBetween(NOW.plusHours(1), NOW.plusHours(3));
+        assertEquals(2, scheduler.pendingCount());
+        assertEquals(0, scheduler.tick(NOW.plusMinutes(59)));
+        assertEquals(2, scheduler.tick(NOW.plusMinutes(60)));
+        verify(dispatcher).dispatch(eq(NotificationType.EVENT_REMINDER), eq("Event reminder"),
+                contains("Concert starts in 24 hours"), eq(List.of(10L, 11L)));
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void testNewBookingWithinWindowIsScheduledOnce() {
+        scheduler.rebuild(NOW);
+        BookingConfirmedEvent event = new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1);
+
+        scheduler.bookingConfirmed(event, NOW);
+        scheduler.bookingConfirmed(event, NOW);
+
+        assertEquals(1, scheduler.pendingCount());
+        assertEquals(1, scheduler.tick(NOW.plusMinutes(30)));
+        verify(dispatcher).dispatch(eq(NotificationType.EVENT_REMINDER), any(), contains("starts in 1 hour"),
+                eq(List.of(20L)));
+    }
+
+    @Test
+    void testCancelledBookingIsNotReminded() {
+        scheduler.rebuild(NOW);
+        scheduler.bookingConfirmed(new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1), NOW);
+
+        scheduler.bookingCancelled(new BookingCancelledEvent(5L, 20L, "7", "Concert"));
+
+        assertEquals(0, scheduler.tick(NOW.plusMinutes(30)));
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void testQueuedCancellationIsAppliedBeforeTheWheelAdvances() {
+        scheduler.rebuild(NOW);
+        scheduler.bookingConfirmed(new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1), NOW);
+
+        scheduler.onBookingCancelled(new BookingCancelledEvent(5L, 20L, "7", "Concert"));
+
+        assertEquals(1, scheduler.pendingCount());
+        assertEquals(0, scheduler.tick(NOW.plusMinutes(30)));
+        assertEquals(0, scheduler.pendingCount());
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void testCancelledEventDropsAllItsReminders() {
+        scheduler.rebuild(NOW);
+        scheduler.bookingConfirmed(new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1), NOW);
+        scheduler.bookingConfirmed(new BookingConfirmedEvent(6L, 21L, "7", "Concert", NOW.plusMinutes(90), 1), NOW);
+
+        scheduler.eventCancelled("7");
+
+        assertEquals(0, scheduler.pendingCount());
+        assertEquals(0, scheduler.tick(NOW.plusMinutes(30)));
+    }
+
+    @Test
+    void testRescheduledEventMovesReminders() {
+        scheduler.rebuild(NOW);
+        scheduler.bookingConfirmed(new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1), NOW);
+        when(bookingRepository.findReminderTargetsByEventId("7"))
+                .thenReturn(List.of(target(5L, 20L, NOW.plusMinutes(90))));
+
+        scheduler.eventRescheduled(new EventRescheduledEvent("7", "Concert", NOW.plusMinutes(100)), NOW);
+
+        assertEquals(0, scheduler.tick(NOW.plusMinutes(30)));
+        assertEquals(1, scheduler.tick(NOW.plusMinutes(40)));
+    }
+
+    @Test
+    void testRescheduleOutsideWindowSkipsLookup() {
+        scheduler.rebuild(NOW);
+        scheduler.bookingConfirmed(new BookingConfirmedEvent(5L, 20L, "7", "Concert", NOW.plusMinutes(90), 1), NOW);
+
+        scheduler.eventRescheduled(new EventRescheduledEvent("7", "Concert", NOW.plusDays(10)), NOW);
+
+        assertEquals(0, scheduler.pendingCount());
+        verify(bookingRepository, never()).findReminderTargetsByEventId(any());
+    }
+
+    @Test
+    void testStaleBookingSnapshotAfterRescheduleIsNotReminded() {
+        scheduler.rebuild(NOW);
+        scheduler.eventRescheduled(new EventRescheduledEvent("7", "Concert", NOW.plusDays(10)), NOW);
+        // The booking still carries the old start date until its snapshot is rewritten
+        when(bookingRepository.findReminderTargetsStartingBetween(any(), any()))
+                .thenReturn(List.of(target(5L, 20L, NOW.plusHours(3))));
+
+        scheduler.tick(NOW.plusMinutes(16));
+
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void testRescheduleOverrideLastsUntilSnapshotsAreUpdated() {
+        scheduler.rebuild(NOW);
+        scheduler.eventRescheduled(new EventRescheduledEvent("7", "Concert", NOW.plusDays(10)), NOW);
+        when(bookingRepository.findReminderTargetsStartingBetween(any(), any()))
+                .thenReturn(List.of(target(5L, 20L, NOW.plusMinutes(390))));
+
+        // Well past the lookahead, the booking's old start date is still overridden
+        scheduler.tick(NOW.plusHours(4));
+        assertEquals(0, scheduler.pendingCount());
+
+        // Once they are, a rescan takes the bookings' own start date again
+        scheduler.snapshotsUpdated(new BookingSnapshotsUpdatedEvent("7", NOW.plusDays(10)));
+        scheduler.rebuild(NOW.plusHours(4));
+        assertEquals(1, scheduler.pendingCount());
+    }
+
+    @Test
+    void testWindowIsExtendedAsTimeMoves() {
+        scheduler.rebuild(NOW);
+        clearInvocations(bookingRepository);
+
+        scheduler.tick(NOW.plusMinutes(10));
+        verifyNoInteractions(bookingRepository);
+
+        scheduler.tick(NOW.plusMinutes(16));
+        verify(bookingRepository).findReminderTargetsStartingBetween(NOW.plusHours(3), NOW.plusMinutes(136 + 60));
+    }
+
+    @Test
+    void testDescribeLead() {
+        assertEquals("24 hours", EventReminderScheduler.describe(java.time.Duration.ofHours(24)));
+        assertEquals("1 hour", EventReminderScheduler.describe(java.time.Duration.ofHours(1)));
+        assertEquals("30 minutes", EventReminderScheduler.describe(java.time.Duration.ofMinutes(30)));
+    }
+
+    private static BookingReminderTarget target(Long bookingId, Long userId, LocalDateTime start) {
+        return new BookingReminderTarget(bookingId, userId, "7", "Concert", start);
+    }
+}
@@ -1,7 +1,11 @@
 package com.concert.service;
 
+import com.concert.config.AwsProperties;
 import com.concert.dto.CreateEventRequest;
 import com.concert.dto.EventResponse;
+import com.concert.events.EventDeletedEvent;
+import com.concert.events.EventRescheduledEvent;
+import com.concert.events.EventUpdatedEvent;
 import com.concert.model.Event;
 import com.concert.model.User;
 import com.concert.repository.EventRepository;
@@ -15,11 +19,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +39,21 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private DomainEventOutbox outbox;
+
+    @Mock
+    private ContentAddressedStorage contentAddressedStorage;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BlobStore blobStore;
+
     @InjectMocks
     private EventService eventService;
 
@@ -241,5 +264,106 @@ class EventServiceTest {
         assertNull(response.getOrganizerName());
         assertFalse(response.isOwnedByCurrentUser());
     }
-}
 
+    @Test
+    void testUpdateEvent_Rescheduled_RecordsReschedule() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(testEvent)).thenReturn(testEvent);
+
+        eventService.updateEvent(1L, testUser, createRequest);
+
+        verify(outbox).record(new EventRescheduledEvent("1", "New Event", createRequest.getStartDate()));
+        verify(outbox).record(any(EventUpdatedEvent.class));
+    }
+
+    @Test
+    void testUpdateEvent_SameStart_DoesNotReschedule() {
+        createRequest.setStartDate(testEvent.getStartDate());
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(testEvent)).thenReturn(testEvent);
+
+        eventService.updateEvent(1L, testUser, createRequest);
+
+        verify(outbox, never()).record(any(EventRescheduledEvent.class));
+        verify(outbox).record(new EventUpdatedEvent("1", "New Event", createRequest.getLocation(),
+                testEvent.getStartDate(), createRequest.getEndDate()));
+    }
+
+    @Test
+    void testDeleteEvent_RecordsDeletion() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+
+        eventService.deleteEvent(1L, testUser);
+
+        verify(eventRepository).delete(testEvent);
+        verify(bookingService).cancelEventBookings("1", "Test Event");
+        verify(outbox).record(new EventDeletedEvent("1", "Test Event"));
+    }
+
+    @Test
+    void testUpdateEvent_UploadedPhotoIsClaimedAndPreviousReleased() {
+        AwsProperties awsProperties = new AwsProperties();
+        awsProperties.getS3().setEventPicturesBucket("bucket");
+        ReflectionTestUtils.setField(eventService, "awsProperties", awsProperties);
+        testEvent.setPhotoId("events/blobs/old.png");
+        createRequest.setPhotoUrl("https://cdn.example.com/events/blobs/new.png");
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(testEvent)).thenReturn(testEvent);
+        when(contentAddressedStorage.claim("bucket", "events/blobs/new.png")).thenReturn(true);
+
+        eventService.updateEvent(1L, testUser, createRequest);
+
+        assertEquals("events/blobs/new.png", testEvent.getPhotoId());
+        verify(contentAddressedStorage).release("bucket", "events/blobs/old.png");
+        verify(imageDerivativeService).scheduleEventPhoto(1L, "bucket", "events/blobs/new.png");
+    }
+
+    @Test
+    void testUploadEventPhoto_ReleasesOnlyThePhotoItActuallyReplaced() {
+        AwsProperties awsProperties = new AwsProperties();
+        awsProperties.getS3().setEventPicturesBucket("bucket");
+        ReflectionTestUtils.setField(eventService, "awsProperties", awsProperties);
+        testEvent.setPhotoId("events/blobs/old.png");
+        Event changed = new Event();
+        changed.setId(1L);
+        changed.setPhotoId("events/blobs/other.png");
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent), Optional.of(testEvent), Optional.of(changed));
+        when(contentAddressedStorage.store(eq("bucket"), eq(EventService.PHOTO_BLOB_PREFIX), any()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new ContentAddressedStorage.StoredObject("events/blobs/new.png", false)));
+        when(blobStore.url("bucket", "events/blobs/new.png")).thenReturn("https://cdn.example.com/events/blobs/new.png");
+        // Another upload replaced the old photo between the read and the swap
+        when(eventRepository.swapPhoto(eq(1L), eq("events/blobs/old.png"), eq("events/blobs/new.png"), any(), any()))
+                .thenReturn(0);
+        when(eventRepository.swapPhoto(eq(1L), eq("events/blobs/other.png"), eq("events/blobs/new.png"), any(), any()))
+                .thenReturn(1);
+
+        eventService.uploadEventPhoto(1L, testUser, photo()).join();
+
+        verify(contentAddressedStorage).release("bucket", "events/blobs/other.png");
+        verify(contentAddressedStorage, never()).release("bucket", "events/blobs/old.png");
+        verify(contentAddressedStorage, never()).release("bucket", "events/blobs/new.png");
+    }
+
+    @Test
+    void testUploadEventPhoto_EventDeletedMidUploadReleasesTheNewPhoto() {
+        AwsProperties awsProperties = new AwsProperties();
+        awsProperties.getS3().setEventPicturesBucket("bucket");
+        ReflectionTestUtils.setField(eventService, "awsProperties", awsProperties);
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent), Optional.empty());
+        when(contentAddressedStorage.store(eq("bucket"), eq(EventService.PHOTO_BLOB_PREFIX), any()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new ContentAddressedStorage.StoredObject("events/blobs/new.png", false)));
+
+        CompletableFuture<?> upload = eventService.uploadEventPhoto(1L, testUser, photo());
+
+        assertThrows(CompletionException.class, upload::join);
+        verify(contentAddressedStorage).release("bucket", "events/blobs/new.png");
+        verify(eventRepository, never()).swapPhoto(any(), any(), any(), any(), any());
+        verifyNoInteractions(imageDerivativeService);
+    }
+
+    private static MockMultipartFile photo() {
+        return new MockMultipartFile("file", "poster.png", "image/png", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,129 @@
+package com.concert.service;
+
+import com.concert.config.ImageProperties;
+import com.concert.repository.EventRepository;
+import com.concert.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDerivativeServiceTest {
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ImageProperties imageProperties;
+    private ImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() {
+        imageProperties = new ImageProperties();
+        service = new ImageDerivativeService(blobStore, eventRepository, userRepository, imageProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testGenerate_StoresEveryVariantNextToOriginal() throws Exception {
+        when(blobStore.open("bucket", "events/7/abc.png")).thenReturn(imageStream(2000, 1000));
+
+        List<ImageVariant> generated = service.generate("bucket", "events/7/abc.png");
+
+        assertEquals(List.of(ImageVariant.values()), generated);
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(blobStore, times(3)).put(eq("bucket"), keys.capture(), any(InputStream.class), anyLong(),
+                eq("image/jpeg"), anyMap());
+        assertEquals(List.of("events/7/abc-thumbnail.jpg", "events/7/abc-card.jpg", "events/7/abc-hero.jpg"),
+                keys.getAllValues());
+    }
+
+    @Test
+    void testGenerate_ExistingVariantsAreNotRegenerated() throws Exception {
+        when(blobStore.exists(eq("bucket"), anyString())).thenReturn(true);
+
+        List<ImageVariant> generated = service.generate("bucket", "events/blobs/abc.png");
+
+        assertEquals(List.of(ImageVariant.values()), generated);
+        verify(blobStore, never()).open(any(), any());
+        verify(blobStore, never()).put(any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testGenerate_NotAnImage_SkipsVariants() throws Exception {
+        when(blobStore.open("bucket", "events/7/notes.txt"))
+                .thenReturn(new ByteArrayInputStream("not an image".getBytes()));
+
+        assertTrue(service.generate("bucket", "events/7/notes.txt").isEmpty());
+        verify(blobStore, never()).put(any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testGenerate_MissingOriginal_SkipsVariants() throws Exception {
+        when(blobStore.open("bucket", "events/7/gone.png")).thenReturn(null);
+
+        assertTrue(service.generate("bucket", "events/7/gone.png").isEmpty());
+        verify(blobStore, never()).put(any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testGenerate_OriginalOverPixelLimitIsRefusedBeforeDecoding() throws Exception {
+        imageProperties.setMaxSourcePixels(1000L * 1000);
+        when(blobStore.open("bucket", "events/7/huge.png")).thenReturn(imageStream(2000, 1000));
+
+        assertThrows(IllegalArgumentException.class, () -> service.generate("bucket", "events/7/huge.png"));
+        verify(blobStore, never()).put(any(), any(), any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testSubsampling_UsesBothDimensions() {
+        int largest = ImageVariant.largestWidth();
+
+        assertEquals(1, ImageDerivativeService.subsampling(largest, largest));
+        assertEquals(4, ImageDerivativeService.subsampling(largest * 4, largest));
+        // Narrow but very tall: width alone would not subsample at all
+        assertEquals(3, ImageDerivativeService.subsampling(largest / 2, largest * 16));
+    }
+
+    @Test
+    void testResize_KeepsAspectRatioAndNeverUpscales() {
+        BufferedImage source = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage card = ImageDerivativeService.resize(source, 480);
+        BufferedImage hero = ImageDerivativeService.resize(source, 1280);
+
+        assertEquals(480, card.getWidth());
+        assertEquals(240, card.getHeight());
+        assertEquals(1000, hero.getWidth());
+    }
+
+    private InputStream imageStream(int width, int height) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", bytes);
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
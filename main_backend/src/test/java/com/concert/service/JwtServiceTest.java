@@ -163,4 +163,24 @@ class JwtServiceTest {
         assertTrue(jwtService.isTokenExpired(tokenWithoutExp), "Token without exp should be treated as expired");
         assertFalse(jwtService.validateToken(tokenWithoutExp, testUsername), "Validation should fail when token lacks exp even if username matches");
     }
+
+    @Test
+    void testVerifyReturnsClaimsFromSingleParse() {
+        String token = jwtService.generateToken(testUsername);
+
+        io.jsonwebtoken.Claims claims = jwtService.verify(token);
+
+        assertEquals(testUsername, claims.getSubject());
+        assertNotNull(claims.getExpiration());
+    }
+
+    @Test
+    void testVerifyRejectsTokenAfterSecretChange() {
+        String token = jwtService.generateToken(testUsername);
+
+        ReflectionTestUtils.setField(jwtService, "jwtSecret",
+                "anotherSecretKeyThatIsAtLeast512BitsLongForHS512AlgorithmSecurityRequirements99");
+
+        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.verify(token));
+    }
 }
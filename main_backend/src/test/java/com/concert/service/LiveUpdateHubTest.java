@@ -0,0 +1,177 @@
+package com.concert.service;
+
+import com.concert.config.LiveUpdateProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveUpdateHubTest {
+
+    private LiveUpdateProperties properties;
+    private LiveUpdateHub hub;
+    private LiveUpdateHub.Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LiveUpdateProperties();
+        hub = new LiveUpdateHub(properties, new SimpleMeterRegistry());
+        budget = hub.budget("availability", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void testUpdatesWithinATickAreCoalesced() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe("event:1", budget, null, emitter, null);
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 1; i <= 5; i++) {
+            int seats = i;
+            hub.publish("event:1", "availability", () -> {
+                lookups.incrementAndGet();
+                return seats;
+            });
+        }
+        hub.flush();
+
+        await(() -> emitter.events().size() == 1);
+        assertEquals(1, lookups.get());
+        assertTrue(emitter.events().get(0).contains("event:availability"));
+        assertTrue(emitter.events().get(0).contains("5"));
+    }
+
+    @Test
+    void testFanOutReachesOnlyTheTopicsSubscribers() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        hub.subscribe("event:1", budget, null, first, null);
+        hub.subscribe("event:1", budget, null, second, null);
+        hub.subscribe("event:2", budget, null, other, null);
+
+        hub.publish("event:1", "availability", () -> 3);
+        hub.flush();
+
+        await(() -> first.events().size() == 1 && second.events().size() == 1);
+        Thread.sleep(50);
+        assertTrue(other.events().isEmpty());
+    }
+
+    @Test
+    void testTopicsWithoutSubscribersAreNeverResolved() {
+        hub.publish("event:9", "availability", () -> {
+            throw new AssertionError("should not be called");
+        });
+        hub.flush();
+
+        assertFalse(hub.hasSubscribers("event:9"));
+    }
+
+    @Test
+    void testInitialSnapshotAndHeartbeat() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe("user:7", budget, null, emitter, () -> new LiveUpdateHub.Update("notifications", 4));
+
+        await(() -> emitter.events().size() == 1);
+        hub.heartbeat();
+        await(() -> emitter.events().size() == 2);
+        assertTrue(emitter.events().get(1).contains(":ping"));
+    }
+
+    @Test
+    void testBrokenClientIsRemoved() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.fail = true;
+        hub.subscribe("event:1", budget, null, emitter, null);
+
+        hub.publish("event:1", "availability", () -> 1);
+        hub.flush();
+
+        await(() -> hub.subscriberCount() == 0);
+        assertFalse(hub.hasSubscribers("event:1"));
+    }
+
+    @Test
+    void testSubscriberLimit() {
+        LiveUpdateHub.Budget small = hub.budget("notifications", 1);
+        hub.subscribe("user:1", small, null, new RecordingEmitter(), null);
+
+        assertThrows(IllegalStateException.class,
+                () -> hub.subscribe("user:2", small, null, new RecordingEmitter(), null));
+        // Other budgets are unaffected
+        hub.subscribe("event:1", budget, null, new RecordingEmitter(), null);
+        assertEquals(2, hub.subscriberCount());
+    }
+
+    @Test
+    void testStreamsPerClientAreCapped() {
+        properties.setMaxStreamsPerClient(2);
+        RecordingEmitter first = new RecordingEmitter();
+        hub.subscribe("event:1", budget, "ip:10.0.0.1", first, null);
+        hub.subscribe("event:2", budget, "ip:10.0.0.1", new RecordingEmitter(), null);
+
+        assertThrows(TooManyStreamsException.class,
+                () -> hub.subscribe("event:3", budget, "ip:10.0.0.1", new RecordingEmitter(), null));
+        hub.subscribe("event:3", budget, "ip:10.0.0.2", new RecordingEmitter(), null);
+        assertEquals(3, hub.subscriberCount());
+    }
+
+    @Test
+    void testClosingAStreamFreesTheClientsSlot() throws Exception {
+        properties.setMaxStreamsPerClient(1);
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.fail = true;
+        hub.subscribe("event:1", budget, "u:alice", broken, null);
+        hub.publish("event:1", "availability", () -> 1);
+        hub.flush();
+
+        await(() -> hub.subscriberCount() == 0);
+        hub.subscribe("event:1", budget, "u:alice", new RecordingEmitter(), null);
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        volatile boolean fail;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> events() {
+            return events;
+        }
+    }
+}
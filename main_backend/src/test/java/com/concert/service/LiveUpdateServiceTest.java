@@ -0,0 +1,86 @@
+package com.concert.service;
+
+import com.concert.config.LiveUpdateProperties;
+import com.concert.dto.EventAvailability;
+import com.concert.events.BookingConfirmedEvent;
+import com.concert.events.Broadcast;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.repository.BookingRepository;
+import com.concert.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveUpdateServiceTest {
+
+    @Mock
+    private LiveUpdateHub hub;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    private LiveUpdateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LiveUpdateService(hub, bookingRepository, eventRepository, unreadCounter,
+                new LiveUpdateProperties());
+    }
+
+    @Test
+    void testUnknownEventIsRejected() {
+        when(eventRepository.existsById(404L)).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> service.subscribeToEvent(404L, "ip:10.0.0.1"));
+        verify(hub, never()).subscribe(anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void testAvailabilityIsCapacityMinusActiveBookings() {
+        when(bookingRepository.sumActiveQuantityByEventId("3")).thenReturn(98L);
+        when(eventRepository.findPersonLimitById(3L)).thenReturn(Optional.of(100));
+
+        assertEquals(new EventAvailability("3", 100, 98, 2), service.availability("3"));
+    }
+
+    @Test
+    void testAvailabilityWithoutLimit() {
+        when(bookingRepository.sumActiveQuantityByEventId("ext-1")).thenReturn(5L);
+
+        assertEquals(new EventAvailability("ext-1", null, 5, null), service.availability("ext-1"));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void testBookingMarksEventTopicChanged() {
+        service.onBookingConfirmed(new Broadcast<>(new BookingConfirmedEvent(1L, 7L, "3", "Jazz", null, 2)));
+
+        verify(hub).publish(eq("event:3"), eq("availability"), any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testNotificationChangeMarksEachUserTopicChanged() {
+        service.onNotificationsChanged(new Broadcast<>(new NotificationsChangedEvent(List.of(7L, 8L))));
+
+        verify(hub).publish(eq("user:7"), eq("notifications"), any());
+        verify(hub).publish(eq("user:8"), eq("notifications"), any());
+        verifyNoInteractions(unreadCounter);
+    }
+}
@@ -0,0 +1,59 @@
+package com.concert.service;
+
+import com.concert.config.StorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties properties = new StorageProperties();
+        properties.setType("local");
+        properties.getLocal().setRoot(root.toString());
+        properties.getLocal().setPublicBaseUrl("http://localhost:8080/");
+        blobStore = new LocalBlobStore(properties);
+    }
+
+    @Test
+    void testPutOpenDelete_RoundTrip() throws Exception {
+        byte[] content = "photo-bytes".getBytes();
+
+        blobStore.put("bucket", "events/1/a.jpg", new ByteArrayInputStream(content), content.length,
+                "image/jpeg", Map.of());
+
+        assertTrue(blobStore.exists("bucket", "events/1/a.jpg"));
+        try (InputStream in = blobStore.open("bucket", "events/1/a.jpg")) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        blobStore.delete("bucket", "events/1/a.jpg");
+        assertFalse(blobStore.exists("bucket", "events/1/a.jpg"));
+        assertNull(blobStore.open("bucket", "events/1/a.jpg"));
+    }
+
+    @Test
+    void testUrl_PointsAtBlobEndpoint() {
+        assertEquals("http://localhost:8080/api/blobs/bucket/events/1/a.jpg", blobStore.url("bucket", "events/1/a.jpg"));
+    }
+
+    @Test
+    void testResolve_RejectsPathTraversal() {
+        assertThrows(IllegalArgumentException.class, () -> blobStore.resolve("bucket", "../other/secret.txt"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.resolve("..", "etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.resolve("bucket", ""));
+    }
+}
@@ -0,0 +1,67 @@
+package com.concert.service;
+
+import com.concert.config.AuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private AuthProperties authProperties;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.getThrottle().setMaxFailuresPerAccount(3);
+        authProperties.getThrottle().setMaxAttemptsPerIp(2);
+        throttle = new LoginThrottle(authProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testAccountLockedAfterMaxFailures() {
+        for (int i = 0; i < 3; i++) {
+            throttle.checkAccount("Alice");
+            throttle.recordFailure("alice");
+        }
+
+        TooManyAttemptsException e = assertThrows(TooManyAttemptsException.class,
+                () -> throttle.checkAccount("ALICE"));
+        assertTrue(e.getRetryAfterSeconds() > 0);
+        assertDoesNotThrow(() -> throttle.checkAccount("bob"));
+    }
+
+    @Test
+    void testSuccessClearsFailures() {
+        throttle.recordFailure("alice");
+        throttle.recordFailure("alice");
+        throttle.recordSuccess("alice");
+        throttle.recordFailure("alice");
+
+        assertDoesNotThrow(() -> throttle.checkAccount("alice"));
+    }
+
+    @Test
+    void testIpLimitedPerWindow() {
+        throttle.checkIp("10.0.0.1");
+        throttle.checkIp("10.0.0.1");
+
+        assertThrows(TooManyAttemptsException.class, () -> throttle.checkIp("10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkIp("10.0.0.2"));
+        assertDoesNotThrow(() -> throttle.checkIp(null));
+    }
+
+    @Test
+    void testDisabledThrottleNeverRejects() {
+        authProperties.getThrottle().setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            throttle.checkIp("10.0.0.1");
+            throttle.recordFailure("alice");
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAccount("alice"));
+    }
+}
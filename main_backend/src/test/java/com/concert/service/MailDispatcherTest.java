@@ -0,0 +1,240 @@
+package com.concert.service;
+
+import com.concert.config.MailDeliveryProperties;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.model.MailMessage;
+import com.concert.model.NotificationPreference;
+import com.concert.model.User;
+import com.concert.repository.MailMessageRepository;
+import com.concert.repository.NotificationPreferenceRepository;
+import com.concert.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+
+    @Mock
+    private MailMessageRepository mailMessageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationPreferenceRepository preferenceRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private FakeSmtpServer smtpServer;
+    private MailDeliveryProperties properties;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new FakeSmtpServer();
+        properties = new MailDeliveryProperties();
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtpServer.port());
+        dispatcher = dispatcher(sender);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dispatcher.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    void testBatchesReuseOnePooledConnection() {
+        dispatcher.sendBatch("example.com", List.of(message(1L, "a@example.com"), message(2L, "b@example.com")));
+        dispatcher.sendBatch("example.com", List.of(message(3L, "c@example.com")));
+
+        assertEquals(3, smtpServer.received().size());
+        assertEquals(1, smtpServer.connectionCount());
+        verify(mailMessageRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(mailMessageRepository).deleteByIdIn(List.of(3L));
+        assertTrue(smtpServer.received().get(0).data().contains("Subject: Hello"));
+    }
+
+    @Test
+    void testRejectedRecipientIsRetriedWithBackoff() {
+        MailMessage rejected = message(1L, "reject@example.com");
+        rejected.setAttempts(1);
+
+        dispatcher.sendBatch("example.com", List.of(rejected, message(2L, "b@example.com")));
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mailMessageRepository).recordFailure(eq(1L), eq(MailMessage.PENDING), eq(2), next.capture(), any(), any());
+        // Second attempt waits twice the base backoff
+        assertTrue(next.getValue().isAfter(LocalDateTime.now().plusSeconds(55)));
+        verify(mailMessageRepository).deleteByIdIn(List.of(2L));
+        assertEquals(1, smtpServer.received().size());
+    }
+
+    @Test
+    void testLastAttemptMarksFailed() {
+        MailMessage rejected = message(1L, "reject@example.com");
+        rejected.setAttempts(properties.getMaxAttempts() - 1);
+
+        dispatcher.sendBatch("example.com", List.of(rejected));
+
+        verify(mailMessageRepository).recordFailure(eq(1L), eq(MailMessage.FAILED), anyInt(), any(), any(), any());
+        verify(mailMessageRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void testUnreachableServerCountsAnAttemptForEveryMessage() throws Exception {
+        smtpServer.close();
+
+        dispatcher.sendBatch("example.com", List.of(message(1L, "a@example.com"), message(2L, "b@example.com")));
+
+        verify(mailMessageRepository, times(2)).recordFailure(anyLong(), eq(MailMessage.PENDING), eq(1), any(), any(), any());
+    }
+
+    @Test
+    void testPollGroupsByDomainAndClaimsOnce() {
+        when(mailMessageRepository.findDueIds(any(), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(mailMessageRepository.claim(eq(List.of(1L, 2L, 3L)), anyString(), any())).thenReturn(3);
+        when(mailMessageRepository.findByClaimId(anyString())).thenReturn(List.of(
+                message(1L, "a@one.com"), message(2L, "b@two.com"), message(3L, "c@one.com")));
+
+        assertEquals(3, dispatcher.poll());
+
+        verify(mailMessageRepository, timeout(5000)).deleteByIdIn(List.of(1L, 3L));
+        verify(mailMessageRepository, timeout(5000)).deleteByIdIn(List.of(2L));
+    }
+
+    @Test
+    void testPollSendsOnlyRowsCarryingItsOwnClaim() {
+        when(mailMessageRepository.findDueIds(any(), any())).thenReturn(List.of(1L, 2L));
+        // Another poller claimed message 2 first
+        when(mailMessageRepository.claim(eq(List.of(1L, 2L)), anyString(), any())).thenReturn(1);
+        ArgumentCaptor<String> claimId = ArgumentCaptor.forClass(String.class);
+        when(mailMessageRepository.findByClaimId(claimId.capture())).thenReturn(List.of(message(1L, "a@one.com")));
+
+        assertEquals(1, dispatcher.poll());
+
+        verify(mailMessageRepository).claim(any(), eq(claimId.getValue()), any());
+        verify(mailMessageRepository).releaseStale(any());
+        verify(mailMessageRepository, timeout(5000)).deleteByIdIn(List.of(1L));
+        verify(mailMessageRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void testBatchesBeyondSenderCapacityAreHandedBack() {
+        dispatcher.shutdown();
+        properties.setConnections(1);
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtpServer.port());
+        dispatcher = dispatcher(sender);
+        when(mailMessageRepository.findDueIds(any(), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(mailMessageRepository.claim(eq(List.of(1L, 2L, 3L)), anyString(), any())).thenReturn(3);
+        when(mailMessageRepository.findByClaimId(anyString())).thenReturn(List.of(
+                message(1L, "a@one.com"), message(2L, "b@two.com"), message(3L, "c@three.com")));
+
+        // One sender thread plus one queued task
+        assertEquals(2, dispatcher.poll());
+
+        verify(mailMessageRepository).release(List.of(3L));
+        verify(mailMessageRepository, timeout(5000)).deleteByIdIn(List.of(2L));
+    }
+
+    @Test
+    void testDatabaseErrorHandsTheBatchBack() {
+        when(mailMessageRepository.deleteByIdIn(any())).thenThrow(new IllegalStateException("database down"));
+
+        dispatcher.sendBatch("example.com", List.of(message(1L, "a@example.com")));
+
+        verify(mailMessageRepository).release(List.of(1L));
+    }
+
+    @Test
+    void testEnqueueRendersAndStoresMessage() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(new User("Ann", "ann", "Ann@Example.com", "x")));
+        when(preferenceRepository.findByUserId(7L)).thenReturn(Optional.empty());
+
+        assertTrue(dispatcher.enqueue(7L, MailTemplates.BOOKING_CANCELLED,
+                Map.of("eventTitle", "Jazz Night", "bookingId", 5L)));
+
+        ArgumentCaptor<MailMessage> saved = ArgumentCaptor.forClass(MailMessage.class);
+        verify(mailMessageRepository).save(saved.capture());
+        assertEquals("Ann@Example.com", saved.getValue().getRecipient());
+        assertEquals("example.com", saved.getValue().getDomain());
+        assertEquals("Booking cancelled: Jazz Night", saved.getValue().getSubject());
+        assertEquals(MailMessage.PENDING, saved.getValue().getStatus());
+    }
+
+    @Test
+    void testEnqueueRespectsEmailPreference() {
+        NotificationPreference preference = new NotificationPreference(7L);
+        preference.setEmailNotifications(false);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(new User("Ann", "ann", "ann@example.com", "x")));
+        when(preferenceRepository.findByUserId(7L)).thenReturn(Optional.of(preference));
+
+        assertFalse(dispatcher.enqueue(7L, MailTemplates.BOOKING_CANCELLED, Map.of()));
+        verify(mailMessageRepository, never()).save(any());
+    }
+
+    @Test
+    void testBookingEventStoresTheMessageBeforeReturning() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(new User("Ann", "ann", "ann@example.com", "x")));
+        when(preferenceRepository.findByUserId(7L)).thenReturn(Optional.empty());
+
+        dispatcher.onBookingCancelled(new BookingCancelledEvent(1L, 7L, "3", "Jazz"));
+
+        // Stored on the listener's own thread; only the poll is handed off
+        verify(mailMessageRepository).save(any(MailMessage.class));
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testWithoutMailHostNothingIsSent() {
+        MailDispatcher unconfigured = dispatcher(null);
+        try {
+            assertFalse(unconfigured.isActive());
+            unconfigured.onBookingCancelled(new BookingCancelledEvent(1L, 7L, "3", "Jazz"));
+            verifyNoInteractions(userRepository, mailMessageRepository);
+        } finally {
+            unconfigured.shutdown();
+        }
+    }
+
+    private MailDispatcher dispatcher(JavaMailSenderImpl sender) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (sender != null) {
+            beans.addBean("mailSender", sender);
+        }
+        return new MailDispatcher(mailMessageRepository, userRepository, preferenceRepository, new MailTemplates(),
+                properties, beans.getBeanProvider(JavaMailSenderImpl.class), new SimpleMeterRegistry(),
+                taskScheduler);
+    }
+
+    private static MailMessage message(Long id, String recipient) {
+        return MailMessage.builder().id(id).recipient(recipient)
+                .domain(recipient.substring(recipient.indexOf('@') + 1))
+                .subject("Hello").body("Body").status(MailMessage.SENDING).attempts(0)
+                .nextAttemptAt(LocalDateTime.now()).build();
+    }
+}
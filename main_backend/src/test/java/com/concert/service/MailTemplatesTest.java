@@ -0,0 +1,34 @@
+package com.concert.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailTemplatesTest {
+
+    private final MailTemplates templates = new MailTemplates();
+
+    @Test
+    void testRenderFillsSubjectAndBody() {
+        MailTemplates.RenderedMail mail = templates.render(MailTemplates.BOOKING_CONFIRMED, Map.of(
+                "name", "Ann", "eventTitle", "Jazz Night", "quantity", 2, "bookingId", 42L, "when", ""));
+
+        assertEquals("Booking confirmed: Jazz Night", mail.subject());
+        assertTrue(mail.body().startsWith("Hi Ann,"));
+        assertTrue(mail.body().contains("2 ticket(s) for Jazz Night is confirmed."));
+        assertTrue(mail.body().contains("Booking reference: 42"));
+    }
+
+    @Test
+    void testMissingValueIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> templates.render(MailTemplates.BOOKING_CANCELLED, Map.of("name", "Ann")));
+    }
+
+    @Test
+    void testUnknownTemplateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> templates.render("nope", Map.of()));
+    }
+}
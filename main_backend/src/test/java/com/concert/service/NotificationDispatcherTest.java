@@ -0,0 +1,146 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.model.NotificationPreference;
+import com.concert.model.NotificationType;
+import com.concert.repository.NotificationPreferenceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationPreferenceRepository preferenceRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DomainEventOutbox outbox;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setBatchSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(preferenceRepository, jdbcTemplate, transactionManager, outbox,
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testLargeFanOutIsWrittenInBatches() {
+        List<Long> attendees = LongStream.rangeClosed(1, 250).boxed().toList();
+
+        int written = dispatcher.deliver(new NotificationDispatcher.Delivery(NotificationType.EVENT_CANCELLATION,
+                "Event cancelled", "Gone", attendees));
+
+        assertEquals(250, written);
+        verify(preferenceRepository, times(3)).findByUserIdIn(anyCollection());
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(250, meterRegistry.counter("notifications.delivered", "outcome", "written").count());
+        // Each batch commits together with the change event for its recipients
+        verify(transactionManager, times(3)).commit(any());
+        verify(outbox, times(3)).record(any(NotificationsChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOptedOutUsersAreSkipped() {
+        NotificationPreference optedOut = new NotificationPreference(2L);
+        optedOut.setPushNotifications(false);
+        when(preferenceRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(optedOut));
+
+        int written = dispatcher.deliver(new NotificationDispatcher.Delivery(NotificationType.BOOKING_CONFIRMATION,
+                "Booking confirmed", "Done", List.of(1L, 2L, 3L)));
+
+        ArgumentCaptor<Collection<Long>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, written);
+        assertEquals(List.of(1L, 3L), List.copyOf(rows.getValue()));
+        verify(outbox).record(new NotificationsChangedEvent(List.of(1L, 3L)));
+    }
+
+    @Test
+    void testFailedBatchDoesNotStopTheRest() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(new int[0][]);
+
+        int written = dispatcher.deliver(new NotificationDispatcher.Delivery(NotificationType.EVENT_CANCELLATION,
+                "Event cancelled", "Gone", LongStream.rangeClosed(1, 150).boxed().toList()));
+
+        assertEquals(50, written);
+        verify(outbox, times(1)).record(any());
+    }
+
+    @Test
+    void testFullQueueMakesTheCallerDeliverInsteadOfDropping() throws Exception {
+        NotificationProperties properties = new NotificationProperties();
+        properties.setWorkerThreads(1);
+        properties.setQueueCapacity(1);
+        dispatcher.shutdown();
+        dispatcher = new NotificationDispatcher(preferenceRepository, jdbcTemplate, transactionManager, outbox,
+                properties, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        when(preferenceRepository.findByUserIdIn(anyCollection())).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().startsWith("notifications-")) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return List.of();
+        });
+
+        dispatcher.dispatch(NotificationType.BOOKING_CONFIRMATION, "Booking confirmed", "Done", List.of(1L));
+        verify(preferenceRepository, timeout(2000)).findByUserIdIn(anyCollection());
+        dispatcher.dispatch(NotificationType.BOOKING_CONFIRMATION, "Booking confirmed", "Done", List.of(2L));
+        // Worker busy and queue full: written on this thread
+        dispatcher.dispatch(NotificationType.BOOKING_CONFIRMATION, "Booking confirmed", "Done", List.of(3L));
+
+        verify(outbox).record(new NotificationsChangedEvent(List.of(3L)));
+        assertEquals(1, meterRegistry.counter("notifications.caller_runs").count());
+        release.countDown();
+        verify(outbox, timeout(2000).times(3)).record(any(NotificationsChangedEvent.class));
+    }
+
+    @Test
+    void testRemindersFollowTheReminderSetting() {
+        NotificationPreference preference = new NotificationPreference(1L);
+        preference.setEventReminders(false);
+
+        assertFalse(NotificationType.EVENT_REMINDER.isWanted(preference));
+        assertTrue(NotificationType.BOOKING_CONFIRMATION.isWanted(preference));
+        assertTrue(NotificationType.EVENT_REMINDER.isWanted(null));
+    }
+}
@@ -0,0 +1,113 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionJobTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private NotificationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationProperties();
+        properties.getRetention().setChunkSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        job = new NotificationRetentionJob(notificationRepository, properties, taskScheduler, meterRegistry);
+    }
+
+    @Test
+    void testPurgeDeletesChunksUntilShortChunk() {
+        runScheduledChunksInline();
+        when(notificationRepository.findIdsCreatedBefore(any(), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(notificationRepository.deleteByIdIn(anyCollection())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        assertTrue(job.purge());
+        verify(notificationRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(notificationRepository).deleteByIdIn(List.of(3L));
+        verify(notificationRepository, times(2)).findIdsCreatedBefore(any(), any());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(3.0, meterRegistry.counter("notifications.purged").count());
+    }
+
+    @Test
+    void testNextChunkIsScheduledAfterThePauseInsteadOfSleeping() {
+        properties.getRetention().setPauseMs(60_000);
+        when(notificationRepository.findIdsCreatedBefore(any(), any())).thenReturn(List.of(1L, 2L));
+        when(notificationRepository.deleteByIdIn(anyCollection())).thenReturn(2);
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+
+        Instant before = Instant.now();
+        assertTrue(job.purge());
+
+        verify(taskScheduler).schedule(any(Runnable.class), at.capture());
+        assertFalse(at.getValue().isBefore(before.plusSeconds(60)));
+        verify(notificationRepository, times(1)).deleteByIdIn(anyCollection());
+        // The run is still in progress, so the next trigger does not start another
+        assertFalse(job.purge());
+    }
+
+    @Test
+    void testPurgeStopsAtChunkCap() {
+        runScheduledChunksInline();
+        properties.getRetention().setMaxChunksPerRun(2);
+        when(notificationRepository.findIdsCreatedBefore(any(), any())).thenReturn(List.of(1L, 2L));
+        when(notificationRepository.deleteByIdIn(anyCollection())).thenReturn(2);
+
+        assertTrue(job.purge());
+        verify(notificationRepository, times(2)).deleteByIdIn(anyCollection());
+        assertEquals(4.0, meterRegistry.counter("notifications.purged").count());
+        // The capped run has finished, so the next one may start
+        assertTrue(job.purge());
+    }
+
+    @Test
+    void testPurgeWithNothingExpiredDeletesNothing() {
+        when(notificationRepository.findIdsCreatedBefore(any(), any())).thenReturn(List.of());
+
+        assertTrue(job.purge());
+        verify(notificationRepository, never()).deleteByIdIn(anyCollection());
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void testFailedChunkEndsTheRun() {
+        when(notificationRepository.findIdsCreatedBefore(any(), any())).thenThrow(new IllegalStateException("down"));
+
+        assertTrue(job.purge());
+        verifyNoInteractions(taskScheduler);
+        assertTrue(job.purge());
+    }
+
+    private void runScheduledChunksInline() {
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(inv -> {
+            ((Runnable) inv.getArgument(0)).run();
+            return null;
+        });
+    }
+}
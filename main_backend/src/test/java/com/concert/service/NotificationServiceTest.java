@@ -0,0 +1,89 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.model.Notification;
+import com.concert.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    @Mock
+    private DomainEventOutbox outbox;
+
+    private NotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new NotificationService(notificationRepository, unreadCounter, new NotificationProperties(), outbox);
+    }
+
+    @Test
+    void testListSeeksBelowCursorAndClampsLimit() {
+        Notification notification = Notification.builder().id(41L).userId(7L).title("Hi").type("BOOKING_CONFIRMATION").build();
+        when(notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(7L, 42L, PageRequest.ofSize(100)))
+                .thenReturn(List.of(notification));
+
+        var page = service.list(7L, 42L, 5000);
+
+        assertEquals(1, page.size());
+        assertEquals(41L, page.get(0).getId());
+        assertEquals("Hi", page.get(0).getTitle());
+    }
+
+    @Test
+    void testMarkReadOfOtherUsersNotificationIsNotFound() {
+        when(notificationRepository.markRead(eq(5L), eq(7L), any())).thenReturn(0);
+        when(notificationRepository.existsByIdAndUserId(5L, 7L)).thenReturn(false);
+
+        assertFalse(service.markRead(7L, 5L));
+    }
+
+    @Test
+    void testMarkReadIsIdempotent() {
+        when(notificationRepository.markRead(eq(5L), eq(7L), any())).thenReturn(1, 0);
+        when(notificationRepository.existsByIdAndUserId(5L, 7L)).thenReturn(true);
+
+        assertTrue(service.markRead(7L, 5L));
+        assertTrue(service.markRead(7L, 5L));
+        verify(notificationRepository, times(1)).existsByIdAndUserId(5L, 7L);
+        // Only the call that actually changed the row moves the counter
+        verify(unreadCounter, times(1)).decrement(7L, 1);
+        verify(outbox, times(1)).record(new NotificationsChangedEvent(List.of(7L)));
+    }
+
+    @Test
+    void testMarkAllReadUpdatesInOneStatementAndAdjustsCounter() {
+        when(notificationRepository.markAllRead(eq(7L), eq(Long.MAX_VALUE), any())).thenReturn(12);
+
+        assertEquals(12, service.markAllRead(7L, null));
+        verify(unreadCounter).decrement(7L, 12);
+        verify(outbox).record(new NotificationsChangedEvent(List.of(7L)));
+    }
+
+    @Test
+    void testMarkAllReadUpToIdOnlyCoversDisplayedNotifications() {
+        when(notificationRepository.markAllRead(eq(7L), eq(40L), any())).thenReturn(3);
+
+        assertEquals(3, service.markAllRead(7L, 40L));
+        verify(unreadCounter).decrement(7L, 3);
+    }
+}
@@ -0,0 +1,164 @@
+package com.concert.service;
+
+import com.concert.config.OutboxProperties;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.Broadcast;
+import com.concert.events.EventUpdatedEvent;
+import com.concert.model.OutboxEvent;
+import com.concert.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StringRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StringRedisConnection redisConnection;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private OutboxProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = relay();
+    }
+
+    @Test
+    void testDrainPublishesInOrderAndDeletesEachBatch() throws Exception {
+        BookingCancelledEvent first = new BookingCancelledEvent(1L, 1L, "7", "Test Event");
+        EventUpdatedEvent second = new EventUpdatedEvent("7", "Test Event", "Hall", LocalDateTime.now(), null);
+        BookingCancelledEvent third = new BookingCancelledEvent(2L, 3L, "7", "Test Event");
+        when(outboxEventRepository.findOldest(PageRequest.ofSize(2)))
+                .thenReturn(List.of(row(1L, first), row(2L, second)), List.of(row(3L, third)));
+
+        assertEquals(3, relay.drain());
+
+        InOrder inOrder = inOrder(eventPublisher, outboxEventRepository);
+        inOrder.verify(eventPublisher).publishEvent((Object) first);
+        inOrder.verify(eventPublisher).publishEvent((Object) second);
+        inOrder.verify(outboxEventRepository).deleteByIdIn(List.of(1L, 2L));
+        inOrder.verify(eventPublisher).publishEvent((Object) third);
+        inOrder.verify(outboxEventRepository).deleteByIdIn(List.of(3L));
+        assertEquals(3, meterRegistry.counter("outbox.published").count());
+    }
+
+    @Test
+    void testEventIsBroadcastBeforeRelayOnlyListenersRun() throws Exception {
+        BookingCancelledEvent event = new BookingCancelledEvent(1L, 1L, "7", "Test Event");
+        when(outboxEventRepository.findOldest(any())).thenReturn(List.of(row(1L, event)), List.of());
+
+        relay.drain();
+
+        InOrder inOrder = inOrder(eventPublisher);
+        inOrder.verify(eventPublisher).publishEvent((Object) new Broadcast<>(event));
+        inOrder.verify(eventPublisher).publishEvent((Object) event);
+    }
+
+    @Test
+    void testFailingListenerAndUnknownTypeDoNotHoldUpTheBatch() throws Exception {
+        BookingCancelledEvent event = new BookingCancelledEvent(1L, 1L, "7", "Test Event");
+        OutboxEvent unknown = OutboxEvent.builder().id(1L).eventType("SomethingElse").payload("{}").build();
+        when(outboxEventRepository.findOldest(any())).thenReturn(List.of(unknown, row(2L, event)), List.of());
+        doThrow(new IllegalStateException("listener broke")).when(eventPublisher).publishEvent(any(Object.class));
+
+        assertEquals(2, relay.drain());
+
+        verify(eventPublisher).publishEvent((Object) new Broadcast<>(event));
+        verify(outboxEventRepository).deleteByIdIn(List.of(1L, 2L));
+        assertEquals(2, meterRegistry.counter("outbox.failed").count());
+    }
+
+    @Test
+    void testBatchIsAppendedToRedisStreamBeforeDelivery() throws Exception {
+        properties.setRedisStream("concert:events");
+        relay = relay();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(redisConnection);
+            return List.of();
+        });
+        BookingCancelledEvent event = new BookingCancelledEvent(1L, 1L, "7", "Test Event");
+        when(outboxEventRepository.findOldest(any())).thenReturn(List.of(row(5L, event)));
+
+        relay.drain();
+
+        InOrder inOrder = inOrder(redisConnection, eventPublisher, outboxEventRepository);
+        inOrder.verify(redisConnection).xAdd(argThat((StringRecord record) ->
+                "concert:events".equals(record.getStream())
+                && "5".equals(record.getValue().get("id"))
+                && "BookingCancelledEvent".equals(record.getValue().get("type"))), any(XAddOptions.class));
+        inOrder.verify(eventPublisher).publishEvent((Object) event);
+        inOrder.verify(outboxEventRepository).deleteByIdIn(List.of(5L));
+    }
+
+    @Test
+    void testRedisFailureKeepsRowsForRetry() throws Exception {
+        properties.setRedisStream("concert:events");
+        relay = relay();
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(outboxEventRepository.findOldest(any()))
+                .thenReturn(List.of(row(5L, new BookingCancelledEvent(1L, 1L, "7", "Test Event"))));
+
+        assertThrows(RedisConnectionFailureException.class, relay::drain);
+
+        verifyNoInteractions(eventPublisher);
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+    }
+
+    private OutboxRelay relay() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("redisTemplate", redisTemplate));
+        return new OutboxRelay(outboxEventRepository, eventPublisher, objectMapper, properties,
+                beans.getBeanProvider(StringRedisTemplate.class), meterRegistry, taskScheduler);
+    }
+
+    private OutboxEvent row(Long id, Object event) throws Exception {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(event.getClass().getSimpleName())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
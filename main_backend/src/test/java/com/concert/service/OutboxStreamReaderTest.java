@@ -0,0 +1,117 @@
+package com.concert.service;
+
+import com.concert.config.OutboxProperties;
+import com.concert.events.BookingCancelledEvent;
+import com.concert.events.Broadcast;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxStreamReaderTest {
+
+    private static final String STREAM = "concert:events";
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private OutboxProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setRelayEnabled(false);
+        properties.setRedisStream(STREAM);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStartsAtTheEndAndPublishesOnlyBroadcasts() throws Exception {
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.reverseRange(eq(STREAM), eq(Range.unbounded()), any(Limit.class)))
+                .thenReturn(List.of(entry("5-0", "{}")));
+        BookingCancelledEvent event = new BookingCancelledEvent(1L, 1L, "7", "Test Event");
+        when(streamOperations.read(any(StreamReadOptions.class), any(StreamOffset.class)))
+                .thenReturn(List.of(entry("6-0", objectMapper.writeValueAsString(event))), List.of());
+        OutboxStreamReader reader = reader();
+
+        assertEquals(1, reader.read());
+        assertEquals(0, reader.read());
+
+        verify(streamOperations).read(any(StreamReadOptions.class),
+                eq(StreamOffset.create(STREAM, ReadOffset.from("5-0"))));
+        verify(streamOperations).read(any(StreamReadOptions.class),
+                eq(StreamOffset.create(STREAM, ReadOffset.from("6-0"))));
+        verify(eventPublisher).publishEvent((Object) new Broadcast<>(event));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUnknownEntryIsSkipped() {
+        when(redisTemplate.opsForStream()).thenReturn(streamOperations);
+        when(streamOperations.reverseRange(eq(STREAM), any(Range.class), any(Limit.class))).thenReturn(List.of());
+        MapRecord<String, Object, Object> unknown = StreamRecords.newRecord()
+                .in(STREAM)
+                .withId(RecordId.of("1-0"))
+                .ofMap(Map.<Object, Object>of("id", "1", "type", "SomethingElse", "payload", "{}"));
+        when(streamOperations.read(any(StreamReadOptions.class), any(StreamOffset.class))).thenReturn(List.of(unknown));
+
+        assertEquals(1, reader().read());
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testRelayingInstanceDoesNotReadTheStream() {
+        properties.setRelayEnabled(true);
+
+        assertEquals(0, reader().read());
+
+        verifyNoInteractions(redisTemplate, eventPublisher);
+    }
+
+    private OutboxStreamReader reader() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("redisTemplate", redisTemplate));
+        return new OutboxStreamReader(eventPublisher, objectMapper, properties,
+                beans.getBeanProvider(StringRedisTemplate.class), new SimpleMeterRegistry());
+    }
+
+    private static MapRecord<String, Object, Object> entry(String id, String payload) {
+        return StreamRecords.newRecord()
+                .in(STREAM)
+                .withId(RecordId.of(id))
+                .ofMap(Map.<Object, Object>of("id", "1", "type", "BookingCancelledEvent", "payload", payload));
+    }
+}
@@ -0,0 +1,109 @@
+package com.concert.service;
+
+import com.concert.config.AuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private PasswordEncoder passwordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        AuthProperties authProperties = new AuthProperties();
+        authProperties.getHashing().setThreads(1);
+        authProperties.getHashing().setQueueCapacity(1);
+        service = new PasswordHashingService(passwordEncoder, authProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testHashingRunsOffTheCallerThreadAndIsTimed() {
+        String caller = Thread.currentThread().getName();
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> {
+            assertNotEquals(caller, Thread.currentThread().getName());
+            return "hashed";
+        });
+
+        assertEquals("hashed", service.encode("secret"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void testSaturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        // One running, one queued: the pool is full
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.matches("a", "x"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("b", "x"));
+        while (meterRegistry.get("auth.password.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(AuthBusyException.class, () -> service.matches("c", "x"));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEncodeAllKeepsOrder() {
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> "h-" + invocation.getArgument(0));
+
+        assertEquals(List.of("h-one", "h-two", "h-three"), service.encodeAll(List.of("one", "two", "three")));
+    }
+
+    @Test
+    void testEncodeAllRejectsInsteadOfHashingOnTheCallerWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(passwordEncoder.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> "h-" + invocation.getArgument(0));
+        // Occupy the only worker and the only queue slot
+        CompletableFuture<Boolean> busyWorker = CompletableFuture.supplyAsync(() -> service.matches("a", "b"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.matches("c", "d"));
+        Thread.sleep(50);
+
+        assertThrows(AuthBusyException.class, () -> service.encodeAll(List.of("one", "two", "three")));
+
+        verify(passwordEncoder, never()).encode(any());
+        assertEquals(1, meterRegistry.get("auth.password.rejected").counter().count());
+        release.countDown();
+        assertTrue(busyWorker.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,74 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.net.URL;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresignedUrlServiceTest {
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    private AwsProperties awsProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private PresignedUrlService presignedUrlService;
+
+    @BeforeEach
+    void setUp() {
+        awsProperties = new AwsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        presignedUrlService = new PresignedUrlService(s3Presigner, awsProperties, meterRegistry);
+    }
+
+    @Test
+    void testGetPresignedUrl_ReusesSignedUrl() throws Exception {
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL("https://bucket.s3.amazonaws.com/key?X-Amz-Signature=abc"));
+        when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+        String first = presignedUrlService.getPresignedUrl("bucket", "key");
+        String second = presignedUrlService.getPresignedUrl("bucket", "key");
+
+        assertEquals(first, second);
+        verify(s3Presigner, times(1)).presignGetObject(any(GetObjectPresignRequest.class));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "presignedUrls").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testGetPresignedUrl_SignsEachKeySeparately() throws Exception {
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL("https://bucket.s3.amazonaws.com/key?X-Amz-Signature=abc"));
+        when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+        presignedUrlService.getPresignedUrl("bucket", "a.jpg");
+        presignedUrlService.getPresignedUrl("bucket", "b.jpg");
+        presignedUrlService.getPresignedUrl("other-bucket", "a.jpg");
+
+        verify(s3Presigner, times(3)).presignGetObject(any(GetObjectPresignRequest.class));
+    }
+
+    @Test
+    void testResolveUrl_PublicAccessSkipsSigning() {
+        awsProperties.getS3().setPresignedUrlsEnabled(false);
+
+        String url = presignedUrlService.resolveUrl("bucket", "users/1/avatar.png");
+
+        assertEquals("https://bucket.s3.us-east-1.amazonaws.com/users/1/avatar.png", url);
+        verifyNoInteractions(s3Presigner);
+    }
+}
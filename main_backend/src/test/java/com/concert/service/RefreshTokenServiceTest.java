@@ -0,0 +1,91 @@
+package com.concert.service;
+
+import com.concert.model.RefreshToken;
+import com.concert.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(refreshTokenRepository, 60_000);
+    }
+
+    @Test
+    void testIssueStoresOnlyTheHash() {
+        String token = service.issue(7L);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(RefreshTokenService.hash(token), saved.getValue().getTokenHash());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+        assertEquals(7L, saved.getValue().getUserId());
+    }
+
+    @Test
+    void testRotateIssuesSuccessor() {
+        RefreshToken current = stored("old", null, LocalDateTime.now().plusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("old"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(1L), anyString(), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = service.rotate("old");
+
+        assertEquals(7L, rotation.userId());
+        assertNotEquals("old", rotation.refreshToken());
+        verify(refreshTokenRepository).markUsed(eq(1L), eq(RefreshTokenService.hash(rotation.refreshToken())), any());
+    }
+
+    @Test
+    void testReusedTokenRevokesFamily() {
+        RefreshToken used = stored("old", LocalDateTime.now().minusSeconds(5), LocalDateTime.now().plusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("old"))).thenReturn(Optional.of(used));
+
+        assertThrows(IllegalArgumentException.class, () -> service.rotate("old"));
+        verify(refreshTokenRepository).revokeAllForUser(eq(7L), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void testExpiredTokenRejected() {
+        RefreshToken expired = stored("old", null, LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("old"))).thenReturn(Optional.of(expired));
+
+        assertThrows(IllegalArgumentException.class, () -> service.rotate("old"));
+        verify(refreshTokenRepository, never()).markUsed(any(), any(), any());
+    }
+
+    @Test
+    void testUnknownTokenRejected() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> service.rotate("nope"));
+    }
+
+    private RefreshToken stored(String token, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .id(1L)
+                .tokenHash(RefreshTokenService.hash(token))
+                .userId(7L)
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3ObjectExistenceCacheTest {
+
+    @Mock
+    private S3AsyncClient s3Client;
+
+    private S3ObjectExistenceCache existenceCache;
+
+    @BeforeEach
+    void setUp() {
+        existenceCache = new S3ObjectExistenceCache(s3Client, new AwsProperties());
+    }
+
+    @Test
+    void testExists_CachesPositiveResult() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(CompletableFuture.completedFuture(HeadObjectResponse.builder().build()));
+
+        assertTrue(existenceCache.exists("bucket", "events/1/photo.jpg"));
+        assertTrue(existenceCache.exists("bucket", "events/1/photo.jpg"));
+
+        verify(s3Client, times(1)).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void testExists_CachesMissingKey() {
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(NoSuchKeyException.builder().statusCode(404).build()));
+
+        assertFalse(existenceCache.exists("bucket", "events/1/missing.jpg"));
+        assertFalse(existenceCache.exists("bucket", "events/1/missing.jpg"));
+
+        verify(s3Client, times(1)).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void testExists_Bare404TreatedAsMissing() {
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(S3Exception.builder().statusCode(404).build()));
+
+        assertFalse(existenceCache.exists("bucket", "events/1/missing.jpg"));
+    }
+
+    @Test
+    void testExists_OtherErrorsAreNotCached() {
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(S3Exception.builder().statusCode(403).build()))
+                .thenReturn(CompletableFuture.completedFuture(HeadObjectResponse.builder().build()));
+
+        assertThrows(S3Exception.class, () -> existenceCache.exists("bucket", "events/1/photo.jpg"));
+        assertTrue(existenceCache.exists("bucket", "events/1/photo.jpg"));
+
+        verify(s3Client, times(2)).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void testMarkPresent_SkipsHead() {
+        existenceCache.markPresent("bucket", "events/1/photo.jpg");
+
+        assertTrue(existenceCache.exists("bucket", "events/1/photo.jpg"));
+
+        verify(s3Client, never()).headObject(any(HeadObjectRequest.class));
+    }
+
+    @Test
+    void testExistsAsync_DoesNotBlockAndCachesResult() {
+        CompletableFuture<HeadObjectResponse> pending = new CompletableFuture<>();
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(pending);
+
+        CompletableFuture<Boolean> result = existenceCache.existsAsync("bucket", "events/1/photo.jpg");
+        assertFalse(result.isDone());
+
+        pending.complete(HeadObjectResponse.builder().build());
+        assertTrue(result.join());
+        assertTrue(existenceCache.existsAsync("bucket", "events/1/photo.jpg").isDone());
+        verify(s3Client, times(1)).headObject(any(HeadObjectRequest.class));
+    }
+}
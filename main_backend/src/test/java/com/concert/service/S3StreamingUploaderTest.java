@@ -0,0 +1,139 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3StreamingUploaderTest {
+
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    private S3StreamingUploader uploader;
+    private PutObjectRequest template;
+
+    @BeforeEach
+    void setUp() {
+        AwsProperties awsProperties = new AwsProperties();
+        awsProperties.getS3().setUploadPartSizeBytes(PART_SIZE);
+        awsProperties.getS3().setUploadBufferPoolSize(1);
+        awsProperties.getS3().setUploadBufferAcquireTimeoutMs(10);
+        uploader = new S3StreamingUploader(s3Client, s3AsyncClient, awsProperties);
+        template = PutObjectRequest.builder()
+                .bucket("bucket")
+                .key("events/1/photo.jpg")
+                .contentType("image/jpeg")
+                .build();
+    }
+
+    @Test
+    void testUpload_SmallFileUsesSinglePut() throws Exception {
+        byte[] content = new byte[1024];
+
+        uploader.upload(template, new ByteArrayInputStream(content), content.length);
+
+        verify(s3Client).putObject(eq(template), any(RequestBody.class));
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void testUpload_LargeFileUsesMultipartWithPooledBuffer() throws Exception {
+        byte[] content = new byte[PART_SIZE * 2 + 100];
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+
+        uploader.upload(template, new ByteArrayInputStream(content), content.length);
+        // The single pooled buffer must have been returned for the next upload
+        uploader.upload(template, new ByteArrayInputStream(content), content.length);
+
+        verify(s3Client, times(6)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client, times(2)).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testUpload_FailedPartAbortsUpload() {
+        byte[] content = new byte[PART_SIZE + 1];
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().statusCode(500).build());
+
+        assertThrows(S3Exception.class,
+                () -> uploader.upload(template, new ByteArrayInputStream(content), content.length));
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void testUploadAsync_LargeFileChainsPartsAndCompletes() {
+        byte[] content = new byte[PART_SIZE * 2 + 100];
+        when(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag").build()));
+        when(s3AsyncClient.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+
+        uploader.uploadAsync(template, new ByteArrayInputStream(content), content.length).join();
+
+        verify(s3AsyncClient, times(3)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    void testUploadAsync_FailedPartAbortsAndReleasesBuffer() {
+        byte[] content = new byte[PART_SIZE + 1];
+        when(s3AsyncClient.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+        when(s3AsyncClient.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.failedFuture(S3Exception.builder().statusCode(500).build()));
+        when(s3AsyncClient.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> uploader.uploadAsync(template, new ByteArrayInputStream(content), content.length).join());
+        assertInstanceOf(S3Exception.class, error.getCause());
+        verify(s3AsyncClient).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+
+        // The only pooled buffer was released, so a second upload can start
+        assertThrows(CompletionException.class,
+                () -> uploader.uploadAsync(template, new ByteArrayInputStream(content), content.length).join());
+        verify(s3AsyncClient, times(2)).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+}
@@ -0,0 +1,50 @@
+package com.concert.service;
+
+import com.concert.config.AwsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageBulkheadTest {
+
+    private StorageBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        AwsProperties awsProperties = new AwsProperties();
+        awsProperties.getS3().setMaxConcurrentRequests(1);
+        bulkhead = new StorageBulkhead(awsProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCall_RejectsImmediatelyWhenFull() {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        CompletableFuture<String> first = bulkhead.call(() -> slow);
+
+        CompletableFuture<String> second = bulkhead.call(() -> CompletableFuture.completedFuture("never"));
+
+        CompletionException error = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(StorageBusyException.class, error.getCause());
+        assertEquals(1, bulkhead.inFlight());
+
+        slow.complete("done");
+        assertEquals("done", first.join());
+        assertEquals(0, bulkhead.inFlight());
+    }
+
+    @Test
+    void testCall_ReleasesPermitWhenOperationThrows() {
+        CompletableFuture<String> failed = bulkhead.call(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, bulkhead.inFlight());
+        assertEquals("ok", bulkhead.call(() -> CompletableFuture.completedFuture("ok")).join());
+    }
+}
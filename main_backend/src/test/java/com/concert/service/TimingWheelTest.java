@@ -0,0 +1,56 @@
+package com.concert.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void testItemsFireOnceTheirTickHasPassed() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 3, 0);
+        wheel.add(25, "a");
+        wheel.add(35, "b");
+
+        assertTrue(wheel.advance(19).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(29));
+        assertEquals(List.of("b"), wheel.advance(30));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testFarItemsCascadeFromCoarserLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 3, 0);
+        // Beyond level 0 (40) and level 1 (160)
+        wheel.add(395, "far");
+        wheel.add(75, "near");
+
+        assertEquals(List.of("near"), wheel.advance(75));
+        assertTrue(wheel.advance(389).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(390));
+    }
+
+    @Test
+    void testLongPauseReturnsEverythingDue() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 4, 3, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.add(i * 30L, i);
+        }
+
+        List<Integer> fired = wheel.advance(10_000);
+
+        assertEquals(20, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testPastAndBeyondHorizonItems() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 2, 100);
+
+        assertTrue(wheel.add(50, "late"));
+        assertFalse(wheel.add(100 + wheel.horizonMillis(), "too far"));
+        assertEquals(List.of("late"), wheel.advance(100));
+    }
+}
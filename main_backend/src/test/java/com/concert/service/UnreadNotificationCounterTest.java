@@ -0,0 +1,94 @@
+package com.concert.service;
+
+import com.concert.config.NotificationProperties;
+import com.concert.events.Broadcast;
+import com.concert.events.NotificationsChangedEvent;
+import com.concert.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, new NotificationProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testCountIsLoadedOnceThenMaintainedInMemory() {
+        when(notificationRepository.countByUserIdAndReadFalse(7L)).thenReturn(3L);
+
+        assertEquals(3, counter.get(7L));
+        counter.decrement(7L, 1);
+        counter.decrement(7L, 1);
+
+        assertEquals(1, counter.get(7L));
+        verify(notificationRepository, times(1)).countByUserIdAndReadFalse(7L);
+    }
+
+    @Test
+    void testUncachedUsersAreNotAdjusted() {
+        counter.decrement(8L, 1);
+        when(notificationRepository.countByUserIdAndReadFalse(8L)).thenReturn(1L);
+
+        // The load already reflects the change the decrement was for
+        assertEquals(1, counter.get(8L));
+    }
+
+    @Test
+    void testBroadcastChangeRecountsOnNextRead() {
+        when(notificationRepository.countByUserIdAndReadFalse(7L)).thenReturn(2L, 3L);
+        counter.get(7L);
+
+        NotificationsChangedEvent changed = new NotificationsChangedEvent(List.of(7L, 8L));
+        counter.onNotificationsChanged(new Broadcast<>(changed));
+        // Delivered twice, still the same outcome
+        counter.onNotificationsChanged(new Broadcast<>(changed));
+
+        assertEquals(3, counter.get(7L));
+        verify(notificationRepository, times(2)).countByUserIdAndReadFalse(7L);
+    }
+
+    @Test
+    void testDecrementNeverGoesNegative() {
+        when(notificationRepository.countByUserIdAndReadFalse(7L)).thenReturn(0L);
+        counter.get(7L);
+
+        counter.decrement(7L, 5);
+
+        assertEquals(0, counter.get(7L));
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        when(notificationRepository.countByUserIdAndReadFalse(7L)).thenReturn(2L);
+        when(notificationRepository.countByUserIdAndReadFalse(9L)).thenReturn(4L);
+        counter.get(7L);
+        counter.get(9L);
+        when(notificationRepository.countUnreadByUserIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, 5L}));
+
+        counter.reconcile();
+
+        assertEquals(5, counter.get(7L));
+        // Nothing unread left for user 9
+        assertEquals(0, counter.get(9L));
+    }
+}
@@ -0,0 +1,95 @@
+package com.concert.service;
+
+import com.concert.model.User;
+import com.concert.repository.UserRepository;
+import com.concert.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdentityCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdentityCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserIdentityCache(userRepository, 100, 600, new SimpleMeterRegistry());
+        user = new User("Test User", "testuser", "test@example.com", "secret");
+        user.setId(7L);
+    }
+
+    @Test
+    void testTokenUserIdResolvesWithoutLookup() {
+        User reference = new User();
+        reference.setId(7L);
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        Optional<User> resolved = cache.findUser(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(7L, "testuser"), null, List.of()));
+
+        assertSame(reference, resolved.orElseThrow());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testUsernameIsLookedUpOnceThenCached() {
+        User reference = new User();
+        reference.setId(7L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        assertSame(user, cache.findUser("testuser").orElseThrow());
+        assertSame(reference, cache.findUser("testuser").orElseThrow());
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void testRememberReplacesStaleProfile() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        assertEquals("Test User", cache.identify("testuser").orElseThrow().name());
+
+        user.setName("Renamed User");
+        cache.remember(user);
+
+        assertEquals("Renamed User", cache.identify("testuser").orElseThrow().name());
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        cache.identify("testuser");
+
+        cache.invalidate("testuser");
+        cache.identify("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertTrue(cache.findUser("ghost").isEmpty());
+        assertTrue(cache.findUser("ghost").isEmpty());
+
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+}
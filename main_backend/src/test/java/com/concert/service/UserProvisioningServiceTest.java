@@ -0,0 +1,147 @@
+package com.concert.service;
+
+import com.concert.config.AuthProperties;
+import com.concert.dto.ProvisioningReport;
+import com.concert.dto.ProvisioningReport.Status;
+import com.concert.dto.RegisterRequest;
+import com.concert.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuthProperties authProperties;
+    private UserProvisioningService service;
+
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.getProvisioning().setBatchSize(2);
+        service = new UserProvisioningService(userRepository, passwordHashingService, jdbcTemplate,
+                transactionManager, Validation.buildDefaultValidatorFactory().getValidator(), authProperties);
+    }
+
+    @Test
+    void testProvision_ChecksAndInsertsPerBatch() {
+        when(passwordHashingService.encodeAll(anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).stream().map(p -> "hash").toList());
+
+        ProvisioningReport report = service.provision(List.of(
+                request("alice"), request("bobby"), request("carol")).iterator());
+
+        assertEquals(3, report.getCreated());
+        assertEquals(0, report.getRejected());
+        verify(userRepository, times(2)).findExistingUsernames(anyCollection());
+        verify(userRepository, times(2)).findExistingEmails(anyCollection());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void testProvision_ReportsInvalidAndDuplicateRowsInOrder() {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("hash"));
+        RegisterRequest invalid = new RegisterRequest("x", "not-an-email", "pw");
+
+        ProvisioningReport report = service.provision(List.of(
+                invalid, request("taken"), request("alice"), request("alice")).iterator());
+
+        assertEquals(List.of(Status.INVALID, Status.DUPLICATE, Status.CREATED, Status.DUPLICATE),
+                report.getRows().stream().map(ProvisioningReport.RowResult::getStatus).toList());
+        assertEquals(List.of(1, 2, 3, 4), report.getRows().stream().map(ProvisioningReport.RowResult::getRow).toList());
+        assertEquals("Username is already taken!", report.getRows().get(1).getMessage());
+        verify(passwordHashingService).encodeAll(List.of("password123"));
+    }
+
+    @Test
+    void testProvision_FailedBatchIsReplayedRowByRow() {
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("h1", "h2"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("duplicate"));
+
+        ProvisioningReport report = service.provision(List.of(request("alice"), request("bobby")).iterator());
+
+        assertEquals(Status.CREATED, report.getRows().get(0).getStatus());
+        assertEquals(Status.DUPLICATE, report.getRows().get(1).getStatus());
+        assertEquals(1, report.getCreated());
+    }
+
+    @Test
+    void testProvision_StopsAtMaxRows() {
+        authProperties.getProvisioning().setMaxRows(1);
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("hash"));
+
+        ProvisioningReport report = service.provision(List.of(request("alice"), request("bobby")).iterator());
+
+        assertEquals(1, report.getRows().size());
+        assertNotNull(report.getError());
+    }
+
+    @Test
+    void testProvision_UnreadableInputKeepsEarlierRows() {
+        when(passwordHashingService.encodeAll(anyList())).thenReturn(List.of("hash"));
+        Iterator<RegisterRequest> rows = new Iterator<>() {
+            private boolean served;
+
+            @Override
+            public boolean hasNext() {
+                if (served) {
+                    throw new IllegalStateException("Unexpected end of input");
+                }
+                return true;
+            }
+
+            @Override
+            public RegisterRequest next() {
+                if (served) {
+                    throw new NoSuchElementException();
+                }
+                served = true;
+                return request("alice");
+            }
+        };
+
+        ProvisioningReport report = service.provision(rows);
+
+        assertEquals(1, report.getCreated());
+        assertTrue(report.getError().contains("row 2"));
+    }
+
+    private static RegisterRequest request(String username) {
+        return new RegisterRequest(username, username + "@example.com", "password123");
+    }
+}